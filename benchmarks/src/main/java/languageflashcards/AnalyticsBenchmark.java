@@ -0,0 +1,135 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Checks {@link LearningAnalytics} against recomputing from the full history.
+ *
+ * Usage: java languageflashcards.AnalyticsBenchmark [events] [learners]
+ *
+ * Feeds {@code events} synthetic graded answers from {@code learners} learners over
+ * two weeks of simulated time (a few cards are much harder than the rest) and
+ * reports events per second. Then compares the time of one dashboard refresh
+ * (hardest cards, overall and one learner's timeline) with a rescan of the stored
+ * events, checks that both agree, and times an export.
+ */
+public class AnalyticsBenchmark {
+
+    private static final String[] LANGUAGES = {"es", "fr", "de", "travel/it"};
+    private static final int ROWS = 5_000;
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+
+    public static void main(String[] args) throws IOException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int learners = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        GradeEvent[] history = generate(events, learners);
+        LearningAnalytics analytics = null;
+        for (int round = 0; round < 3; round++) { // the first rounds warm up the JIT
+            analytics = new LearningAnalytics();
+            long start = System.nanoTime();
+            for (GradeEvent event : history) {
+                analytics.onGrade(event);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("round %d: %,d events in %.2f s, %,.0f events/s%n",
+                    round, events, seconds, events / seconds);
+        }
+
+        String learner = history[0].getLearner();
+        long incremental = 0;
+        long rescan = 0;
+        List<LearningAnalytics.Card> hardest = null;
+        List<long[]> rescanned = null;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            hardest = analytics.getHardestCards();
+            analytics.getTimeline();
+            analytics.getLearnerTimeline(learner);
+            incremental = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            rescanned = rescanHardest(history, hardest.size());
+            rescanTimeline(history, null);
+            rescanTimeline(history, learner);
+            rescan = System.nanoTime() - start;
+        }
+        System.out.printf("dashboard refresh: %.3f ms incremental, %.1f ms rescanning %,d events%n",
+                incremental / 1e6, rescan / 1e6, events);
+
+        int agree = 0;
+        for (int i = 0; i < hardest.size(); i++) {
+            agree += hardest.get(i).getMisses() == rescanned.get(i)[0] ? 1 : 0;
+        }
+        System.out.printf("top %d hardest: %d of %d miss counts match the rescan; most missed: %s level %d row %d (%d of %d)%n",
+                hardest.size(), agree, hardest.size(), hardest.get(0).getLanguageCode(), hardest.get(0).getLevel(),
+                hardest.get(0).getRow(), hardest.get(0).getMisses(), hardest.get(0).getAttempts());
+
+        List<LearningAnalytics.Window> timeline = analytics.getTimeline();
+        long[] newest = rescanTimeline(history, null);
+        LearningAnalytics.Window last = timeline.get(timeline.size() - 1);
+        System.out.printf("windows kept: %d (%d late events); newest window %s the rescan (%d answered)%n",
+                timeline.size(), analytics.getLateCount(),
+                last.getAttempts() == newest[1] && last.getStartMillis() == newest[0] ? "matches" : "DIFFERS FROM",
+                last.getAttempts());
+
+        Path dir = Files.createTempDirectory("analytics");
+        analytics.export(dir); // warm-up
+        long start = System.nanoTime();
+        analytics.export(dir);
+        System.out.printf("export: %.1f ms, cards.csv %,d bytes%n",
+                (System.nanoTime() - start) / 1e6, Files.size(dir.resolve("cards.csv")));
+    }
+
+    private static GradeEvent[] generate(int events, int learners) {
+        SplittableRandom random = new SplittableRandom(42);
+        long origin = 1_700_000_000_000L;
+        long span = 14 * 24 * HOUR_MILLIS;
+        GradeEvent[] history = new GradeEvent[events];
+        for (int i = 0; i < events; i++) {
+            // mostly in order, with some answers arriving a little late
+            long time = origin + span * i / events - (random.nextInt(20) == 0 ? random.nextInt(600_000) : 0);
+            int row = random.nextInt(ROWS);
+            double missRate = row % 97 == 0 ? 0.7 : 0.15; // about 50 hard cards per deck
+            history[i] = new GradeEvent(time, "learner" + random.nextInt(learners),
+                    LANGUAGES[random.nextInt(LANGUAGES.length)], 1 + random.nextInt(3), row,
+                    random.nextDouble() >= missRate, 800 + random.nextInt(4_000));
+        }
+        return history;
+    }
+
+    /** Misses of the {@code k} most-missed cards, most first, counted from scratch. */
+    private static List<long[]> rescanHardest(GradeEvent[] history, int k) {
+        Map<String, long[]> misses = new HashMap<>();
+        for (GradeEvent event : history) {
+            if (!event.isCorrect()) {
+                misses.computeIfAbsent(event.getLanguageCode() + '#' + event.getLevel() + '#' + event.getRow(),
+                        key -> new long[1])[0]++;
+            }
+        }
+        List<long[]> sorted = new ArrayList<>(misses.values());
+        sorted.sort(Comparator.comparingLong((long[] count) -> count[0]).reversed());
+        return sorted.subList(0, Math.min(k, sorted.size()));
+    }
+
+    /** Start and size of the newest hourly window, for everyone or one learner, counted from scratch. */
+    private static long[] rescanTimeline(GradeEvent[] history, String learner) {
+        Map<Long, long[]> windows = new HashMap<>();
+        for (GradeEvent event : history) {
+            if (learner == null || learner.equals(event.getLearner())) {
+                long start = event.getTimestampMillis() - Math.floorMod(event.getTimestampMillis(), HOUR_MILLIS);
+                windows.computeIfAbsent(start, key -> new long[1])[0]++;
+            }
+        }
+        long newest = windows.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        return new long[] {newest, windows.getOrDefault(newest, new long[1])[0]};
+    }
+}
\ No newline at end of file
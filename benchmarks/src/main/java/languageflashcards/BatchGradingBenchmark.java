@@ -0,0 +1,72 @@
+package languageflashcards;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Times {@link BatchGrader} on a generated submissions file with 1, 2, 4, ...
+ * worker threads.
+ *
+ * Usage: java languageflashcards.BatchGradingBenchmark [lines]
+ * (run from the project root so data/ is found)
+ *
+ * Half of the answers are the reference answer, the rest a plausible typo, spread
+ * over 10k learners, every language and Levels 1-3.
+ */
+public class BatchGradingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        DefaultLanguageManager manager = new DefaultLanguageManager();
+        Path dir = Files.createTempDirectory("batch-grading");
+        try {
+            Path submissions = dir.resolve("submissions.csv");
+            writeSubmissions(manager, submissions, lines);
+            System.out.printf("lines=%d size=%d MB%n", lines, Files.size(submissions) >> 20);
+
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                BatchGrader grader = new BatchGrader(manager, GradingMode.EXACT, threads);
+                grader.grade(submissions, dir.resolve("report")); // warm-up
+                BatchGrader.Result best = null;
+                for (int run = 0; run < 3; run++) {
+                    BatchGrader.Result result = grader.grade(submissions, dir.resolve("report"));
+                    if (best == null || result.getElapsedNanos() < best.getElapsedNanos()) {
+                        best = result;
+                    }
+                }
+                System.out.printf("threads=%-3d %s%n", threads, best);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    static void writeSubmissions(DefaultLanguageManager manager, Path file, int lines) throws IOException {
+        Random random = new Random(11L);
+        Language[] languages = manager.getAvailableLanguages();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("learner,language,level,row,answer\n");
+            for (int i = 0; i < lines; i++) {
+                Language language = languages[random.nextInt(languages.length)];
+                int level = 1 + random.nextInt(3);
+                int row = random.nextInt(level == 1 ? manager.getWordCount() : manager.getPhraseCount());
+                String answer = level == 1 ? manager.getWord(language.getColumn(), row)
+                        : manager.getPhrase(language.getColumn(), row);
+                if (random.nextBoolean() && answer.length() > 1) {
+                    answer = answer.substring(1); // drop the first letter
+                }
+                out.write("learner-" + random.nextInt(10_000) + ',' + language.getCode() + ',' + level + ','
+                        + row + ',' + BatchGrader.quote(answer) + '\n');
+            }
+        }
+    }
+}
\ No newline at end of file
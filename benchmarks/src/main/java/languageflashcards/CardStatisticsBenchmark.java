@@ -0,0 +1,128 @@
+package languageflashcards;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two checks of {@link CardStatistics}.
+ *
+ * Usage: java languageflashcards.CardStatisticsBenchmark [threads] [seconds] [sessions]
+ * (run from the project root so data/ is found)
+ *
+ * Contention: {@code threads} threads record answers to random rows of one
+ * language and level for {@code seconds} seconds each, through the striped
+ * counters, through one shared unstriped AtomicLongArray, and through a
+ * synchronized map of boxed per-row totals. Reports updates per second.
+ *
+ * Adaptation: a learner who always misses the first tenth of the vocabulary and
+ * knows the rest plays {@code sessions} Level 1 sessions, uniformly and then in
+ * adaptive mode. Reports the share of questions that were hard cards, first and
+ * last quarter of the run.
+ */
+public class CardStatisticsBenchmark {
+
+    private static final int ROWS = 2_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+
+        CardStatistics.Cards striped = new CardStatistics().cards("es", 1);
+        AtomicLongArray shared = new AtomicLongArray(ROWS * 3);
+        Map<Integer, long[]> boxed = new HashMap<>();
+        for (int round = 0; round < 2; round++) { // the first round warms up the JIT
+            report(round, "striped", hammer(threads, seconds, (row, correct, nanos) -> striped.record(row, correct, nanos)));
+            report(round, "unstriped", hammer(threads, seconds, (row, correct, nanos) -> {
+                shared.getAndIncrement(row * 3);
+                if (!correct) {
+                    shared.getAndIncrement(row * 3 + 1);
+                }
+                shared.getAndAdd(row * 3 + 2, nanos / 1_000);
+            }));
+            report(round, "boxed map", hammer(threads, seconds, (row, correct, nanos) -> {
+                synchronized (boxed) {
+                    long[] totals = boxed.computeIfAbsent(row, r -> new long[3]);
+                    totals[0]++;
+                    totals[1] += correct ? 0 : 1;
+                    totals[2] += nanos / 1_000;
+                }
+            }));
+        }
+
+        DefaultLanguageManager manager = new DefaultLanguageManager();
+        Language language = manager.getAvailableLanguages()[1];
+        int hardRows = Math.max(1, manager.getWordCount() / 10);
+        System.out.printf("%n%d of %d words are hard (%.0f%% of a uniform draw)%n",
+                hardRows, manager.getWordCount(), 100.0 * hardRows / manager.getWordCount());
+        for (boolean adaptive : new boolean[] {false, true}) {
+            LevelFactory factory = new LevelFactory(manager, new SessionSampler(7L));
+            factory.setCardStatistics(new CardStatistics(0));
+            factory.setAdaptive(adaptive);
+            LevelHandler handler = factory.createLevelHandler(1, language);
+            long[] hard = new long[2];
+            long[] asked = new long[2];
+            for (int s = 0; s < sessions; s++) {
+                int quarter = s < sessions / 4 ? 0 : s >= sessions - sessions / 4 ? 1 : -1;
+                QuizSession session = handler.startSession();
+                Prompt prompt;
+                while ((prompt = session.nextPrompt()) != null) {
+                    boolean isHard = prompt.getRow() < hardRows;
+                    session.submit(isHard ? "no idea" : manager.getWord(language.getColumn(), prompt.getRow()));
+                    if (quarter >= 0) {
+                        asked[quarter]++;
+                        hard[quarter] += isHard ? 1 : 0;
+                    }
+                }
+            }
+            System.out.printf("%-8s hard cards asked: %5.1f%% in the first quarter, %5.1f%% in the last%n",
+                    adaptive ? "adaptive" : "uniform", 100.0 * hard[0] / asked[0], 100.0 * hard[1] / asked[1]);
+        }
+    }
+
+    private interface Recorder {
+        void record(int row, boolean correct, long latencyNanos);
+    }
+
+    private static void report(int round, String name, double perSecond) {
+        if (round > 0) {
+            System.out.printf("%-10s %,15.0f updates/s%n", name, perSecond);
+        }
+    }
+
+    private static double hammer(int threads, int seconds, Recorder recorder) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder updates = new LongAdder();
+        Thread[] pool = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            pool[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                long count = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 1_000; i++) {
+                        // most answers go to a few popular cards, as in a class drilling the same deck
+                        int row = random.nextInt(8) == 0 ? random.nextInt(ROWS) : random.nextInt(16);
+                        recorder.record(row, random.nextInt(4) != 0, 2_000_000_000L + random.nextInt(1_000_000));
+                    }
+                    count += 1_000;
+                }
+                updates.add(count);
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : pool) {
+            thread.start();
+        }
+        Thread.sleep(seconds * 1_000L);
+        running.set(false);
+        for (Thread thread : pool) {
+            thread.join();
+        }
+        return updates.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times {@link CsvIngestor} on a generated deck with 1, 2, 4, ... worker threads.
+ *
+ * Usage: java languageflashcards.CsvIngestBenchmark [rows]
+ *
+ * The deck comes from {@link SyntheticDeckGenerator}, so every tenth row carries
+ * a quoted cell with an embedded comma.
+ */
+public class CsvIngestBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path csv = Files.createTempFile("deck-bench", ".csv");
+        try {
+            SyntheticDeckGenerator.writeCsv(csv, rows, 7L);
+            System.out.printf("rows=%d size=%d MB%n", rows, Files.size(csv) >> 20);
+
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    CsvIngestor ingestor = new CsvIngestor(pool);
+                    ingestor.load(csv); // warm-up
+                    long best = Long.MAX_VALUE;
+                    int loaded = 0;
+                    for (int run = 0; run < 3; run++) {
+                        long start = System.nanoTime();
+                        loaded = ingestor.load(csv).getRowCount();
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                    System.out.printf("threads=%-3d rows=%-9d best=%7.1f ms%n", threads, loaded, best / 1e6);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Hit rate, evictions and load latency of {@link DeckCatalog} for a learner
+ * population that favours a few popular topic decks (Zipf, s = 1).
+ *
+ * Usage: java languageflashcards.DeckCatalogBenchmark [decks] [rows per deck] [lookups]
+ *
+ * The same lookup sequence runs against budgets that hold roughly 5%, 20% and 50%
+ * of all decks, plus one that holds everything.
+ */
+public class DeckCatalogBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int decks = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        Path dir = Files.createTempDirectory("deck-catalog");
+        try {
+            for (int d = 0; d < decks; d++) {
+                Path deck = Files.createDirectory(dir.resolve(String.format("topic-%04d", d)));
+                SyntheticDeckGenerator.writeCsv(deck.resolve("vocab.csv"), rows, d);
+                SyntheticDeckGenerator.writeCsv(deck.resolve("phrases.csv"), rows / 4, d + decks);
+            }
+            long deckBytes = weigh(dir, "topic-0000");
+            int[] sequence = zipf(decks, lookups, 11L);
+            System.out.printf("decks=%d rows=%d lookups=%d deck~%d KB%n", decks, rows, lookups, deckBytes >> 10);
+
+            for (double share : new double[]{0.05, 0.2, 0.5, 1.1}) {
+                DeckCatalog catalog = new DeckCatalog(dir, (long) (share * decks * deckBytes));
+                List<String> names = catalog.refresh();
+                long start = System.nanoTime();
+                for (int deck : sequence) {
+                    catalog.get(names.get(deck)).getWordCount();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("budget=%3.0f%% of decks  %.2f s  %s%n", share * 100, seconds, catalog.getStats());
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static long weigh(Path dir, String deck) throws IOException {
+        DeckCatalog catalog = new DeckCatalog(dir, Long.MAX_VALUE);
+        catalog.refresh();
+        catalog.get(deck);
+        return catalog.getStats().getLoadedBytes();
+    }
+
+    /** {@code count} deck numbers in [0, n), deck k drawn with probability proportional to 1/(k+1). */
+    static int[] zipf(int n, int count, long seed) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / (k + 1);
+            cumulative[k] = total;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] out = new int[count];
+        for (int i = 0; i < count; i++) {
+            double u = random.nextDouble() * total;
+            int low = 0;
+            int high = n - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            out[i] = low;
+        }
+        return out;
+    }
+}
\ No newline at end of file
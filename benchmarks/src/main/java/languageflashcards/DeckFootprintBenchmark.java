@@ -0,0 +1,75 @@
+package languageflashcards;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap footprint of the old List<String[]> deck layout against
+ * {@link ColumnarDeck}.
+ *
+ * Usage: java languageflashcards.DeckFootprintBenchmark [rows]
+ *
+ * Rows come from {@link SyntheticDeckGenerator}, so cells repeat the way they do
+ * in real decks. Both an analytic estimate and a measured heap delta are printed.
+ */
+public class DeckFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        List<String[]> source = SyntheticDeckGenerator.rows(rows, 42L);
+
+        long before = usedHeap();
+        ColumnarDeck.Builder builder = new ColumnarDeck.Builder(SyntheticDeckGenerator.HEADER);
+        for (String[] row : source) {
+            builder.addRow(row);
+        }
+        ColumnarDeck deck = builder.build();
+        builder = null;
+        long columnarMeasured = usedHeap() - before;
+        long columnarEstimated = deck.estimateFootprintBytes();
+
+        before = usedHeap();
+        List<String[]> rowLayout = new ArrayList<>(rows);
+        for (String[] row : source) {
+            String[] copy = new String[row.length];
+            for (int i = 0; i < row.length; i++) {
+                copy[i] = new String(row[i].toCharArray()); // what String.split produces: one String per cell
+            }
+            rowLayout.add(copy);
+        }
+        long rowMeasured = usedHeap() - before;
+        long rowEstimated = estimateRowLayout(rowLayout);
+
+        System.out.printf("rows=%d%n", rows);
+        System.out.printf("%-12s %16s %16s%n", "layout", "estimated(B)", "measured(B)");
+        System.out.printf("%-12s %16d %16d%n", "String[]", rowEstimated, rowMeasured);
+        System.out.printf("%-12s %16d %16d%n", "columnar", columnarEstimated, columnarMeasured);
+        System.out.printf("ratio (estimated) = %.1fx smaller%n", (double) rowEstimated / columnarEstimated);
+
+        // keep both layouts reachable until measured
+        if (rowLayout.size() != deck.getRowCount()) {
+            throw new IllegalStateException("row count mismatch");
+        }
+    }
+
+    /** Object headers of 16 bytes, compact Latin-1 strings where possible. */
+    static long estimateRowLayout(List<String[]> rows) {
+        long total = 16 + 16 + 4L * rows.size(); // ArrayList + backing array
+        for (String[] row : rows) {
+            total += 16 + 4L * row.length;
+            for (String cell : row) {
+                boolean latin1 = cell.chars().allMatch(ch -> ch < 256);
+                total += 24 + 16 + (latin1 ? cell.length() : 2L * cell.length());
+            }
+        }
+        return total;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
\ No newline at end of file
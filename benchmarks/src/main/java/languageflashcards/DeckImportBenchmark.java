@@ -0,0 +1,130 @@
+package languageflashcards;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Imports a generated word list far larger than the heap it is given.
+ *
+ * Usage: java -Xmx64m languageflashcards.DeckImportBenchmark [rows] [budgetMB]
+ * (run from the project root so data/vocab.csv is found)
+ *
+ * Writes {@code rows} rows as gzip-compressed TSV and the same number as
+ * gzip-compressed JSON Lines, with about a third of the headwords repeated and a
+ * few taken from the real vocabulary, then merges both into a copy of
+ * data/vocab.csv with a {@code budgetMB} spill budget. Reports rows per second,
+ * the spill files used and the peak heap, and checks that every existing row of
+ * the deck is still in place.
+ */
+public class DeckImportBenchmark {
+
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ra", "te", "su", "no", "vi", "pe", "zu", "an", "or"};
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long budget = (args.length > 1 ? Long.parseLong(args[1]) : 8) << 20;
+
+        Path dir = Files.createTempDirectory("deck-import");
+        try {
+            Path deck = dir.resolve(DefaultLanguageManager.VOCAB_CSV);
+            Files.copy(Path.of("data", DefaultLanguageManager.VOCAB_CSV), deck);
+            int existingRows = new CsvIngestor().load(deck).getRowCount();
+            Path tsv = dir.resolve("words.tsv.gz");
+            Path jsonl = dir.resolve("words.jsonl.gz");
+            generate(tsv, rows, 1L, false);
+            generate(jsonl, rows, 2L, true);
+            System.out.printf("input: %,d + %,d rows, %,d + %,d bytes compressed%n",
+                    rows, rows, Files.size(tsv), Files.size(jsonl));
+
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+            DeckImporter.Result result = new DeckImporter(budget).importInto(deck, List.of(tsv, jsonl));
+            System.out.println(result);
+            System.out.printf("peak heap in use: %,d MB of %,d MB max; output %,d bytes%n",
+                    peakHeap() >> 20, Runtime.getRuntime().maxMemory() >> 20, Files.size(deck));
+
+            // the merged deck is bigger than this heap, so only its lines are streamed back
+            ColumnarDeck original = new CsvIngestor().load(Path.of("data", DefaultLanguageManager.VOCAB_CSV));
+            long lines = 0;
+            int moved = 0;
+            try (BufferedReader in = Files.newBufferedReader(deck, StandardCharsets.UTF_8)) {
+                in.readLine();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (lines < existingRows && !firstCell(line).equals(original.get(0, (int) lines))) {
+                        moved++;
+                    }
+                    lines++;
+                }
+            }
+            System.out.printf("output: %,d rows, %d existing rows moved%n", lines, moved);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void generate(Path path, int rows, long seed, boolean json) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(path), 1 << 16), StandardCharsets.UTF_8), 1 << 16)) {
+            if (!json) {
+                out.write("english\tspanish\tfrench\tGerman (de)\n");
+            }
+            for (int i = 0; i < rows; i++) {
+                // a third of the rows repeat an earlier headword; a few hit the shipped deck
+                int id = random.nextInt(3) == 0 ? random.nextInt(i + 1) : i;
+                String english = id % 50_000 == 7 ? "House" : word(id, 0);
+                String spanish = word(id, 1 + random.nextInt(2));
+                String french = word(id, 3);
+                if (json) {
+                    out.write("{\"english\":\"" + english + "\",\"es\":\"" + spanish + "\",\"fr\":\"" + french
+                            + "\",\"rank\":" + i + "}\n");
+                } else {
+                    out.write(english + '\t' + spanish + '\t' + french + '\t' + word(id, 4) + '\n');
+                }
+            }
+        }
+    }
+
+    private static String word(int id, int variant) {
+        StringBuilder word = new StringBuilder();
+        long x = id * 0x9E3779B97F4A7C15L + variant;
+        do {
+            word.append(SYLLABLES[(int) Long.remainderUnsigned(x, SYLLABLES.length)]);
+            x = Long.divideUnsigned(x, SYLLABLES.length);
+        } while (word.length() < 6 || x % 3 != 0);
+        return word.toString();
+    }
+
+    private static String firstCell(String line) {
+        int comma = line.indexOf(',');
+        return (comma < 0 ? line : line.substring(0, comma)).trim();
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
\ No newline at end of file
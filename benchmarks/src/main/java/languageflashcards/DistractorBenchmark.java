@@ -0,0 +1,152 @@
+package languageflashcards;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * {@link DistractorIndex} against a full scan of the deck, at growing deck sizes.
+ *
+ * Usage: java languageflashcards.DistractorBenchmark [queries]
+ *
+ * Words are random syllable strings, so similar spellings occur by chance the way
+ * they do in a real language. For every size the harness reports the index build
+ * time, the time per query for the index and for the scan, and the mean bigram
+ * Jaccard similarity between a word and its three distractors for the index, the
+ * scan (the best possible) and random picks.
+ */
+public class DistractorBenchmark {
+
+    private static final String[] ONSETS = {"", "b", "c", "d", "f", "g", "l", "m", "n", "p", "r", "s", "t", "v", "ch", "tr"};
+    private static final String[] VOWELS = {"a", "e", "i", "o", "u", "ia", "ue"};
+    private static final int DISTRACTORS = 3;
+
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        System.out.printf("%9s %10s %12s %12s %8s %8s %8s%n",
+                "words", "build ms", "index ns/q", "scan ns/q", "J index", "J scan", "J rand");
+        for (int words : new int[]{10_000, 100_000, 1_000_000}) {
+            ColumnarDeck deck = deck(words, 3L);
+
+            long start = System.nanoTime();
+            DistractorIndex index = DistractorIndex.build(deck);
+            long buildNanos = System.nanoTime() - start;
+
+            SplittableRandom random = new SplittableRandom(5L);
+            int[] rows = new int[queries];
+            for (int i = 0; i < queries; i++) {
+                rows[i] = random.nextInt(words);
+            }
+
+            int sink = 0;
+            for (int pass = 0; pass < 100; pass++) { // warm-up
+                for (int row : rows) {
+                    sink += index.distractors(1, row, DISTRACTORS).length;
+                }
+            }
+            start = System.nanoTime();
+            for (int row : rows) {
+                sink += index.distractors(1, row, DISTRACTORS).length;
+            }
+            long indexNanos = (System.nanoTime() - start) / queries;
+            if (sink == 0) {
+                throw new IllegalStateException("no distractors");
+            }
+
+            double indexSimilarity = 0;
+            for (int row : rows) {
+                indexSimilarity += meanSimilarity(deck.get(1, row), index.distractors(1, row, DISTRACTORS));
+            }
+
+            double scanSimilarity = 0;
+            start = System.nanoTime();
+            for (int row : rows) {
+                scanSimilarity += meanSimilarity(deck.get(1, row), scan(deck, row));
+            }
+            long scanNanos = (System.nanoTime() - start) / queries;
+
+            double randomSimilarity = 0;
+            for (int row : rows) {
+                String[] picks = new String[DISTRACTORS];
+                for (int i = 0; i < DISTRACTORS; i++) {
+                    picks[i] = deck.get(1, random.nextInt(words));
+                }
+                randomSimilarity += meanSimilarity(deck.get(1, row), picks);
+            }
+
+            System.out.printf("%9d %10.1f %12d %12d %8.3f %8.3f %8.3f%n", words, buildNanos / 1e6,
+                    indexNanos, scanNanos, indexSimilarity / queries, scanSimilarity / queries, randomSimilarity / queries);
+        }
+    }
+
+    private static ColumnarDeck deck(int words, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ColumnarDeck.Builder builder = new ColumnarDeck.Builder(new String[]{"english", "spanish"});
+        for (int row = 0; row < words; row++) {
+            int syllables = 2 + random.nextInt(3);
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < syllables; s++) {
+                word.append(ONSETS[random.nextInt(ONSETS.length)]).append(VOWELS[random.nextInt(VOWELS.length)]);
+            }
+            builder.addRow(new String[]{"word " + row, word.toString()});
+        }
+        return builder.build();
+    }
+
+    /** The three most similar other words, by a scan over the whole column. */
+    private static String[] scan(ColumnarDeck deck, int row) {
+        Set<Integer> target = bigrams(deck.get(1, row));
+        String[] best = new String[DISTRACTORS];
+        double[] scores = new double[DISTRACTORS];
+        Arrays.fill(scores, -1);
+        String self = deck.get(1, row);
+        for (int r = 0; r < deck.getRowCount(); r++) {
+            String candidate = deck.get(1, r);
+            if (candidate.equals(self)) {
+                continue;
+            }
+            double score = jaccard(target, bigrams(candidate));
+            for (int i = 0; i < DISTRACTORS; i++) {
+                if (score > scores[i]) {
+                    System.arraycopy(scores, i, scores, i + 1, DISTRACTORS - i - 1);
+                    System.arraycopy(best, i, best, i + 1, DISTRACTORS - i - 1);
+                    scores[i] = score;
+                    best[i] = candidate;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static double meanSimilarity(String word, String[] others) {
+        Set<Integer> target = bigrams(word);
+        double total = 0;
+        for (String other : others) {
+            total += jaccard(target, bigrams(other));
+        }
+        return others.length == 0 ? 0 : total / others.length;
+    }
+
+    private static Set<Integer> bigrams(String word) {
+        Set<Integer> grams = new HashSet<>();
+        char previous = '^';
+        for (int i = 0; i <= word.length(); i++) {
+            char c = i < word.length() ? Character.toLowerCase(word.charAt(i)) : '$';
+            grams.add(previous << 16 | c);
+            previous = c;
+        }
+        return grams;
+    }
+
+    private static double jaccard(Set<Integer> a, Set<Integer> b) {
+        int shared = 0;
+        for (Integer gram : a) {
+            if (b.contains(gram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package languageflashcards;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Throughput of near-miss checks: {@link EditDistance} against a plain
+ * full-matrix Levenshtein, on deck words and phrases with one random typo.
+ *
+ * Usage: java languageflashcards.EditDistanceBenchmark
+ * (run from the project root so data/ is found)
+ */
+public class EditDistanceBenchmark {
+
+    public static void main(String[] args) {
+        DefaultLanguageManager manager = new DefaultLanguageManager();
+        Random random = new Random(11);
+        List<String[]> latin = new ArrayList<>();
+        List<String[]> cjk = new ArrayList<>();
+        for (Language language : manager.getAvailableLanguages()) {
+            List<String[]> target = language.getCode().equals("jp") || language.getCode().equals("kr") ? cjk : latin;
+            for (int row = 0; row < manager.getWordCount(); row++) {
+                String word = manager.getWord(language.getColumn(), row);
+                target.add(new String[]{word, typo(word, random)});
+            }
+            for (int row = 0; row < manager.getPhraseCount(); row++) {
+                String phrase = manager.getPhrase(language.getColumn(), row);
+                target.add(new String[]{phrase, typo(phrase, random)});
+            }
+        }
+
+        report("latin", latin);
+        report("cjk/hangul", cjk);
+    }
+
+    private static void report(String label, List<String[]> pairs) {
+        EditDistance distance = new EditDistance();
+        int rounds = 2000;
+        long sink = 0;
+        long myers = Long.MAX_VALUE;
+        long classic = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < rounds; r++) {
+                for (String[] pair : pairs) {
+                    sink += distance.bounded(pair[0], pair[1], NearMissGrader.allowedEdits(pair[0].length()));
+                }
+            }
+            myers = Math.min(myers, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int r = 0; r < rounds / 10; r++) {
+                for (String[] pair : pairs) {
+                    sink += fullMatrix(pair[0], pair[1]);
+                }
+            }
+            classic = Math.min(classic, (System.nanoTime() - start) * 10);
+        }
+        double checks = (double) rounds * pairs.size();
+        System.out.printf("%-11s pairs=%-4d bit-parallel %8.1f M checks/s   full matrix %8.1f M checks/s  (%d)%n",
+                label, pairs.size(), checks / myers * 1e3, checks / classic * 1e3, sink);
+    }
+
+    private static String typo(String text, Random random) {
+        if (text.length() < 2) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text);
+        out.deleteCharAt(random.nextInt(text.length()));
+        return out.toString();
+    }
+
+    private static int fullMatrix(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = TextNormalizer.fold(a.charAt(i - 1)) == TextNormalizer.fold(b.charAt(j - 1)) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
\ No newline at end of file
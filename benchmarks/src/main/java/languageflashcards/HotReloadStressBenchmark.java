@@ -0,0 +1,175 @@
+package languageflashcards;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Hammers {@link DefaultLanguageManager} with reads while its decks are rewritten
+ * and reloaded back to back.
+ *
+ * Usage: java languageflashcards.HotReloadStressBenchmark [seconds] [readers] [rows]
+ *
+ * Every cell of generation g is tagged {@code g<g>}, and the row count changes with
+ * the generation. Readers pin the manager the way a quiz session does, then check
+ * that everything they read through the pinned view comes from one generation:
+ * the word count, every cell they look at, the phrase deck and the answer check.
+ * Any mix of two generations counts as a violation. The run also reports reads
+ * per second and how many reloads were published.
+ */
+public class HotReloadStressBenchmark {
+
+    private static final String[] LANGUAGES = {"german", "french", "spanish"};
+    private static final int READS_PER_SESSION = 10;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+
+        Path dir = Files.createTempDirectory("deck-reload");
+        try {
+            writeDecks(dir, 1, rows);
+            DefaultLanguageManager manager = new DefaultLanguageManager(dir);
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicLong reads = new AtomicLong();
+            AtomicLong sessions = new AtomicLong();
+            AtomicLong violations = new AtomicLong();
+            Thread[] threads = new Thread[readers];
+            for (int i = 0; i < readers; i++) {
+                long seed = i;
+                threads[i] = new Thread(() -> read(manager, rows, running, reads, sessions, violations, seed), "reader-" + i);
+                threads[i].start();
+            }
+
+            long start = System.nanoTime();
+            long deadline = start + seconds * 1_000_000_000L;
+            long reloadNanos = 0;
+            int reloads = 0;
+            while (System.nanoTime() < deadline) {
+                long generation = manager.getGeneration() + 1;
+                writeDecks(dir, generation, rows);
+                long reloadStart = System.nanoTime();
+                if (manager.reload() != generation) {
+                    violations.incrementAndGet();
+                }
+                reloadNanos += System.nanoTime() - reloadStart;
+                reloads++;
+            }
+            running.set(false);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("readers=%d rows=%d seconds=%.1f%n", readers, rows, elapsed);
+            System.out.printf("reloads=%d (%.1f/s, mean %.2f ms)%n", reloads, reloads / elapsed, reloadNanos / 1e6 / Math.max(1, reloads));
+            System.out.printf("reads=%d (%.0f/s) sessions=%d%n", reads.get(), reads.get() / elapsed, sessions.get());
+            System.out.printf("violations=%d%n", violations.get());
+            if (violations.get() != 0) {
+                System.exit(1);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static void read(DefaultLanguageManager manager, int rows, AtomicBoolean running,
+                             AtomicLong reads, AtomicLong sessions, AtomicLong violations, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long lastGeneration = 0;
+        long localReads = 0;
+        while (running.get()) {
+            DefaultLanguageManager session = manager.pin();
+            long generation = session.getGeneration();
+            if (generation < lastGeneration) {
+                violations.incrementAndGet(); // generations never go backwards
+            }
+            lastGeneration = generation;
+
+            String tag = "g" + generation;
+            int count = session.getWordCount();
+            if (count != vocabRows(generation, rows)) {
+                violations.incrementAndGet();
+            }
+            Language[] languages = session.getAvailableLanguages();
+            try {
+                localReads += readSession(manager, session, rows, tag, count, languages, random, violations);
+            } catch (RuntimeException e) {
+                violations.incrementAndGet(); // e.g. a row that was valid a moment ago
+            }
+            sessions.incrementAndGet();
+            if (localReads >= 10_000) {
+                reads.addAndGet(localReads);
+                localReads = 0;
+            }
+        }
+        reads.addAndGet(localReads);
+    }
+
+    /** One pinned session's worth of reads; returns how many reads it made. */
+    private static int readSession(DefaultLanguageManager manager, DefaultLanguageManager session, int rows, String tag,
+                                   int count, Language[] languages, SplittableRandom random, AtomicLong violations) {
+        int reads = 0;
+        for (int i = 0; i < READS_PER_SESSION; i++) {
+            int row = random.nextInt(count);
+            Language language = languages[random.nextInt(languages.length)];
+            String word = session.getWord(language.getColumn(), row);
+            String phrase = session.getPhrase(language.getColumn(), random.nextInt(session.getPhraseCount()));
+            if (!word.endsWith(tag) || !phrase.endsWith(tag)
+                    || !session.isCorrectWord(language.getColumn(), row, word)) {
+                violations.incrementAndGet();
+            }
+            // the unpinned manager may move on, but never to a half-built deck
+            String live = manager.getEnglishWord(random.nextInt(rows));
+            if (!live.startsWith("en-")) {
+                violations.incrementAndGet();
+            }
+            reads += 5;
+        }
+        return reads;
+    }
+
+    /** Rows shrink and grow from one generation to the next, so stale row counts show up. */
+    private static int vocabRows(long generation, int rows) {
+        return rows + (int) (generation % 13) * 50;
+    }
+
+    /** Writes both CSVs for {@code generation}, each under a temporary name moved into place. */
+    private static void writeDecks(Path dir, long generation, int rows) throws IOException {
+        write(dir.resolve("vocab.csv"), generation, vocabRows(generation, rows), "w");
+        write(dir.resolve("phrases.csv"), generation, rows / 4, "p");
+    }
+
+    private static void write(Path csv, long generation, int rows, String kind) throws IOException {
+        Path tmp = csv.resolveSibling(csv.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write("english");
+            for (String language : LANGUAGES) {
+                out.write(',');
+                out.write(language);
+            }
+            out.write('\n');
+            for (int row = 0; row < rows; row++) {
+                out.write("en-" + kind + row + "-g" + generation);
+                for (String language : LANGUAGES) {
+                    out.write(',');
+                    out.write(language.substring(0, 2) + "-" + kind + row + "-g" + generation);
+                }
+                out.write('\n');
+            }
+        }
+        Files.move(tmp, csv, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
\ No newline at end of file
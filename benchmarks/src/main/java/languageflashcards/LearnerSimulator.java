@@ -0,0 +1,378 @@
+package languageflashcards;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays many synthetic learners through full Level 1-3 sessions against the real
+ * handlers, to find out how many learners one box can carry.
+ *
+ * Usage: java languageflashcards.LearnerSimulator [--learners N] [--sessions N]
+ *        [--accuracy 0..1] [--typos 0..1] [--think-ms N] [--workers N] [--seed N]
+ *        [--near-miss] [--realtime]
+ * (run from the project root so data/ is found)
+ *
+ * Each learner picks a language and level, then answers every prompt after a
+ * think time drawn from an exponential distribution: right with probability
+ * {@code accuracy}, otherwise with a one-letter typo of the right answer with
+ * probability {@code typos}, otherwise with another row's answer. A learner plays
+ * {@code sessions} sessions and stops.
+ *
+ * Learners are split across worker threads by id. Each worker runs its own event
+ * queue ordered by simulated time and learner id, with its own seeded factory,
+ * so the same seed and worker count replay exactly the same questions and
+ * answers; the digest printed at the end shows it. By default simulated time
+ * jumps straight to the next event and the run measures raw capacity, then
+ * compares it with the answer rate the learners would generate in real time.
+ * With --realtime, workers sleep until each event is due, as a live load test.
+ *
+ * The report covers answers and sessions per second, per-answer latency,
+ * allocation by the worker threads (from the ThreadMXBean) and GC pauses (from
+ * the collectors' notifications).
+ */
+public class LearnerSimulator {
+
+    private static final int[] LEVELS = {1, 2, 3};
+
+    private final DefaultLanguageManager manager;
+    private final Language[] languages;
+    private final int learners;
+    private final int sessions;
+    private final double accuracy;
+    private final double typos;
+    private final double thinkMillis;
+    private final long seed;
+    private final GradingMode gradingMode;
+    private final boolean realtime;
+
+    private final LatencyHistogram answerLatency = new LatencyHistogram();
+    private final LongAdder answers = new LongAdder();
+    private final LongAdder finishedSessions = new LongAdder();
+    private final LongAdder[] outcomes = new LongAdder[Verdict.Outcome.values().length];
+    private final AtomicLong digest = new AtomicLong();
+    private final AtomicLong simulatedMillis = new AtomicLong();
+    private long startNanos;
+
+    /** One synthetic learner: its dice, and where it is in its current session. */
+    private static final class Learner {
+        final int id;
+        final SplittableRandom random;
+        long due;
+        int sessionsLeft;
+        int level;
+        Language language;
+        QuizSession session;
+        Prompt prompt;
+        long trace;
+
+        Learner(int id, long seed, int sessions) {
+            this.id = id;
+            this.random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + id);
+            this.sessionsLeft = sessions;
+        }
+    }
+
+    private LearnerSimulator(DefaultLanguageManager manager, int learners, int sessions, double accuracy,
+                             double typos, double thinkMillis, long seed, GradingMode gradingMode, boolean realtime) {
+        this.manager = manager;
+        this.languages = manager.getAvailableLanguages();
+        this.learners = learners;
+        this.sessions = sessions;
+        this.accuracy = accuracy;
+        this.typos = typos;
+        this.thinkMillis = thinkMillis;
+        this.seed = seed;
+        this.gradingMode = gradingMode;
+        this.realtime = realtime;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int learners = 10_000;
+        int sessions = 3;
+        double accuracy = 0.7;
+        double typos = 0.5;
+        double thinkMillis = 4_000;
+        int workers = Runtime.getRuntime().availableProcessors();
+        long seed = 1L;
+        GradingMode gradingMode = GradingMode.EXACT;
+        boolean realtime = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--learners": learners = Integer.parseInt(args[++i]); break;
+                case "--sessions": sessions = Integer.parseInt(args[++i]); break;
+                case "--accuracy": accuracy = Double.parseDouble(args[++i]); break;
+                case "--typos": typos = Double.parseDouble(args[++i]); break;
+                case "--think-ms": thinkMillis = Double.parseDouble(args[++i]); break;
+                case "--workers": workers = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--near-miss": gradingMode = GradingMode.NEAR_MISS; break;
+                case "--realtime": realtime = true; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        LearnerSimulator simulator = new LearnerSimulator(new DefaultLanguageManager(), learners, sessions,
+                accuracy, typos, thinkMillis, seed, gradingMode, realtime);
+        simulator.run(workers);
+    }
+
+    private void run(int workers) throws InterruptedException {
+        GcPauses gc = GcPauses.install();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LongAdder allocatedBytes = new LongAdder();
+
+        Thread[] pool = new Thread[workers];
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            pool[w] = new Thread(() -> {
+                long before = threads.getCurrentThreadAllocatedBytes();
+                work(worker, workers);
+                allocatedBytes.add(threads.getCurrentThreadAllocatedBytes() - before);
+            }, "learners-" + w);
+        }
+        gc.reset();
+        startNanos = System.nanoTime();
+        for (Thread thread : pool) {
+            thread.start();
+        }
+        for (Thread thread : pool) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        gc.uninstall();
+
+        long answered = answers.sum();
+        double simulatedSeconds = simulatedMillis.get() / 1e3;
+        System.out.printf("learners=%d sessions=%d accuracy=%.2f typos=%.2f think=%.0fms workers=%d seed=%d mode=%s%s%n",
+                learners, sessions, accuracy, typos, thinkMillis, workers, seed, gradingMode,
+                realtime ? " realtime" : "");
+        System.out.printf("answers       %,d in %,d sessions (correct %,d, near miss %,d, incorrect %,d)%n",
+                answered, finishedSessions.sum(), outcome(Verdict.Outcome.CORRECT),
+                outcome(Verdict.Outcome.NEAR_MISS), outcome(Verdict.Outcome.INCORRECT));
+        System.out.printf("throughput    %,.0f answers/s, %,.0f sessions/s over %.2f s%n",
+                answered / seconds, finishedSessions.sum() / seconds, seconds);
+        System.out.printf("simulated     %.1f s of learner time, %,.0f answers/s demanded (%s)%n",
+                simulatedSeconds, answered / simulatedSeconds, realtime
+                        ? String.format("finished %.2f s behind schedule", seconds - simulatedSeconds)
+                        : String.format("%.1fx headroom", simulatedSeconds / seconds));
+        System.out.printf("latency       p50 %,d ns, p99 %,d ns, max %,d ns per answer%n",
+                answerLatency.getValueAtQuantile(0.5), answerLatency.getValueAtQuantile(0.99),
+                answerLatency.getMaxNanos());
+        System.out.printf("allocation    %,.1f MB/s, %,.0f bytes/answer%n",
+                allocatedBytes.sum() / seconds / (1 << 20), (double) allocatedBytes.sum() / answered);
+        System.out.printf("gc            %d pauses, %d ms total, %d ms max%n", gc.count(), gc.totalMillis(), gc.maxMillis());
+        System.out.printf("digest        %016x%n", digest.get());
+    }
+
+    private long outcome(Verdict.Outcome outcome) {
+        return outcomes[outcome.ordinal()].sum();
+    }
+
+    // ---------------- Workers ----------------
+
+    /** Plays learners {@code worker}, {@code worker + workers}, ... to the end. */
+    private void work(int worker, int workers) {
+        LevelFactory factory = new LevelFactory(manager, new SessionSampler(seed * 31 + worker));
+        factory.setGradingMode(gradingMode);
+        LevelHandler[][] handlers = new LevelHandler[LEVELS.length][languages.length];
+        PriorityQueue<Learner> queue = new PriorityQueue<>((a, b) ->
+                a.due != b.due ? Long.compare(a.due, b.due) : Integer.compare(a.id, b.id));
+        for (int id = worker; id < learners; id += workers) {
+            Learner learner = new Learner(id, seed, sessions);
+            learner.due = think(learner);
+            queue.add(learner);
+        }
+
+        long lastDue = 0;
+        Learner learner;
+        while ((learner = queue.poll()) != null) {
+            if (realtime) {
+                sleepUntil(learner.due);
+            }
+            lastDue = learner.due;
+            if (learner.session == null) {
+                start(learner, factory, handlers);
+            } else {
+                answer(learner);
+            }
+            if (learner.sessionsLeft > 0) {
+                learner.due += think(learner);
+                queue.add(learner);
+            } else {
+                digest.addAndGet(mix(learner.trace));
+            }
+        }
+        simulatedMillis.accumulateAndGet(lastDue, Math::max);
+    }
+
+    private void start(Learner learner, LevelFactory factory, LevelHandler[][] handlers) {
+        int level = learner.random.nextInt(LEVELS.length);
+        int language = learner.random.nextInt(languages.length);
+        LevelHandler handler = handlers[level][language];
+        if (handler == null) {
+            handler = factory.createLevelHandler(LEVELS[level], languages[language]);
+            handlers[level][language] = handler;
+        }
+        learner.level = LEVELS[level];
+        learner.language = languages[language];
+        learner.session = handler.startSession();
+        learner.prompt = learner.session.nextPrompt();
+    }
+
+    private void answer(Learner learner) {
+        Prompt prompt = learner.prompt;
+        String answer = compose(learner, prompt.getRow());
+        long start = System.nanoTime();
+        Verdict verdict = learner.session.submit(answer);
+        learner.prompt = learner.session.nextPrompt();
+        answerLatency.record(System.nanoTime() - start);
+
+        answers.increment();
+        outcomes[verdict.getOutcome().ordinal()].increment();
+        learner.trace = learner.trace * 31 + prompt.getRow() * 8L + verdict.getOutcome().ordinal();
+        if (learner.prompt == null) {
+            learner.session = null;
+            learner.sessionsLeft--;
+            finishedSessions.increment();
+        }
+    }
+
+    /** What the learner types for deck row {@code row}. */
+    private String compose(Learner learner, int row) {
+        double roll = learner.random.nextDouble();
+        if (roll < accuracy) {
+            return reference(learner, row);
+        }
+        if (roll < accuracy + (1 - accuracy) * typos) {
+            return typo(reference(learner, row), learner.random);
+        }
+        int count = learner.level == 1 ? manager.getWordCount() : manager.getPhraseCount();
+        return reference(learner, (row + 1 + learner.random.nextInt(count - 1)) % count);
+    }
+
+    private String reference(Learner learner, int row) {
+        int column = learner.language.getColumn();
+        if (learner.level != 1) {
+            return manager.getPhrase(column, row);
+        }
+        String word = manager.getWord(column, row);
+        int slash = word.indexOf('/');
+        return slash < 0 ? word : word.substring(0, slash).trim();
+    }
+
+    /** {@code text} with one letter dropped, doubled or swapped for its neighbour. */
+    private static String typo(String text, SplittableRandom random) {
+        if (text.length() < 2) {
+            return text + text;
+        }
+        int at = random.nextInt(text.length() - 1);
+        switch (random.nextInt(3)) {
+            case 0:
+                return text.substring(0, at) + text.substring(at + 1);
+            case 1:
+                return text.substring(0, at + 1) + text.substring(at);
+            default:
+                return text.substring(0, at) + text.charAt(at + 1) + text.charAt(at) + text.substring(at + 2);
+        }
+    }
+
+    private long think(Learner learner) {
+        return 1 + (long) (-thinkMillis * Math.log(1 - learner.random.nextDouble()));
+    }
+
+    private void sleepUntil(long dueMillis) {
+        long wait = dueMillis - (System.nanoTime() - startNanos) / 1_000_000;
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+
+    // ---------------- GC ----------------
+
+    /** Collects the duration of every collection the JVM reports while installed. */
+    private static final class GcPauses implements NotificationListener {
+
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        static GcPauses install() {
+            GcPauses pauses = new GcPauses();
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    NotificationEmitter emitter = (NotificationEmitter) collector;
+                    emitter.addNotificationListener(pauses, null, null);
+                    pauses.emitters.add(emitter);
+                }
+            }
+            return pauses;
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long millis = info.getGcInfo().getDuration();
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        void reset() {
+            count.set(0);
+            totalMillis.set(0);
+            maxMillis.set(0);
+        }
+
+        void uninstall() {
+            for (NotificationEmitter emitter : emitters) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (javax.management.ListenerNotFoundException e) {
+                    // already gone
+                }
+            }
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        long totalMillis() {
+            return totalMillis.get();
+        }
+
+        long maxMillis() {
+            return maxMillis.get();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Write throughput and recovery time of {@link ProgressLog}.
+ *
+ * Several producer threads record events as fast as they can (the writer
+ * group-commits whatever is queued). The log is then reopened twice: once with
+ * compaction (snapshot + short tail) and once with every segment still present.
+ *
+ * Usage: java languageflashcards.ProgressLogBenchmark [events] [producers]
+ */
+public class ProgressLogBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        Path compacted = Files.createTempDirectory("progress-compacted");
+        Path uncompacted = Files.createTempDirectory("progress-full");
+        try {
+            long writeNs = write(compacted, events, producers, 1L << 20);
+            System.out.printf("write: %d events, %d producers, %.0f events/s%n",
+                    events, producers, events / (writeNs / 1e9));
+
+            write(uncompacted, events, producers, Long.MAX_VALUE);
+
+            report("recover (snapshot + tail)", compacted);
+            report("recover (full replay)", uncompacted);
+        } finally {
+            delete(compacted);
+            delete(uncompacted);
+        }
+    }
+
+    private static long write(Path dir, int events, int producers, long segmentBytes) throws Exception {
+        ProgressLog log = ProgressLog.open(dir, segmentBytes);
+        Thread[] threads = new Thread[producers];
+        long start = System.nanoTime();
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads[p] = new Thread(() -> {
+                for (int i = id; i < events; i += producers) {
+                    log.onGrade(new GradeEvent(i, "learner" + (i % 500), "es", 1 + i % 3, i % 100, i % 4 != 0, 900));
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        log.flush();
+        long elapsed = System.nanoTime() - start;
+        log.close();
+        return elapsed;
+    }
+
+    private static void report(String label, Path dir) throws IOException {
+        ProgressLog log = ProgressLog.open(dir, Long.MAX_VALUE);
+        long attempts = 0;
+        for (ProgressStats.Entry entry : log.getStats().all()) {
+            attempts += entry.getAttempts();
+        }
+        System.out.printf("%-26s %8.1f ms, replayed %d events, %d attempts restored%n",
+                label, log.getRecoveryNanos() / 1e6, log.getRecoveredEvents(), attempts);
+        log.close();
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
\ No newline at end of file
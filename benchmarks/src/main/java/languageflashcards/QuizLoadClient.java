@@ -0,0 +1,157 @@
+package languageflashcards;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for {@link QuizServer}. Opens all connections first, then lets
+ * every one of them play Level 1 sessions as fast as the server answers, and
+ * reports completed sessions per second and the answer round-trip latency.
+ *
+ * Usage: java languageflashcards.QuizLoadClient [connections] [sessionsPerConnection] [host port]
+ *
+ * Without host and port an in-process server is started on a free port (run from
+ * the project root so data/ is found). Thousands of connections need a matching
+ * open-files limit (ulimit -n) on both ends.
+ */
+public class QuizLoadClient {
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        QuizServer server = null;
+        String host;
+        int port;
+        if (args.length > 3) {
+            host = args[2];
+            port = Integer.parseInt(args[3]);
+        } else {
+            server = new QuizServer(new DefaultLanguageManager(), GradingMode.EXACT);
+            host = "127.0.0.1";
+            port = server.bind(0);
+            QuizServer running = server;
+            Thread acceptor = new Thread(() -> {
+                try {
+                    running.serve();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, "quiz-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        long[][] latencies = new long[connections][];
+        CountDownLatch connected = new CountDownLatch(connections);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService clients = QuizServer.newThreadPerTaskExecutor();
+        for (int c = 0; c < connections; c++) {
+            int id = c;
+            clients.execute(() -> {
+                try {
+                    latencies[id] = play(host, port, "learner-" + id, sessions, connected, go);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    latencies[id] = new long[0];
+                    connected.countDown();
+                }
+            });
+        }
+
+        connected.await();
+        long start = System.nanoTime();
+        go.countDown();
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+
+        int total = 0;
+        for (long[] l : latencies) {
+            total += l.length;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (long[] l : latencies) {
+            System.arraycopy(l, 0, all, at, l.length);
+            at += l.length;
+        }
+        Arrays.sort(all);
+
+        long completed = (long) (connections - failures.get()) * sessions;
+        System.out.printf("connections=%d failed=%d sessions=%d answers=%d elapsed=%.1f s%n",
+                connections, failures.get(), completed, total, elapsed / 1e9);
+        System.out.printf("sessions/s=%,.0f answers/s=%,.0f%n", completed / (elapsed / 1e9), total / (elapsed / 1e9));
+        if (total > 0) {
+            System.out.printf("answer latency p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                    percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, all[total - 1] / 1e6);
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /** Plays {@code sessions} Level 1 sessions and returns the latency of every answer in ns. */
+    private static long[] play(String host, int port, String learner, int sessions,
+                               CountDownLatch connected, CountDownLatch go) throws Exception {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            send(out, "LOGIN " + learner);
+            expect(in.readLine(), "OK");
+            send(out, "LANGUAGES");
+            String code = in.readLine().split("\t")[1].split(":")[0];
+            connected.countDown();
+            go.await();
+
+            long[] latencies = new long[sessions * 16];
+            int count = 0;
+            for (int s = 0; s < sessions; s++) {
+                send(out, "START " + code + " 1");
+                String line = in.readLine();
+                while (line.startsWith("PROMPT")) {
+                    long asked = System.nanoTime();
+                    send(out, "ANSWER x");
+                    expect(in.readLine(), "VERDICT");
+                    line = in.readLine();
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - asked;
+                }
+                expect(line, "END");
+            }
+            send(out, "QUIT");
+            return Arrays.copyOf(latencies, count);
+        }
+    }
+
+    private static void send(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+
+    private static void expect(String line, String reply) {
+        if (line == null || !line.startsWith(reply)) {
+            throw new IllegalStateException("Expected " + reply + " but got " + line);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package languageflashcards;
+
+import java.util.SplittableRandom;
+
+/**
+ * Scheduling cost of a {@link ReviewDeck} with millions of cards: one
+ * nextDue + grade round trip per simulated answer.
+ *
+ * Usage: java languageflashcards.ReviewSchedulerBenchmark [cards] [answers]
+ */
+public class ReviewSchedulerBenchmark {
+
+    public static void main(String[] args) {
+        int cards = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int answers = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        ReviewDeck deck = new ReviewDeck(cards);
+        long createNs = System.nanoTime() - start;
+        System.gc();
+        long bytes = runtime.totalMemory() - runtime.freeMemory() - before;
+
+        SplittableRandom random = new SplittableRandom(3);
+        int now = 28_000_000; // some minute in 2023
+        start = System.nanoTime();
+        for (int i = 0; i < answers; i++) {
+            int card = deck.nextDue(now);
+            if (card < 0) {
+                now += 60;
+                continue;
+            }
+            int quality = random.nextInt(10) < 8 ? ReviewDeck.QUALITY_GOOD : ReviewDeck.QUALITY_WRONG;
+            deck.grade(card, quality, now);
+            if ((i & 1023) == 0) {
+                now++;
+            }
+        }
+        long gradeNs = System.nanoTime() - start;
+
+        System.out.printf("cards=%d state=%.1f bytes/card create=%.1f ms%n",
+                cards, (double) bytes / cards, createNs / 1e6);
+        System.out.printf("answers=%d %.0f ns per nextDue+grade%n", answers, (double) gradeNs / answers);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package languageflashcards;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares picking a session's questions the old way (box every row index into a
+ * list and shuffle it) with {@link SessionSampler}.
+ *
+ * Usage: java languageflashcards.SamplerBenchmark [deckRows] [questions]
+ */
+public class SamplerBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int sessions = Math.max(20, 50_000_000 / n);
+
+        long sink = 0;
+        for (int round = 0; round < 3; round++) { // the last round is reported
+            long start = System.nanoTime();
+            for (int s = 0; s < sessions; s++) {
+                List<Integer> indices = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    indices.add(i);
+                }
+                Collections.shuffle(indices);
+                for (int i = 0; i < Math.min(k, n); i++) {
+                    sink += indices.get(i);
+                }
+            }
+            long shuffleNs = (System.nanoTime() - start) / sessions;
+
+            SessionSampler sampler = new SessionSampler(round);
+            int[] out = new int[k];
+            int samplerSessions = sessions * 1000;
+            start = System.nanoTime();
+            for (int s = 0; s < samplerSessions; s++) {
+                int count = sampler.sample(n, k, out);
+                for (int i = 0; i < count; i++) {
+                    sink += out[i];
+                }
+            }
+            long samplerNs = (System.nanoTime() - start) / samplerSessions;
+
+            if (round == 2) {
+                System.out.printf("n=%d k=%d%n", n, k);
+                System.out.printf("%-22s %12d ns/session%n", "boxed list + shuffle", shuffleNs);
+                System.out.printf("%-22s %12d ns/session%n", "SessionSampler", samplerNs);
+            }
+        }
+
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1 + (i % 7);
+        }
+        SessionSampler sampler = new SessionSampler(1L);
+        int[] out = new int[k];
+        long start = System.nanoTime();
+        int weightedSessions = Math.max(10, 5_000_000 / n);
+        for (int s = 0; s < weightedSessions; s++) {
+            sampler.sampleWeighted(weights, k, out);
+            sink += out[0];
+        }
+        System.out.printf("%-22s %12d ns/session%n", "weighted (O(n log k))",
+                (System.nanoTime() - start) / weightedSessions);
+        System.out.println("(checksum " + sink + ")");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package languageflashcards;
+
+/**
+ * Drives Levels 1-3 through {@link QuizSession} with no terminal in the loop and
+ * reports graded answers per second. Every other answer is the reference answer,
+ * the rest are wrong, so both grading paths are exercised. Passing "metrics" turns
+ * {@link Metrics} on, to compare the instrumentation overhead against a plain run.
+ *
+ * Usage: java languageflashcards.SessionThroughputBenchmark [sessions] [exact|near-miss] [metrics]
+ * (run from the project root so data/ is found)
+ */
+public class SessionThroughputBenchmark {
+
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        GradingMode mode = args.length > 1 && args[1].equals("near-miss") ? GradingMode.NEAR_MISS : GradingMode.EXACT;
+        if (args.length > 2 && args[2].equals("metrics")) {
+            Metrics.enable();
+        }
+
+        DefaultLanguageManager manager = new DefaultLanguageManager();
+        LevelFactory factory = new LevelFactory(manager, new SessionSampler(1L));
+        factory.setGradingMode(mode);
+        Language language = manager.getAvailableLanguages()[0];
+
+        for (int level = 1; level <= 3; level++) {
+            LevelHandler handler = factory.createLevelHandler(level, language);
+            long graded = 0;
+            long correct = 0;
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < 3; round++) { // the first rounds warm up the JIT
+                graded = 0;
+                correct = 0;
+                long start = System.nanoTime();
+                for (int s = 0; s < sessions; s++) {
+                    QuizSession session = handler.startSession();
+                    Prompt prompt;
+                    while ((prompt = session.nextPrompt()) != null) {
+                        String answer = (prompt.getNumber() & 1) == 0 ? "wrong answer"
+                                : level == 1 ? manager.getWord(language.getColumn(), prompt.getRow())
+                                : manager.getPhrase(language.getColumn(), prompt.getRow());
+                        session.submit(answer);
+                    }
+                    SessionSummary summary = session.getSummary();
+                    graded += summary.getAsked();
+                    correct += summary.getScore();
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("level=%d mode=%-9s answers=%-9d correct=%-9d %,12.0f answers/s%n",
+                    level, mode, graded, correct, graded / (best / 1e9));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Compares three ways a deck can come up at startup:
+ * <ul>
+ *   <li>cold: no snapshot, parse the CSV and write the snapshot</li>
+ *   <li>warm: map a valid snapshot</li>
+ *   <li>corrupt: snapshot payload damaged, fall back to the CSV and rewrite</li>
+ * </ul>
+ *
+ * Usage: java languageflashcards.StartupBenchmark [rows]
+ */
+public class StartupBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = Files.createTempDirectory("deck-startup");
+        Path csv = dir.resolve("vocab.csv");
+        Path snapshot = DeckSnapshot.defaultLocation(csv);
+        CsvIngestor ingestor = new CsvIngestor();
+        try {
+            SyntheticDeckGenerator.writeCsv(csv, rows, 7L);
+            DeckSnapshot.loadOrBuild(csv, ingestor); // warm up the JIT on both paths
+
+            long cold = Long.MAX_VALUE;
+            long warm = Long.MAX_VALUE;
+            long corrupt = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                Files.deleteIfExists(snapshot);
+                cold = Math.min(cold, time(csv, ingestor));
+
+                warm = Math.min(warm, time(csv, ingestor));
+
+                corrupt(snapshot);
+                corrupt = Math.min(corrupt, time(csv, ingestor));
+            }
+
+            System.out.printf("rows=%d csv=%d MB snapshot=%d MB%n",
+                    rows, Files.size(csv) >> 20, Files.size(snapshot) >> 20);
+            System.out.printf("%-10s %10.1f ms%n", "cold", cold / 1e6);
+            System.out.printf("%-10s %10.1f ms%n", "warm", warm / 1e6);
+            System.out.printf("%-10s %10.1f ms%n", "corrupt", corrupt / 1e6);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static long time(Path csv, CsvIngestor ingestor) throws IOException {
+        long start = System.nanoTime();
+        ColumnarDeck deck = DeckSnapshot.loadOrBuild(csv, ingestor);
+        deck.get(1, deck.getRowCount() - 1); // touch the data
+        return System.nanoTime() - start;
+    }
+
+    /** Flips one byte in the middle of the payload. */
+    private static void corrupt(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = channel.size() / 2;
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x5A));
+            one.rewind();
+            channel.write(one, position);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package languageflashcards;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wall time from launching the app to its first prompt ("Enter your name"),
+ * measured from outside: a fresh JVM per run, stdout read until the prompt shows
+ * up. Then a name is typed and the first language and level picked, and the time
+ * to the first question is taken too, before the process is killed. Compares the
+ * animated UI with --fast and --headless.
+ *
+ * Usage: java languageflashcards.StartupToPromptBenchmark [runs] [rows]
+ * (run from the project root so data/ is found; the app must be on the classpath)
+ *
+ * With {@code rows}, the app runs instead on generated vocab and phrase decks of
+ * that many rows each, with the deck cache cleared before every run, so that every
+ * start parses both CSVs.
+ */
+public class StartupToPromptBenchmark {
+
+    private static final byte[] NAME_PROMPT = "Enter your name:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROMPT_START = "\u001B[1;35m".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FIRST_QUESTION = "Q1: ".getBytes(StandardCharsets.US_ASCII);
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        Path workDir = Paths.get("");
+        if (rows > 0) {
+            workDir = Files.createTempDirectory("startup");
+            Files.createDirectories(workDir.resolve("data"));
+            SyntheticDeckGenerator.writeCsv(workDir.resolve("data").resolve("vocab.csv"), rows, 1L);
+            SyntheticDeckGenerator.writeCsv(workDir.resolve("data").resolve("phrases.csv"), rows, 2L);
+        }
+        String[][] modes = {{}, {"--fast"}, {"--headless"}};
+        for (String[] flags : modes) {
+            long[] times = new long[runs];
+            long[] questionTimes = new long[runs];
+            long bytes = 0;
+            for (int run = 0; run < runs; run++) {
+                if (rows > 0) {
+                    deleteSnapshots(workDir.resolve("data").resolve(".deckcache"));
+                }
+                long[] result = launch(flags, workDir);
+                times[run] = result[0];
+                bytes = result[1];
+                questionTimes[run] = result[2];
+            }
+            Arrays.sort(times);
+            Arrays.sort(questionTimes);
+            System.out.printf("%-12s best=%7.1f ms median=%7.1f ms bytes-before-prompt=%d first-question median=%7.1f ms%n",
+                    flags.length == 0 ? "animated" : flags[0], times[0] / 1e6, times[runs / 2] / 1e6, bytes,
+                    questionTimes[runs / 2] / 1e6);
+        }
+    }
+
+    private static void deleteSnapshots(Path dir) throws IOException {
+        if (Files.isDirectory(dir)) {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /** Returns {nanos to the prompt, bytes written before it, nanos to the first question}. */
+    private static long[] launch(String[] flags, Path workDir) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("languageflashcards.Main");
+        command.addAll(Arrays.asList(flags));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(workDir.toAbsolutePath().toFile())
+                .redirectErrorStream(true).start();
+        try (InputStream out = process.getInputStream(); OutputStream in = process.getOutputStream()) {
+            byte[] seen = new byte[1 << 16];
+            int length = 0;
+            int nameAt = -1;
+            long promptNanos = -1;
+            int promptBytes = 0;
+            int b;
+            while ((b = out.read()) >= 0) {
+                if (length == seen.length) {
+                    seen = Arrays.copyOf(seen, length * 2);
+                }
+                seen[length++] = (byte) b;
+                if (nameAt < 0 && endsWith(seen, length, NAME_PROMPT)) {
+                    nameAt = length;
+                } else if (promptNanos < 0 && nameAt >= 0 && endsWith(seen, length, PROMPT_START)) {
+                    promptNanos = System.nanoTime() - start;
+                    promptBytes = length;
+                    // name, start a session, first language, level 1
+                    in.write("bench\n1\n1\n1\n".getBytes(StandardCharsets.US_ASCII));
+                    in.flush();
+                } else if (promptNanos >= 0 && endsWith(seen, length, FIRST_QUESTION)) {
+                    return new long[]{promptNanos, promptBytes, System.nanoTime() - start};
+                }
+            }
+            throw new IllegalStateException("The app exited before prompting:\n"
+                    + new String(seen, 0, length, StandardCharsets.UTF_8));
+        } finally {
+            process.destroyForcibly();
+            process.waitFor();
+        }
+    }
+
+    private static boolean endsWith(byte[] data, int length, byte[] suffix) {
+        if (length < suffix.length) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length; i++) {
+            if (data[length - suffix.length + i] != suffix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package languageflashcards;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates decks shaped like data/vocab.csv at any size, for the benchmarks.
+ *
+ * Usage: java languageflashcards.SyntheticDeckGenerator rows out.csv [seed]
+ *
+ * Rows are drawn from a small pool of words so cells repeat the way they do in
+ * real decks; a quarter of the rows get a unique headword. Every tenth row in a
+ * written CSV carries a quoted cell with an embedded comma so the RFC 4180 path
+ * is exercised as well.
+ */
+public class SyntheticDeckGenerator {
+
+    public static final String[] HEADER = {"english", "filipino", "spanish", "french", "japanese", "korean"};
+
+    private static final String[][] POOL = {
+            {"House", "Bahay", "Casa", "Maison", "いえ (ie)", "집 (jip)"},
+            {"Hello", "Kamusta", "Hola", "Bonjour", "こんにちは (konnichiwa)", "안녕하세요 (annyeonghaseyo)"},
+            {"Good morning", "Magandang umaga", "Buenos días", "Bonjour", "おはようございます (ohayou gozaimasu)", "좋은 아침입니다 (joheun achimimnida)"},
+            {"Door", "Pinto", "Puerta", "Portes", "ドア (doa)", "문 (mun)"},
+            {"Window", "Bintana", "Ventana", "Fenêtre", "まど (mado)", "창문 (changmun)"},
+    };
+
+    private SyntheticDeckGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java languageflashcards.SyntheticDeckGenerator rows out.csv [seed]");
+            return;
+        }
+        int rows = Integer.parseInt(args[0]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 7L;
+        writeCsv(Paths.get(args[1]), rows, seed);
+    }
+
+    /** {@code rows} rows of {@link #HEADER}'s width, reproducible for a given seed. */
+    public static List<String[]> rows(int rows, long seed) {
+        Random random = new Random(seed);
+        List<String[]> out = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            String[] base = POOL[random.nextInt(POOL.length)];
+            String[] row = base.clone();
+            // a share of unique headwords, the rest repeat like real decks do
+            if (random.nextInt(4) == 0) {
+                row[0] = base[0] + " " + r;
+            }
+            out.add(row);
+        }
+        return out;
+    }
+
+    /** Writes a CSV with a header and {@code rows} generated rows, CRLF line endings. */
+    public static void writeCsv(Path csv, int rows, long seed) throws IOException {
+        List<String[]> source = rows(rows, seed);
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            out.write(String.join(",", HEADER) + "\r\n");
+            for (int r = 0; r < source.size(); r++) {
+                String[] row = source.get(r);
+                for (int c = 0; c < row.length; c++) {
+                    if (c > 0) {
+                        out.write(',');
+                    }
+                    out.write(r % 10 == 0 && c == 0 ? "\"" + row[c] + ", again\"" : row[c]);
+                }
+                out.write("\r\n");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package languageflashcards.jmh;
+
+import languageflashcards.ColumnarDeck;
+import languageflashcards.CsvIngestor;
+import languageflashcards.DeckSnapshot;
+import languageflashcards.SyntheticDeckGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * What {@code DefaultLanguageManager.loadCsv} costs at several deck sizes:
+ * the original line-by-line split, the parallel CSV parse, and mapping the
+ * binary snapshot that later starts use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeckLoadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path dir;
+    private Path csv;
+    private CsvIngestor ingestor;
+
+    @Setup(Level.Trial)
+    public void writeDeck() throws IOException {
+        dir = Files.createTempDirectory("jmh-deck");
+        csv = dir.resolve("vocab.csv");
+        SyntheticDeckGenerator.writeCsv(csv, rows, 7L);
+        ingestor = new CsvIngestor();
+        DeckSnapshot.loadOrBuild(csv, ingestor); // leaves a valid snapshot behind
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDeck() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /** The loader the app started with: readLine, split(","), trim, pad to six cells. */
+    @Benchmark
+    public List<String[]> splitLines() throws IOException {
+        List<String[]> target = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line = br.readLine(); // skip header
+            while ((line = br.readLine()) != null) {
+                String[] cells = line.split(",", -1);
+                String[] padded = new String[Math.max(6, cells.length)];
+                for (int i = 0; i < padded.length; i++) {
+                    padded[i] = i < cells.length ? cells[i].trim() : "";
+                }
+                target.add(padded);
+            }
+        }
+        return target;
+    }
+
+    @Benchmark
+    public ColumnarDeck parseCsv() throws IOException {
+        return ingestor.load(csv);
+    }
+
+    @Benchmark
+    public ColumnarDeck mapSnapshot() throws IOException {
+        return DeckSnapshot.loadOrBuild(csv, ingestor);
+    }
+}
\ No newline at end of file
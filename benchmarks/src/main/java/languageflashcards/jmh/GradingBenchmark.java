@@ -0,0 +1,99 @@
+package languageflashcards.jmh;
+
+import languageflashcards.DefaultLanguageManager;
+import languageflashcards.Language;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answer checking as the levels used to do it, against the precomputed
+ * {@code AnswerIndex} behind {@link DefaultLanguageManager}:
+ * <ul>
+ *   <li>Level 1: split the reference on "/" and compare every alternative</li>
+ *   <li>Level 3: LevelThreeHandler.normalize (regex strip + lower case) on both sides</li>
+ * </ul>
+ * Answers cycle through every row of the real decks, half right and half wrong.
+ * Run from the project root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GradingBenchmark {
+
+    private DefaultLanguageManager manager;
+    private int column;
+    private String[] wordAnswers;
+    private String[] sentenceAnswers;
+    private int next;
+
+    @Setup
+    public void load() {
+        manager = new DefaultLanguageManager();
+        Language language = manager.getAvailableLanguages()[1];
+        column = language.getColumn();
+        wordAnswers = answers(manager.getWordCount(), true);
+        sentenceAnswers = answers(manager.getPhraseCount(), false);
+    }
+
+    private String[] answers(int count, boolean words) {
+        String[] answers = new String[count];
+        for (int row = 0; row < count; row++) {
+            String reference = words ? manager.getWord(column, row) : manager.getPhrase(column, row);
+            answers[row] = row % 2 == 0 ? reference.split("/")[0].trim().toUpperCase() : "definitely wrong";
+        }
+        return answers;
+    }
+
+    @Benchmark
+    public boolean levelOneSplit() {
+        int row = nextRow(wordAnswers.length);
+        String input = wordAnswers[row];
+        for (String alternative : manager.getWord(column, row).split("/")) {
+            if (input.equalsIgnoreCase(alternative.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean levelOneIndexed() {
+        int row = nextRow(wordAnswers.length);
+        return manager.isCorrectWord(column, row, wordAnswers[row]);
+    }
+
+    @Benchmark
+    public boolean levelThreeNormalize() {
+        int row = nextRow(sentenceAnswers.length);
+        return normalize(sentenceAnswers[row]).equalsIgnoreCase(normalize(manager.getPhrase(column, row)));
+    }
+
+    @Benchmark
+    public boolean levelThreeIndexed() {
+        int row = nextRow(sentenceAnswers.length);
+        return manager.isCorrectSentence(column, row, sentenceAnswers[row]);
+    }
+
+    private int nextRow(int count) {
+        next = next + 1 < count ? next + 1 : 0;
+        return next;
+    }
+
+    /** LevelThreeHandler.normalize as it was before the answer index. */
+    private static String normalize(String text) {
+        return text.replaceAll("[^a-zA-Z0-9\\u3040-\\u30ff\\u3400-\\u4dbf\\u4e00-\\u9fff\\uac00-\\ud7af]", "").toLowerCase();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package languageflashcards.jmh;
+
+import languageflashcards.DefaultLanguageManager;
+import languageflashcards.Language;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getWord}/{@code getPhrase} for every shipped language, by code (the
+ * {@link languageflashcards.LanguageManager} contract) and by column (what the
+ * handlers use), plus the reverse lookup and prefix autocomplete of
+ * {@code TextIndex}. Reads the real decks, so run from the project root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LookupBenchmark {
+
+    @Param({"fil", "es", "fr", "jp", "kr"})
+    public String language;
+
+    private DefaultLanguageManager manager;
+    private int column;
+    private int words;
+    private int phrases;
+    private String[] texts;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void load() {
+        manager = new DefaultLanguageManager();
+        for (Language candidate : manager.getAvailableLanguages()) {
+            if (candidate.getCode().equals(language)) {
+                column = candidate.getColumn();
+            }
+        }
+        words = manager.getWordCount();
+        phrases = manager.getPhraseCount();
+        texts = new String[words];
+        prefixes = new String[words];
+        for (int row = 0; row < words; row++) {
+            texts[row] = manager.getWord(column, row);
+            prefixes[row] = texts[row].substring(0, Math.min(2, texts[row].length()));
+        }
+    }
+
+    private int nextRow(int count) {
+        next = next + 1 < count ? next + 1 : 0;
+        return next;
+    }
+
+    @Benchmark
+    public String wordByCode() {
+        return manager.getWord(language, nextRow(words));
+    }
+
+    @Benchmark
+    public String wordByColumn() {
+        return manager.getWord(column, nextRow(words));
+    }
+
+    @Benchmark
+    public String phraseByCode() {
+        return manager.getPhrase(language, nextRow(phrases));
+    }
+
+    @Benchmark
+    public String phraseByColumn() {
+        return manager.getPhrase(column, nextRow(phrases));
+    }
+
+    @Benchmark
+    public int[] reverseLookup() {
+        return manager.findWord(column, texts[nextRow(words)]);
+    }
+
+    @Benchmark
+    public List<String> prefixComplete() {
+        return manager.suggestWords(column, prefixes[nextRow(words)], 5);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package languageflashcards.jmh;
+
+import languageflashcards.DefaultLanguageManager;
+import languageflashcards.Language;
+import languageflashcards.TextNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level 3's text comparison, the old regex strip against {@link TextNormalizer}:
+ * <ul>
+ *   <li>regexCompare: strip both sides with the old regex, then equalsIgnoreCase</li>
+ *   <li>normalizerCompare: TextNormalizer.equals in GRAMMAR mode, building nothing</li>
+ *   <li>normalizerHash: the one-pass hash the answer index compares first</li>
+ *   <li>normalizerBuffer: the form written into a reusable buffer, as near-miss grading does</li>
+ * </ul>
+ * Pairs cycle through every phrase of every language in the real decks, each
+ * against itself upper-cased (a match) and against the next phrase (a miss).
+ * Run from the project root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizerBenchmark {
+
+    private String[] expected;
+    private String[] answers;
+    private final TextNormalizer normalizer = new TextNormalizer();
+    private int next;
+
+    @Setup
+    public void load() {
+        DefaultLanguageManager manager = new DefaultLanguageManager();
+        List<String> phrases = new ArrayList<>();
+        for (Language language : manager.getAvailableLanguages()) {
+            for (int row = 0; row < manager.getPhraseCount(); row++) {
+                phrases.add(manager.getPhrase(language.getColumn(), row));
+            }
+        }
+        int count = phrases.size();
+        expected = new String[count];
+        answers = new String[count];
+        for (int i = 0; i < count; i++) {
+            expected[i] = phrases.get(i);
+            answers[i] = i % 2 == 0 ? phrases.get(i).toUpperCase() : phrases.get((i + 1) % count);
+        }
+    }
+
+    @Benchmark
+    public boolean regexCompare() {
+        int i = nextPair();
+        return regexNormalize(answers[i]).equalsIgnoreCase(regexNormalize(expected[i]));
+    }
+
+    @Benchmark
+    public boolean normalizerCompare() {
+        int i = nextPair();
+        return TextNormalizer.equals(answers[i], expected[i], TextNormalizer.Mode.GRAMMAR);
+    }
+
+    @Benchmark
+    public int normalizerHash() {
+        int i = nextPair();
+        String answer = answers[i];
+        return TextNormalizer.hash(answer, 0, answer.length(), TextNormalizer.Mode.GRAMMAR);
+    }
+
+    @Benchmark
+    public int normalizerBuffer() {
+        int i = nextPair();
+        return normalizer.normalize(answers[i], TextNormalizer.Mode.GRAMMAR).length();
+    }
+
+    private int nextPair() {
+        next = next + 1 < expected.length ? next + 1 : 0;
+        return next;
+    }
+
+    /** LevelThreeHandler.normalize as it was before the answer index. */
+    private static String regexNormalize(String text) {
+        return text.replaceAll("[^a-zA-Z0-9\\u3040-\\u30ff\\u3400-\\u4dbf\\u4e00-\\u9fff\\uac00-\\ud7af]", "").toLowerCase();
+    }
+}
\ No newline at end of file
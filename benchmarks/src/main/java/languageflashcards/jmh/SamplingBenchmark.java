@@ -0,0 +1,58 @@
+package languageflashcards.jmh;
+
+import languageflashcards.SessionSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picking one session's questions: the handlers' original box-everything-and-
+ * shuffle against {@link SessionSampler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SamplingBenchmark {
+
+    @Param({"50", "10000", "1000000"})
+    public int deckSize;
+
+    @Param({"10"})
+    public int questions;
+
+    private final SessionSampler sampler = new SessionSampler(1L);
+
+    @Benchmark
+    public void shuffleAndPick(Blackhole blackhole) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < deckSize; i++) {
+            indices.add(i);
+        }
+        Collections.shuffle(indices);
+        int limit = Math.min(questions, indices.size());
+        for (int i = 0; i < limit; i++) {
+            blackhole.consume(indices.get(i));
+        }
+    }
+
+    @Benchmark
+    public int[] sessionSampler() {
+        return sampler.sample(deckSize, questions);
+    }
+}
\ No newline at end of file
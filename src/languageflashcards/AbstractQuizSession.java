@@ -0,0 +1,136 @@
+package languageflashcards;
+
+import java.util.List;
+
+/**
+ * Shared bookkeeping for the levels' sessions: hands out one prompt at a time,
+ * recognises EXIT and HINT, grades through {@link LevelHandler#grade(int, String)}, keeps
+ * the score and reports every graded answer with its latency.
+ */
+public abstract class AbstractQuizSession implements QuizSession {
+
+    protected final LevelHandler handler;
+    private final int level;
+
+    // looked up once per session, and only while metrics are on
+    private final Metrics.Timer gradeTimer;
+    private final Metrics.Counter[] outcomeCounters;
+
+    private Prompt pending;
+    private long askedAt;
+    private boolean finished;
+    private int asked;
+    private int score;
+
+    protected AbstractQuizSession(LevelHandler handler, int level) {
+        this.handler = handler;
+        this.level = level;
+        if (Metrics.isEnabled()) {
+            String levelLabel = String.valueOf(level);
+            gradeTimer = Metrics.timer("grade", "level", levelLabel);
+            Verdict.Outcome[] outcomes = Verdict.Outcome.values();
+            outcomeCounters = new Metrics.Counter[outcomes.length];
+            for (Verdict.Outcome outcome : outcomes) {
+                outcomeCounters[outcome.ordinal()] = Metrics.counter("answers", "level", levelLabel,
+                        "outcome", outcome.name().toLowerCase());
+            }
+        } else {
+            gradeTimer = null;
+            outcomeCounters = null;
+        }
+    }
+
+    /** The next row to ask, or -1 when the session is done. */
+    protected abstract int nextRow(int asked);
+
+    /** The English side of {@code row}. */
+    protected abstract String question(int row);
+
+    /** How the console shows question number {@code number}. */
+    protected abstract String promptText(int number, String question);
+
+    /** Lines printed when the learner leaves early. */
+    protected List<String> exitFeedback() {
+        return List.of();
+    }
+
+    /** Turns what the learner typed into the answer to grade, e.g. a choice number into its text. */
+    protected String resolveAnswer(int row, String input) {
+        return input;
+    }
+
+    /** Called after each graded answer, before it is recorded. */
+    protected void graded(int row, Verdict verdict) {
+    }
+
+    protected abstract List<String> summaryLines(int asked, int score);
+
+    @Override
+    public Prompt nextPrompt() {
+        if (finished) {
+            return null;
+        }
+        if (pending == null) {
+            int row = nextRow(asked);
+            if (row < 0) {
+                finished = true;
+                return null;
+            }
+            String question = question(row);
+            pending = new Prompt(asked + 1, row, question, promptText(asked + 1, question));
+            askedAt = System.nanoTime();
+        }
+        return pending;
+    }
+
+    @Override
+    public Verdict submit(String answer) {
+        if (pending == null) {
+            throw new IllegalStateException("No question is pending");
+        }
+        int row = pending.getRow();
+        String input = answer == null ? "" : answer.trim();
+        if (input.equalsIgnoreCase("HINT") || input.regionMatches(true, 0, "HINT ", 0, 5)) {
+            if (outcomeCounters != null) {
+                outcomeCounters[Verdict.Outcome.HINT.ordinal()].increment();
+            }
+            return hint(row, input.substring(4).trim()); // the question stays pending
+        }
+        pending = null;
+
+        if (input.equalsIgnoreCase("EXIT")) {
+            finished = true;
+            if (outcomeCounters != null) {
+                outcomeCounters[Verdict.Outcome.EXITED.ordinal()].increment();
+            }
+            return Verdict.exited(exitFeedback().toArray(new String[0]));
+        }
+
+        long gradeStart = Metrics.start();
+        Verdict verdict = handler.grade(row, resolveAnswer(row, input));
+        Metrics.stop(gradeTimer, gradeStart);
+        if (outcomeCounters != null) {
+            outcomeCounters[verdict.getOutcome().ordinal()].increment();
+        }
+        asked++;
+        if (verdict.isCorrect()) {
+            score++;
+        }
+        graded(row, verdict);
+        handler.recordGrade(level, row, verdict.isCorrect(), askedAt);
+        return verdict;
+    }
+
+    private Verdict hint(int row, String prefix) {
+        List<String> suggestions = handler.hint(row, prefix);
+        if (suggestions.isEmpty()) {
+            return Verdict.hint("💡 Nothing starts with '" + prefix + "'.");
+        }
+        return Verdict.hint("💡 Hint: " + String.join("  |  ", suggestions));
+    }
+
+    @Override
+    public SessionSummary getSummary() {
+        return new SessionSummary(asked, score, summaryLines(asked, score));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package languageflashcards;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed answer keys for one deck, built once when the deck is loaded.
+ *
+ * Every distinct cell of every language column is turned into the keys a
+ * level accepts for it, and only the keys' hashes are kept. Grading hashes the
+ * learner's input once, in a single pass and without building any string, and
+ * compares it against the cell's few hashes. Only a hash hit decodes the cell to
+ * confirm the match, so a wrong answer never allocates.
+ *
+ * Because the index is keyed by distinct cell rather than by row, repeated cells
+ * share their keys the same way they share storage in {@link ColumnarDeck}.
+ */
+public class AnswerIndex {
+
+    /** How a cell turns into accepted answers. */
+    public enum Mode {
+        /** Level 1: "a / b" accepts either alternative, ignoring case. */
+        ALTERNATIVES,
+        /** Level 2: the whole cell, ignoring case. */
+        WHOLE,
+        /** Level 3: letters and digits of any script, ignoring case and accents. */
+        NORMALIZED
+    }
+
+    private final ColumnarDeck deck;
+    private final Mode mode;
+    private final int[][] starts;  // column -> cell id -> first key in hashes[column]
+    private final int[][] hashes;  // column -> key hashes, grouped by cell
+
+    private AnswerIndex(ColumnarDeck deck, Mode mode, int[][] starts, int[][] hashes) {
+        this.deck = deck;
+        this.mode = mode;
+        this.starts = starts;
+        this.hashes = hashes;
+    }
+
+    /** Rough retained-heap size of the keys, not counting the deck. */
+    public long estimateFootprintBytes() {
+        return Footprint.of(starts) + Footprint.of(hashes);
+    }
+
+    /**
+     * Builds the keys for every language column of {@code deck} (column 0, the
+     * English source, is skipped).
+     */
+    public static AnswerIndex build(ColumnarDeck deck, Mode mode) {
+        int columnCount = deck.getColumnCount();
+        int[][] starts = new int[columnCount][];
+        int[][] hashes = new int[columnCount][];
+        for (int column = 1; column < columnCount; column++) {
+            int cells = deck.getDistinctCellCount(column);
+            int[] start = new int[cells + 1];
+            int[] keyHashes = new int[cells];
+            int keys = 0;
+            for (int cell = 0; cell < cells; cell++) {
+                start[cell] = keys;
+                String value = deck.decodeCell(column, cell);
+                if (mode == Mode.ALTERNATIVES) {
+                    int from = 0;
+                    while (from <= value.length()) {
+                        int slash = value.indexOf('/', from);
+                        int to = slash < 0 ? value.length() : slash;
+                        if (keys == keyHashes.length) {
+                            keyHashes = Arrays.copyOf(keyHashes, keys * 2 + 1);
+                        }
+                        keyHashes[keys++] = hash(value, from, to, Mode.ALTERNATIVES);
+                        from = to + 1;
+                    }
+                } else {
+                    if (keys == keyHashes.length) {
+                        keyHashes = Arrays.copyOf(keyHashes, keys * 2 + 1);
+                    }
+                    keyHashes[keys++] = hash(value, 0, value.length(), mode);
+                }
+            }
+            start[cells] = keys;
+            starts[column] = start;
+            hashes[column] = Arrays.copyOf(keyHashes, keys);
+        }
+        return new AnswerIndex(deck, mode, starts, hashes);
+    }
+
+    /**
+     * Returns true if {@code input} is an accepted answer for the cell at
+     * ({@code column}, {@code row}). {@code column} is this deck's column ordinal.
+     */
+    public boolean matches(int column, int row, String input) {
+        int cell = deck.cellId(column, row);
+        int[] start = starts[column];
+        int[] keyHashes = hashes[column];
+        int h = hash(input, 0, input.length(), mode);
+        for (int k = start[cell]; k < start[cell + 1]; k++) {
+            if (keyHashes[k] == h && confirm(deck.decodeCell(column, cell), input)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean confirm(String expected, String input) {
+        switch (mode) {
+            case ALTERNATIVES:
+                int from = 0;
+                while (from <= expected.length()) {
+                    int slash = expected.indexOf('/', from);
+                    int to = slash < 0 ? expected.length() : slash;
+                    if (TextNormalizer.regionEquals(expected, from, to, input, 0, input.length(),
+                            TextNormalizer.Mode.CASE)) {
+                        return true;
+                    }
+                    from = to + 1;
+                }
+                return false;
+            case WHOLE:
+                return TextNormalizer.equals(expected, input, TextNormalizer.Mode.CASE);
+            default:
+                return TextNormalizer.equals(expected, input, TextNormalizer.Mode.GRAMMAR);
+        }
+    }
+
+    // ---------------- Keys ----------------
+
+    /**
+     * Hashes text[from, to) the way {@code mode} compares it: trimmed and
+     * case-folded, and for NORMALIZED in {@link TextNormalizer}'s GRAMMAR form.
+     */
+    static int hash(String text, int from, int to, Mode mode) {
+        return TextNormalizer.hash(text, from, to,
+                mode == Mode.NORMALIZED ? TextNormalizer.Mode.GRAMMAR : TextNormalizer.Mode.CASE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,415 @@
+package languageflashcards;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Grades a file of submitted answers offline, with the same rules as Levels 1-3.
+ *
+ * Input is an RFC 4180 CSV with the header {@code learner,language,level,row,answer}.
+ * Any field may be quoted, and must be if it contains a comma, a quote or a line
+ * break; a record with more than five fields is rejected. Rows are the deck rows of
+ * the vocabulary (level 1) or the phrases (levels 2 and 3).
+ *
+ * One reader thread cuts the file into batches of records (a record goes on past a
+ * line break while it has an open quote) and hands them to the workers through a
+ * bounded queue, so a slow grader holds the reader back instead of the whole file
+ * piling up in memory. Each worker parses its batches with
+ * {@link CsvIngestor#parse}, grades and counts on its own (own handlers, own
+ * counters); the counters are merged once at the end.
+ *
+ * Two reports are written: {@code learners.csv} with totals per (learner,
+ * language, level) and {@code cards.csv} with totals per (language, level, row).
+ * Every graded record is also reported to the {@link GradeListener}s, if any.
+ */
+public class BatchGrader {
+
+    private static final int BATCH_RECORDS = 1024;
+    private static final int FIELDS = 5;
+    private static final String END_OF_INPUT = new String();
+
+    private final LanguageManager languageManager;
+    private final GradingMode gradingMode;
+    private final int threads;
+    private final Map<String, Language> languagesByCode = new HashMap<>();
+    private final List<GradeListener> gradeListeners = new CopyOnWriteArrayList<>();
+
+    public BatchGrader(LanguageManager languageManager, GradingMode gradingMode) {
+        this(languageManager, gradingMode, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchGrader(LanguageManager languageManager, GradingMode gradingMode, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        this.languageManager = languageManager;
+        this.gradingMode = gradingMode;
+        this.threads = threads;
+        for (Language language : languageManager.getAvailableLanguages()) {
+            languagesByCode.put(language.getCode().toLowerCase(Locale.ROOT), language);
+        }
+    }
+
+    /**
+     * Reports every graded record to {@code listener}, on the worker threads. A
+     * submission has no answer time, so its event is stamped with the time it was
+     * graded and a latency of 0.
+     */
+    public void addGradeListener(GradeListener listener) {
+        gradeListeners.add(listener);
+    }
+
+    /** Counts of one run. */
+    public static class Result {
+        private final long graded;
+        private final long correct;
+        private final long rejected;
+        private final long elapsedNanos;
+
+        Result(long graded, long correct, long rejected, long elapsedNanos) {
+            this.graded = graded;
+            this.correct = correct;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getGraded() {
+            return graded;
+        }
+
+        public long getCorrect() {
+            return correct;
+        }
+
+        /** Lines that could not be graded: malformed, unknown language or level, row out of range. */
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("graded=%d correct=%d rejected=%d in %.1f s (%,.0f lines/s)",
+                    graded, correct, rejected, elapsedNanos / 1e9, (graded + rejected) / (elapsedNanos / 1e9));
+        }
+    }
+
+    /**
+     * Grades {@code submissions} and writes the reports into {@code reportDir}.
+     */
+    public Result grade(Path submissions, Path reportDir) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        BlockingQueue<String> queue = new ArrayBlockingQueue<>(threads * 4);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Worker[] workers = new Worker[threads];
+        Thread[] workerThreads = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(queue, failure);
+            workerThreads[i] = new Thread(workers[i], "batch-grader-" + i);
+            workerThreads[i].start();
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(submissions, StandardCharsets.UTF_8)) {
+            String header = in.readLine();
+            if (header == null) {
+                throw new IllegalStateException("Submissions file empty: " + submissions);
+            }
+            StringBuilder batch = new StringBuilder();
+            int records = 0;
+            boolean inQuotes = false;
+            String line;
+            while ((line = in.readLine()) != null && failure.get() == null) {
+                if (line.isEmpty() && !inQuotes) {
+                    continue;
+                }
+                batch.append(line).append('\n');
+                for (int i = line.indexOf('"'); i >= 0; i = line.indexOf('"', i + 1)) {
+                    inQuotes = !inQuotes;
+                }
+                if (!inQuotes && ++records == BATCH_RECORDS) {
+                    queue.put(batch.toString());
+                    batch.setLength(0);
+                    records = 0;
+                }
+            }
+            if (batch.length() > 0) {
+                queue.put(batch.toString());
+            }
+        } finally {
+            for (int i = 0; i < threads; i++) {
+                queue.put(END_OF_INPUT);
+            }
+            for (Thread thread : workerThreads) {
+                thread.join();
+            }
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Batch grading failed: " + failure.get().getMessage(), failure.get());
+        }
+
+        Worker total = workers[0];
+        for (int i = 1; i < threads; i++) {
+            total.mergeFrom(workers[i]);
+        }
+        Files.createDirectories(reportDir);
+        writeLearners(total, reportDir.resolve("learners.csv"));
+        writeCards(total, reportDir.resolve("cards.csv"));
+        return new Result(total.graded, total.correct, total.rejected, System.nanoTime() - start);
+    }
+
+    // ---------------- Workers ----------------
+
+    private class Worker implements Runnable {
+        private final BlockingQueue<String> queue;
+        private final AtomicReference<Throwable> failure;
+        private final LevelFactory factory = new LevelFactory(languageManager, new SessionSampler());
+        private final Map<Language, LevelHandler[]> handlers = new HashMap<>();
+
+        private final List<String[]> records = new ArrayList<>(BATCH_RECORDS);
+
+        // (learner, language, level) -> {attempts, correct}
+        private final Map<LearnerKey, long[]> learners = new HashMap<>();
+        // language column -> level - 1 -> row -> count
+        private final Map<Integer, int[][]> cardAttempts = new HashMap<>();
+        private final Map<Integer, int[][]> cardCorrect = new HashMap<>();
+        long graded;
+        long correct;
+        long rejected;
+
+        Worker(BlockingQueue<String> queue, AtomicReference<Throwable> failure) {
+            this.queue = queue;
+            this.failure = failure;
+            factory.setGradingMode(gradingMode);
+        }
+
+        @Override
+        public void run() {
+            try {
+                String batch;
+                while ((batch = queue.take()) != END_OF_INPUT) {
+                    if (failure.get() != null) {
+                        continue; // keep draining so the reader never blocks on a full queue
+                    }
+                    try {
+                        // one field more than expected, so that extra fields are noticed
+                        records.clear();
+                        CsvIngestor.parse(ByteBuffer.wrap(batch.getBytes(StandardCharsets.UTF_8)), FIELDS + 1, records);
+                        for (String[] record : records) {
+                            gradeRecord(record);
+                        }
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /** learner, language, level, row, answer; parsed cells are already trimmed and unquoted. */
+        private void gradeRecord(String[] record) {
+            if (!record[FIELDS].isEmpty()) {
+                rejected++;
+                return;
+            }
+            String learner = record[0];
+            Language language = languagesByCode.get(record[1].toLowerCase(Locale.ROOT));
+            int level;
+            int row;
+            try {
+                level = Integer.parseInt(record[2]);
+                row = Integer.parseInt(record[3]);
+            } catch (NumberFormatException e) {
+                rejected++;
+                return;
+            }
+            if (language == null || level < 1 || level > 3 || row < 0 || row >= rowCount(level)) {
+                rejected++;
+                return;
+            }
+            String answer = record[4];
+
+            boolean isCorrect = handler(language, level).grade(row, answer).isCorrect();
+            graded++;
+            if (!gradeListeners.isEmpty()) {
+                GradeEvent event = new GradeEvent(System.currentTimeMillis(), learner, language.getCode(),
+                        level, row, isCorrect, 0);
+                for (GradeListener listener : gradeListeners) {
+                    listener.onGrade(event);
+                }
+            }
+            long[] learnerTotals = learners.computeIfAbsent(
+                    new LearnerKey(learner, language.getCode(), level), key -> new long[2]);
+            learnerTotals[0]++;
+            cards(cardAttempts, language, level)[row]++;
+            if (isCorrect) {
+                correct++;
+                learnerTotals[1]++;
+                cards(cardCorrect, language, level)[row]++;
+            }
+        }
+
+        private LevelHandler handler(Language language, int level) {
+            LevelHandler[] byLevel = handlers.computeIfAbsent(language, key -> new LevelHandler[3]);
+            if (byLevel[level - 1] == null) {
+                byLevel[level - 1] = factory.createLevelHandler(level, language);
+            }
+            return byLevel[level - 1];
+        }
+
+        private int[] cards(Map<Integer, int[][]> counts, Language language, int level) {
+            int[][] byLevel = counts.computeIfAbsent(language.getColumn(), key -> new int[3][]);
+            if (byLevel[level - 1] == null) {
+                byLevel[level - 1] = new int[rowCount(level)];
+            }
+            return byLevel[level - 1];
+        }
+
+        void mergeFrom(Worker other) {
+            graded += other.graded;
+            correct += other.correct;
+            rejected += other.rejected;
+            other.learners.forEach((key, totals) -> {
+                long[] mine = learners.computeIfAbsent(key, k -> new long[2]);
+                mine[0] += totals[0];
+                mine[1] += totals[1];
+            });
+            mergeCards(cardAttempts, other.cardAttempts);
+            mergeCards(cardCorrect, other.cardCorrect);
+        }
+
+        private void mergeCards(Map<Integer, int[][]> into, Map<Integer, int[][]> from) {
+            from.forEach((column, byLevel) -> {
+                int[][] mine = into.computeIfAbsent(column, key -> new int[3][]);
+                for (int level = 0; level < 3; level++) {
+                    if (byLevel[level] == null) {
+                        continue;
+                    }
+                    if (mine[level] == null) {
+                        mine[level] = byLevel[level].clone();
+                    } else {
+                        for (int row = 0; row < mine[level].length; row++) {
+                            mine[level][row] += byLevel[level][row];
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /** Key of the per-learner totals. */
+    private static final class LearnerKey {
+        static final Comparator<LearnerKey> ORDER = Comparator.comparing((LearnerKey key) -> key.learner)
+                .thenComparing(key -> key.languageCode).thenComparingInt(key -> key.level);
+
+        final String learner;
+        final String languageCode;
+        final int level;
+
+        LearnerKey(String learner, String languageCode, int level) {
+            this.learner = learner;
+            this.languageCode = languageCode;
+            this.level = level;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof LearnerKey)) {
+                return false;
+            }
+            LearnerKey other = (LearnerKey) o;
+            return level == other.level && learner.equals(other.learner) && languageCode.equals(other.languageCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return (learner.hashCode() * 31 + languageCode.hashCode()) * 31 + level;
+        }
+    }
+
+    private int rowCount(int level) {
+        return level == 1 ? languageManager.getWordCount()
+                : ((DefaultLanguageManager) languageManager).getPhraseCount();
+    }
+
+    /**
+     * Quotes a field for CSV output if it needs it: commas, quotes and line breaks, and
+     * also surrounding blanks, which a reader would otherwise trim.
+     */
+    static String quote(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0
+                && field.trim().length() == field.length()) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    // ---------------- Reports ----------------
+
+    private void writeLearners(Worker total, Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("learner,language,level,answered,correct,accuracy\n");
+            Map<LearnerKey, long[]> sorted = new TreeMap<>(LearnerKey.ORDER);
+            sorted.putAll(total.learners);
+            for (Map.Entry<LearnerKey, long[]> entry : sorted.entrySet()) {
+                LearnerKey key = entry.getKey();
+                long[] totals = entry.getValue();
+                out.write(quote(key.learner) + ',' + quote(key.languageCode) + ',' + key.level + ','
+                        + totals[0] + ',' + totals[1] + ',' + accuracy(totals[1], totals[0]) + '\n');
+            }
+        }
+    }
+
+    private void writeCards(Worker total, Path file) throws IOException {
+        DefaultLanguageManager mgr = (DefaultLanguageManager) languageManager;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("language,level,row,english,answered,correct,accuracy\n");
+            for (Language language : languageManager.getAvailableLanguages()) {
+                int[][] attempts = total.cardAttempts.get(language.getColumn());
+                if (attempts == null) {
+                    continue;
+                }
+                int[][] correct = total.cardCorrect.get(language.getColumn());
+                for (int level = 1; level <= 3; level++) {
+                    if (attempts[level - 1] == null) {
+                        continue;
+                    }
+                    for (int row = 0; row < attempts[level - 1].length; row++) {
+                        int answered = attempts[level - 1][row];
+                        if (answered == 0) {
+                            continue;
+                        }
+                        int right = correct == null || correct[level - 1] == null ? 0 : correct[level - 1][row];
+                        String english = level == 1 ? mgr.getEnglishWord(row) : mgr.getEnglishPhrase(row);
+                        out.write(language.getCode() + ',' + level + ',' + row + ',' + quote(english) + ','
+                                + answered + ',' + right + ',' + accuracy(right, answered) + '\n');
+                    }
+                }
+            }
+        }
+    }
+
+    private static String accuracy(long correct, long answered) {
+        return String.format(Locale.ROOT, "%.3f", answered == 0 ? 0.0 : (double) correct / answered);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+package languageflashcards;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Attempts, misses and answer latency for every card, shared by all sessions.
+ *
+ * Cards are grouped per language and level; each group keeps its counters in
+ * primitive arrays indexed by deck row, so recording an answer is three atomic
+ * adds and never allocates. To keep concurrent sessions from fighting over the
+ * same cache lines, every group has one stripe per CPU, each a full copy of the
+ * counters; a thread always adds into the stripe picked by its id, and readers
+ * sum the stripes. The stripe count is rounded up to a power of two and capped
+ * at {@value #MAX_STRIPES}, since every stripe multiplies the counters' memory.
+ *
+ * Readers work from a {@link Snapshot}: the summed counters of one group, reused
+ * for a while (a second by default) so that drawing a session's questions does
+ * not re-read every stripe each time.
+ *
+ * Counters are keyed by deck row, so each group remembers the deck generation its
+ * rows belong to. Registered as a {@link DeckReloadListener}, the statistics move
+ * every main-deck card's counters to its new row after a reload (matched by
+ * English headword). A handler still on the rows from before the reload gets
+ * counters nobody reads, so its answers never count toward whatever card now has
+ * that row number. Without the listener, a group from an older generation is
+ * started afresh.
+ */
+public class CardStatistics implements DeckReloadListener {
+
+    private static final long DEFAULT_SNAPSHOT_MAX_AGE_MILLIS = 1_000;
+    private static final int MAX_STRIPES = 16;
+    private static final int STRIPES = stripeCount(Runtime.getRuntime().availableProcessors());
+    private static final int FIELDS = 3; // attempts, misses, latency in microseconds
+    private static final int INITIAL_ROWS = 64;
+
+    private final ConcurrentHashMap<String, Cards> groups = new ConcurrentHashMap<>();
+    private final long snapshotMaxAgeMillis;
+
+    public CardStatistics() {
+        this(DEFAULT_SNAPSHOT_MAX_AGE_MILLIS);
+    }
+
+    /** @param snapshotMaxAgeMillis how long a snapshot is reused; 0 takes a fresh one every time */
+    public CardStatistics(long snapshotMaxAgeMillis) {
+        this.snapshotMaxAgeMillis = snapshotMaxAgeMillis;
+    }
+
+    /** {@code cpus} rounded up to a power of two, at most MAX_STRIPES. */
+    private static int stripeCount(int cpus) {
+        int wanted = Math.min(Math.max(1, cpus), MAX_STRIPES);
+        return wanted == 1 ? 1 : Integer.highestOneBit(wanted - 1) << 1;
+    }
+
+    /**
+     * The counters for {@code languageCode} at {@code level}, created on first use.
+     * Callers on the hot path should look this up once and keep it.
+     */
+    public Cards cards(String languageCode, int level) {
+        return cards(languageCode, level, 0);
+    }
+
+    /**
+     * Same as {@link #cards(String, int)} for rows of deck generation
+     * {@code generation}; 0 skips the generation check.
+     */
+    public Cards cards(String languageCode, int level, long generation) {
+        String key = languageCode + '#' + level;
+        Cards cards = groups.computeIfAbsent(key, k -> new Cards(snapshotMaxAgeMillis, generation));
+        if (generation == 0 || cards.generation == generation) {
+            return cards;
+        }
+        if (cards.generation > generation) {
+            return new Cards(snapshotMaxAgeMillis, generation);
+        }
+        return groups.compute(key, (k, old) -> old == null || old.generation < generation
+                ? new Cards(snapshotMaxAgeMillis, generation) : old);
+    }
+
+    /** Levels 2 and 3 count phrase rows, the others vocabulary rows. Topic decks never reload. */
+    @Override
+    public void onReload(long generation, RowMoves vocab, RowMoves phrases) {
+        groups.replaceAll((key, cards) -> {
+            int hash = key.lastIndexOf('#');
+            if (key.lastIndexOf('/', hash) >= 0) {
+                return cards;
+            }
+            int level = Integer.parseInt(key.substring(hash + 1));
+            return cards.remapped(level == 2 || level == 3 ? phrases : vocab, generation);
+        });
+    }
+
+    /** Counters of one language and level, by deck row. */
+    public static final class Cards {
+
+        private final long snapshotMaxAgeMillis;
+        private final long generation;
+        private volatile AtomicLongArray[] stripes;
+        private volatile Snapshot snapshot;
+
+        Cards(long snapshotMaxAgeMillis, long generation) {
+            this(snapshotMaxAgeMillis, generation, INITIAL_ROWS);
+        }
+
+        private Cards(long snapshotMaxAgeMillis, long generation, int rows) {
+            this.snapshotMaxAgeMillis = snapshotMaxAgeMillis;
+            this.generation = generation;
+            stripes = newStripes(Math.max(INITIAL_ROWS, rows) * FIELDS);
+        }
+
+        /**
+         * A copy for generation {@code generation}, with every card's counters summed
+         * into its new row. Cards that are gone are dropped.
+         */
+        Cards remapped(RowMoves moves, long generation) {
+            Cards copy = new Cards(snapshotMaxAgeMillis, generation, moves.getNewCount());
+            AtomicLongArray into = copy.stripes[0];
+            for (AtomicLongArray stripe : stripes) {
+                for (int row = 0; row < stripe.length() / FIELDS; row++) {
+                    int moved = moves.newRow(row);
+                    if (moved < 0 || stripe.get(row * FIELDS) == 0) {
+                        continue;
+                    }
+                    for (int field = 0; field < FIELDS; field++) {
+                        into.getAndAdd(moved * FIELDS + field, stripe.get(row * FIELDS + field));
+                    }
+                }
+            }
+            return copy;
+        }
+
+        /** Counts one graded answer for deck row {@code row}. */
+        public void record(int row, boolean correct, long latencyNanos) {
+            AtomicLongArray[] current = stripes;
+            int slot = row * FIELDS;
+            if (slot >= current[0].length()) {
+                current = grow(row);
+                slot = row * FIELDS;
+            }
+            AtomicLongArray stripe = current[stripeOf(Thread.currentThread())];
+            stripe.getAndIncrement(slot);
+            if (!correct) {
+                stripe.getAndIncrement(slot + 1);
+            }
+            stripe.getAndAdd(slot + 2, Math.max(0, latencyNanos / 1_000));
+        }
+
+        /** Summed counters, no older than the statistics' snapshot age. */
+        public Snapshot snapshot() {
+            Snapshot last = snapshot;
+            long now = System.currentTimeMillis();
+            if (last != null && now - last.takenAtMillis < snapshotMaxAgeMillis) {
+                return last;
+            }
+            Snapshot fresh = new Snapshot(stripes, now);
+            snapshot = fresh;
+            return fresh;
+        }
+
+        /**
+         * Makes room for {@code row}. An answer recorded into the old arrays while
+         * they are being copied can be lost, which only happens when the deck grows.
+         */
+        private synchronized AtomicLongArray[] grow(int row) {
+            AtomicLongArray[] current = stripes;
+            int needed = (row + 1) * FIELDS;
+            if (needed <= current[0].length()) {
+                return current;
+            }
+            AtomicLongArray[] grown = newStripes(Math.max(needed, current[0].length() * 2));
+            for (int s = 0; s < STRIPES; s++) {
+                for (int i = 0; i < current[s].length(); i++) {
+                    grown[s].set(i, current[s].get(i));
+                }
+            }
+            stripes = grown;
+            return grown;
+        }
+
+        private static AtomicLongArray[] newStripes(int length) {
+            AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+            for (int s = 0; s < STRIPES; s++) {
+                stripes[s] = new AtomicLongArray(length);
+            }
+            return stripes;
+        }
+
+        private static int stripeOf(Thread thread) {
+            long id = thread.getId();
+            int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+            return (h >>> 16) & (STRIPES - 1);
+        }
+    }
+
+    /**
+     * One group's counters at a point in time, plus how hard each card looks.
+     *
+     * A card's difficulty is its miss rate, smoothed so that an unseen card
+     * starts at one half and a single answer does not swing it to 0 or 1, scaled
+     * by how slowly it is answered compared with the group's other cards (between
+     * half and twice as hard). Every card keeps a small floor weight so that known
+     * cards still come up now and then.
+     */
+    public static final class Snapshot {
+
+        private static final double MIN_WEIGHT = 0.05;
+
+        private final long takenAtMillis;
+        private final long[] attempts;
+        private final long[] misses;
+        private final long[] latencyMicros;
+        private final double meanLatencyMicros;
+        private double[] weights = new double[0];
+
+        Snapshot(AtomicLongArray[] stripes, long takenAtMillis) {
+            this.takenAtMillis = takenAtMillis;
+            int rows = stripes[0].length() / FIELDS;
+            attempts = new long[rows];
+            misses = new long[rows];
+            latencyMicros = new long[rows];
+            long totalAttempts = 0;
+            long totalLatency = 0;
+            for (AtomicLongArray stripe : stripes) {
+                for (int row = 0; row < rows; row++) {
+                    int slot = row * FIELDS;
+                    long rowAttempts = stripe.get(slot);
+                    if (rowAttempts == 0) {
+                        continue;
+                    }
+                    attempts[row] += rowAttempts;
+                    misses[row] += stripe.get(slot + 1);
+                    latencyMicros[row] += stripe.get(slot + 2);
+                    totalAttempts += rowAttempts;
+                    totalLatency += stripe.get(slot + 2);
+                }
+            }
+            meanLatencyMicros = totalAttempts == 0 ? 0 : (double) totalLatency / totalAttempts;
+        }
+
+        public long getAttempts(int row) {
+            return row < attempts.length ? attempts[row] : 0;
+        }
+
+        public long getMisses(int row) {
+            return row < misses.length ? misses[row] : 0;
+        }
+
+        /** Mean time to answer {@code row}, or 0 if it was never answered. */
+        public double getMeanLatencyMillis(int row) {
+            long n = getAttempts(row);
+            return n == 0 ? 0 : latencyMicros[row] / 1_000.0 / n;
+        }
+
+        /** How hard {@code row} looks, in (0, 2]; see the class comment. */
+        public double getDifficulty(int row) {
+            long n = getAttempts(row);
+            double missRate = (getMisses(row) + 1.0) / (n + 2.0);
+            if (n == 0 || meanLatencyMicros <= 0) {
+                return Math.max(MIN_WEIGHT, missRate);
+            }
+            double slowness = latencyMicros[row] / (double) n / meanLatencyMicros;
+            return Math.max(MIN_WEIGHT, missRate * Math.min(2.0, Math.max(0.5, slowness)));
+        }
+
+        /**
+         * Difficulty of rows [0, rows), for {@link SessionSampler#sampleWeighted}.
+         * The array is shared by every caller of this snapshot and must not be changed.
+         */
+        public synchronized double[] weights(int rows) {
+            if (weights.length != rows) {
+                double[] computed = new double[rows];
+                for (int row = 0; row < rows; row++) {
+                    computed[row] = getDifficulty(row);
+                }
+                weights = computed;
+            }
+            return weights;
+        }
+    }
+}
\ No newline at end of file
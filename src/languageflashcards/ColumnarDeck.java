@@ -0,0 +1,303 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column-oriented storage for one CSV deck (vocabulary or phrases).
+ *
+ * Instead of one String[] per row, every column keeps its distinct cells packed
+ * as UTF-8 in a single byte array. An offset array marks where each distinct cell
+ * starts, and a per-row reference array points each row at its cell. Repeated
+ * cells (e.g. "Bonjour") are therefore stored once per column, and Strings are
+ * only decoded when a cell is actually read.
+ *
+ * The arrays are held as buffers so that a deck can also sit directly on top of a
+ * memory-mapped {@link DeckSnapshot} file without copying it onto the heap.
+ */
+public class ColumnarDeck {
+
+    private final String[] header;
+    private final int rowCount;
+    private final Column[] columns;
+
+    private ColumnarDeck(String[] header, int rowCount, Column[] columns) {
+        this.header = header;
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    /** Returns the header row's cells, one per column. The array is a copy. */
+    public String[] getHeader() {
+        return header.clone();
+    }
+
+    /** Returns how many rows (excluding the header) the deck holds. */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /** Returns how many columns each row has. */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Decodes the cell at the given column and row.
+     *
+     * @throws IndexOutOfBoundsException if the row or column is out of range
+     */
+    public String get(int column, int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row index out of range: " + row);
+        }
+        if (column < 0 || column >= columns.length) {
+            throw new IndexOutOfBoundsException("Column index out of range: " + column);
+        }
+        return columns[column].decode(columns[column].rowRefs.get(row));
+    }
+
+    /** Decodes a whole row. The returned array is a fresh copy. */
+    public String[] getRow(int row) {
+        String[] cells = new String[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            cells[c] = get(c, row);
+        }
+        return cells;
+    }
+
+    /** Returns how many distinct cells the given column stores. */
+    public int getDistinctCellCount(int column) {
+        return columns[column].offsets.limit() - 1;
+    }
+
+    /** Returns the distinct-cell id that {@code row} uses in {@code column}. */
+    int cellId(int column, int row) {
+        return columns[column].rowRefs.get(row);
+    }
+
+    /** Decodes a distinct cell by id, see {@link #cellId}. */
+    String decodeCell(int column, int cellId) {
+        return columns[column].decode(cellId);
+    }
+
+    /**
+     * Rough retained-heap estimate for this deck, assuming 16-byte array headers.
+     * Used to compare against the old one-String[]-per-row layout. For a mapped
+     * deck this is the size of the mapped region rather than heap.
+     */
+    public long estimateFootprintBytes() {
+        long total = 16 + 16L + 4L * columns.length;
+        for (Column column : columns) {
+            total += 16 + 16 + column.data.capacity();
+            total += 16 + 4L * column.offsets.capacity();
+            total += 16 + 4L * column.rowRefs.capacity();
+        }
+        return total;
+    }
+
+    /**
+     * Like {@link #estimateFootprintBytes()}, but counts only what is on the heap: for
+     * a deck mapped from a snapshot the column contents are not.
+     */
+    public long estimateHeapBytes() {
+        long total = 16 + 16L + 4L * columns.length;
+        for (Column column : columns) {
+            total += 16 + 3 * 16;
+            total += Footprint.onHeap(column.data, 1);
+            total += Footprint.onHeap(column.offsets, 4);
+            total += Footprint.onHeap(column.rowRefs, 4);
+        }
+        return total;
+    }
+
+    // ---------------- Binary form ----------------
+
+    /**
+     * Writes the header names (length + UTF-8, padded to 4 bytes), then every column
+     * as: data length, distinct cell count, the UTF-8 data padded to 4 bytes, the
+     * offsets and the row references, all big-endian.
+     */
+    void writeColumns(WritableByteChannel out) throws IOException {
+        for (String name : header) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer segment = ByteBuffer.allocate(4 + align4(bytes.length));
+            segment.putInt(bytes.length).put(bytes).rewind();
+            while (segment.hasRemaining()) {
+                out.write(segment);
+            }
+        }
+        for (Column column : columns) {
+            int dataLength = column.data.limit();
+            int cells = column.offsets.limit() - 1;
+            ByteBuffer segment = ByteBuffer.allocate(
+                    8 + align4(dataLength) + 4 * (cells + 1) + 4 * column.rowRefs.limit());
+            segment.putInt(dataLength).putInt(cells);
+            segment.put(column.data.duplicate());
+            segment.position(8 + align4(dataLength));
+            segment.asIntBuffer().put(column.offsets.duplicate()).put(column.rowRefs.duplicate());
+            segment.rewind();
+            while (segment.hasRemaining()) {
+                out.write(segment);
+            }
+        }
+    }
+
+    /**
+     * Builds a deck that reads straight from {@code payload}, which must hold what
+     * {@link #writeColumns} wrote. Nothing is copied.
+     */
+    static ColumnarDeck readColumns(ByteBuffer payload, int rowCount, int columnCount) {
+        ByteBuffer in = payload.duplicate();
+        String[] header = new String[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            in.position(in.position() + align4(bytes.length) - bytes.length);
+            header[c] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        Column[] columns = new Column[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            int dataLength = in.getInt();
+            int cells = in.getInt();
+            ByteBuffer data = slice(in, dataLength);
+            in.position(in.position() + align4(dataLength) - dataLength);
+            IntBuffer offsets = slice(in, 4 * (cells + 1)).asIntBuffer();
+            IntBuffer rowRefs = slice(in, 4 * rowCount).asIntBuffer();
+            columns[c] = new Column(data, offsets, rowRefs);
+        }
+        return new ColumnarDeck(header, rowCount, columns);
+    }
+
+    private static ByteBuffer slice(ByteBuffer in, int length) {
+        ByteBuffer view = in.duplicate();
+        view.limit(view.position() + length);
+        in.position(in.position() + length);
+        return view.slice();
+    }
+
+    private static int align4(int n) {
+        return (n + 3) & ~3;
+    }
+
+    // ---------------- Storage ----------------
+
+    private static class Column {
+        final ByteBuffer data;
+        final IntBuffer offsets;   // distinct cell i spans data[offsets[i] .. offsets[i + 1])
+        final IntBuffer rowRefs;   // row -> distinct cell id
+
+        Column(ByteBuffer data, IntBuffer offsets, IntBuffer rowRefs) {
+            this.data = data;
+            this.offsets = offsets;
+            this.rowRefs = rowRefs;
+        }
+
+        String decode(int cell) {
+            int start = offsets.get(cell);
+            int length = offsets.get(cell + 1) - start;
+            if (data.hasArray()) {
+                return new String(data.array(), data.arrayOffset() + start, length, StandardCharsets.UTF_8);
+            }
+            byte[] bytes = new byte[length];
+            data.get(start, bytes); // absolute bulk get: no shared position to race on
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Accumulates rows and packs them into a {@link ColumnarDeck}.
+     * The deduplication maps only live as long as the builder.
+     */
+    public static class Builder {
+
+        private final String[] header;
+        private final int columnCount;
+        private final ColumnBuilder[] columns;
+        private int rowCount;
+
+        /** Starts a deck with one column per header cell. */
+        public Builder(String[] header) {
+            this.header = header.clone();
+            this.columnCount = header.length;
+            this.columns = new ColumnBuilder[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                columns[c] = new ColumnBuilder();
+            }
+        }
+
+        /**
+         * Appends a row. Missing cells are stored as empty strings and extra cells are ignored.
+         */
+        public Builder addRow(String[] cells) {
+            for (int c = 0; c < columnCount; c++) {
+                String cell = c < cells.length && cells[c] != null ? cells[c] : "";
+                columns[c].add(cell, rowCount);
+            }
+            rowCount++;
+            return this;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public ColumnarDeck build() {
+            Column[] built = new Column[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                built[c] = columns[c].build(rowCount);
+            }
+            return new ColumnarDeck(header, rowCount, built);
+        }
+    }
+
+    private static class ColumnBuilder {
+
+        private final Map<String, Integer> cellIds = new HashMap<>();
+        private byte[] data = new byte[256];
+        private int dataLength;
+        private int[] offsets = new int[16];
+        private int cellCount;
+        private int[] rowRefs = new int[16];
+
+        void add(String cell, int row) {
+            Integer id = cellIds.get(cell);
+            if (id == null) {
+                id = cellCount;
+                cellIds.put(cell, id);
+                append(cell.getBytes(StandardCharsets.UTF_8));
+            }
+            if (row == rowRefs.length) {
+                rowRefs = Arrays.copyOf(rowRefs, row * 2);
+            }
+            rowRefs[row] = id;
+        }
+
+        private void append(byte[] bytes) {
+            if (dataLength + bytes.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + bytes.length));
+            }
+            System.arraycopy(bytes, 0, data, dataLength, bytes.length);
+            if (cellCount + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[cellCount] = dataLength;
+            dataLength += bytes.length;
+            cellCount++;
+            offsets[cellCount] = dataLength;
+        }
+
+        Column build(int rowCount) {
+            return new Column(
+                    ByteBuffer.wrap(Arrays.copyOf(data, dataLength)),
+                    IntBuffer.wrap(Arrays.copyOf(offsets, cellCount + 1)),
+                    IntBuffer.wrap(Arrays.copyOf(rowRefs, rowCount)));
+        }
+    }
+}
\ No newline at end of file
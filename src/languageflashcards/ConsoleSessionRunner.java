@@ -0,0 +1,39 @@
+package languageflashcards;
+
+import java.io.PrintStream;
+import java.util.Scanner;
+
+/**
+ * Plays a {@link QuizSession} on the terminal: prints the prompts, reads one line
+ * per answer and prints the feedback.
+ */
+public class ConsoleSessionRunner {
+
+    private final Scanner scanner;
+    private final PrintStream out;
+
+    public ConsoleSessionRunner(Scanner scanner, PrintStream out) {
+        this.scanner = scanner;
+        this.out = out;
+    }
+
+    public SessionSummary run(QuizSession session) {
+        print(session.getIntro());
+        Prompt prompt;
+        while ((prompt = session.nextPrompt()) != null) {
+            out.print(prompt.getText());
+            out.flush();
+            Verdict verdict = session.submit(scanner.nextLine());
+            print(verdict.getFeedback());
+        }
+        SessionSummary summary = session.getSummary();
+        print(summary.getLines());
+        return summary;
+    }
+
+    private void print(Iterable<String> lines) {
+        for (String line : lines) {
+            out.println(line);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,360 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Memory-mapped, parallel RFC 4180 CSV reader that produces a {@link ColumnarDeck}.
+ *
+ * The file is cut into chunks that end on a record boundary. Finding those
+ * boundaries only needs the quote parity at each cut, so quotes are counted per
+ * range in parallel first, then each range looks for its first newline that is not
+ * inside a quoted field. The chunks are then parsed in parallel on a fork-join pool
+ * and appended to the deck in file order.
+ *
+ * Like the original line reader, every cell is trimmed and the first record is the
+ * header. The header decides the deck's width: each row is padded with empty cells
+ * or truncated to as many columns as the header has.
+ */
+public class CsvIngestor {
+
+    /** Files smaller than this are parsed as a single chunk. */
+    private static final long MIN_PARALLEL_SIZE = 1L << 20;
+    /** Upper bound for one mapped chunk. */
+    private static final long MAX_CHUNK_SIZE = 64L << 20;
+
+    private final ForkJoinPool pool;
+
+    public CsvIngestor() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CsvIngestor(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Reads the CSV at {@code path}. The first record becomes the deck's header.
+     *
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalStateException if the file is empty
+     */
+    public ColumnarDeck load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = startsWithBom(channel, size) ? 3 : 0;
+            if (size <= start) {
+                throw new IllegalStateException("CSV file empty: " + path);
+            }
+
+            BoundarySearch headerEnd = new BoundarySearch(channel, start, size, false);
+            headerEnd.compute();
+            ByteBuffer headerBytes = map(channel, start, headerEnd.boundary);
+            List<String[]> headerRows = new ArrayList<>(1);
+            parse(headerBytes, countFields(headerBytes), headerRows);
+            String[] header = headerRows.get(0);
+
+            long[] bounds = findChunkBounds(channel, headerEnd.boundary, size);
+            ChunkTask[] tasks = new ChunkTask[bounds.length - 1];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new ChunkTask(channel, bounds[i], bounds[i + 1], header.length);
+            }
+            pool.invoke(new ParseAll(tasks));
+
+            ColumnarDeck.Builder builder = new ColumnarDeck.Builder(header);
+            for (ChunkTask task : tasks) {
+                for (String[] row : task.rows) {
+                    builder.addRow(row);
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    /** Counts the fields of the first record: unquoted commas plus one. */
+    private static int countFields(ByteBuffer record) {
+        int fields = 1;
+        boolean inQuotes = false;
+        for (int i = 0, n = record.limit(); i < n; i++) {
+            byte b = record.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == ',' && !inQuotes) {
+                fields++;
+            }
+        }
+        return fields;
+    }
+
+    // ---------------- Chunking ----------------
+
+    private long[] findChunkBounds(FileChannel channel, long start, long size) {
+        if (start >= size) {
+            return new long[]{size, size};
+        }
+        if (size - start < MIN_PARALLEL_SIZE) {
+            return new long[]{start, size};
+        }
+
+        int ranges = (int) Math.max(pool.getParallelism() * 2L, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        long step = (size - start + ranges - 1) / ranges;
+        long[] rawStarts = new long[ranges];
+        for (int i = 0; i < ranges; i++) {
+            rawStarts[i] = Math.min(size, start + i * step);
+        }
+
+        // Phase 1: quote parity of every raw range, in parallel.
+        QuoteCount[] counts = new QuoteCount[ranges];
+        for (int i = 0; i < ranges; i++) {
+            long end = i + 1 < ranges ? rawStarts[i + 1] : size;
+            counts[i] = new QuoteCount(channel, rawStarts[i], end);
+        }
+        pool.invoke(new ParseAll(counts));
+
+        // Phase 2: from each cut, skip to the first newline outside quotes.
+        BoundarySearch[] searches = new BoundarySearch[ranges - 1];
+        boolean inQuotes = counts[0].odd;
+        for (int i = 1; i < ranges; i++) {
+            searches[i - 1] = new BoundarySearch(channel, rawStarts[i], size, inQuotes);
+            inQuotes ^= counts[i].odd;
+        }
+        pool.invoke(new ParseAll(searches));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(start);
+        for (BoundarySearch search : searches) {
+            long boundary = search.boundary;
+            if (boundary > bounds.get(bounds.size() - 1) && boundary < size) {
+                bounds.add(boundary);
+            }
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static boolean startsWithBom(FileChannel channel, long size) throws IOException {
+        if (size < 3) {
+            return false;
+        }
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3);
+        return (head.get(0) & 0xFF) == 0xEF && (head.get(1) & 0xFF) == 0xBB && (head.get(2) & 0xFF) == 0xBF;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map CSV region " + from + ".." + to, e);
+        }
+    }
+
+    // The tasks below are RecursiveActions, and so Serializable, but are never serialized.
+
+    /** Runs a batch of subtasks on the pool and waits for all of them. */
+    @SuppressWarnings("serial")
+    private static class ParseAll extends RecursiveAction {
+        private final RecursiveAction[] tasks;
+
+        ParseAll(RecursiveAction[] tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class QuoteCount extends RecursiveAction {
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        boolean odd;
+
+        QuoteCount(FileChannel channel, long from, long to) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to <= from) {
+                return;
+            }
+            MappedByteBuffer buffer = map(channel, from, to);
+            int quotes = 0;
+            for (int i = 0, n = buffer.limit(); i < n; i++) {
+                if (buffer.get(i) == '"') {
+                    quotes++;
+                }
+            }
+            odd = (quotes & 1) == 1;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class BoundarySearch extends RecursiveAction {
+        private final FileChannel channel;
+        private final long from;
+        private final long size;
+        private final boolean startsInQuotes;
+        long boundary;
+
+        BoundarySearch(FileChannel channel, long from, long size, boolean startsInQuotes) {
+            this.channel = channel;
+            this.from = from;
+            this.size = size;
+            this.startsInQuotes = startsInQuotes;
+        }
+
+        @Override
+        protected void compute() {
+            boolean inQuotes = startsInQuotes;
+            long windowStart = from;
+            while (windowStart < size) {
+                long windowEnd = Math.min(size, windowStart + (1 << 16));
+                MappedByteBuffer buffer = map(channel, windowStart, windowEnd);
+                for (int i = 0, n = buffer.limit(); i < n; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                    } else if (b == '\n' && !inQuotes) {
+                        boundary = windowStart + i + 1;
+                        return;
+                    }
+                }
+                windowStart = windowEnd;
+            }
+            boundary = size;
+        }
+    }
+
+    // ---------------- Parsing ----------------
+
+    @SuppressWarnings("serial")
+    private static class ChunkTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        private final int columnCount;
+        final List<String[]> rows = new ArrayList<>();
+
+        ChunkTask(FileChannel channel, long from, long to, int columnCount) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        protected void compute() {
+            if (to > from) {
+                parse(map(channel, from, to), columnCount, rows);
+            }
+        }
+    }
+
+    /**
+     * Parses every record in {@code buffer} into rows of exactly {@code columnCount}
+     * cells. A record ends at an unquoted LF (an optional preceding CR is dropped);
+     * a missing final newline still ends the last record.
+     */
+    static void parse(ByteBuffer buffer, int columnCount, List<String[]> rows) {
+        int n = buffer.limit();
+        byte[] scratch = new byte[256];
+        String[] row = new String[columnCount];
+        int column = 0;
+        int pos = 0;
+
+        while (pos < n) {
+            // skip leading blanks so that '  "quoted"' is still recognised as quoted
+            int fieldStart = pos;
+            while (pos < n && (buffer.get(pos) == ' ' || buffer.get(pos) == '\t')) {
+                pos++;
+            }
+
+            String value;
+            if (pos < n && buffer.get(pos) == '"') {
+                pos++;
+                int length = 0;
+                while (pos < n) {
+                    byte b = buffer.get(pos);
+                    if (b == '"') {
+                        if (pos + 1 < n && buffer.get(pos + 1) == '"') {
+                            b = '"';
+                            pos++;
+                        } else {
+                            pos++;
+                            break;
+                        }
+                    }
+                    if (length == scratch.length) {
+                        scratch = Arrays.copyOf(scratch, length * 2);
+                    }
+                    scratch[length++] = b;
+                    pos++;
+                }
+                value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                // anything between the closing quote and the delimiter is ignored
+                while (pos < n && buffer.get(pos) != ',' && buffer.get(pos) != '\n') {
+                    pos++;
+                }
+            } else {
+                pos = fieldStart;
+                int length = 0;
+                while (pos < n) {
+                    byte b = buffer.get(pos);
+                    if (b == ',' || b == '\n') {
+                        break;
+                    }
+                    if (length == scratch.length) {
+                        scratch = Arrays.copyOf(scratch, length * 2);
+                    }
+                    scratch[length++] = b;
+                    pos++;
+                }
+                value = new String(scratch, 0, length, StandardCharsets.UTF_8).trim();
+            }
+
+            if (column < columnCount) {
+                row[column] = value;
+            }
+            column++;
+
+            if (pos >= n || buffer.get(pos) == '\n') {
+                for (int c = column; c < columnCount; c++) {
+                    row[c] = "";
+                }
+                rows.add(row);
+                row = new String[columnCount];
+                column = 0;
+            }
+            pos++; // step over ',' or '\n'
+        }
+
+        // a trailing comma at end of input leaves one more (empty) field pending
+        if (column > 0) {
+            for (int c = column; c < columnCount; c++) {
+                row[c] = "";
+            }
+            rows.add(row);
+        }
+    }
+}
\ No newline at end of file
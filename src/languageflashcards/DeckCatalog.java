@@ -0,0 +1,217 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topic decks (travel, food, business, ...) found under the data folder, loaded on
+ * first use and kept in a size-bounded LRU cache.
+ *
+ * Every subfolder of {@code data/} that holds a {@code vocab.csv} or a
+ * {@code phrases.csv} is a deck named after the folder. Discovery only lists the
+ * folders; a deck's CSVs are read the first time {@link #get} asks for it.
+ *
+ * Loaded decks are weighed by {@link DefaultLanguageManager#estimateHeapBytes()}:
+ * their indexes and whatever deck columns are not mapped from a snapshot. When
+ * their total goes over the budget, the least recently used decks are dropped
+ * until it fits again; the deck just loaded always stays, even if it alone is
+ * over budget. Sessions that already hold a dropped deck keep using it, and the
+ * next {@link #get} loads it again.
+ *
+ * Lookups take a short lock; loading happens outside it, so a slow load does not
+ * hold up hits on other decks. Two threads missing the same deck at once may
+ * both load it, and the first one to finish is kept.
+ */
+public class DeckCatalog {
+
+    private static final Metrics.Timer LOAD_TIMER = Metrics.timer("catalog_load");
+    private static final Metrics.Counter HITS = Metrics.counter("catalog_lookups", "result", "hit");
+    private static final Metrics.Counter MISSES = Metrics.counter("catalog_lookups", "result", "miss");
+    private static final Metrics.Counter EVICTIONS = Metrics.counter("catalog_evictions");
+
+    private final Path dataDir;
+    private final long budgetBytes;
+    private volatile List<String> deckNames = Collections.emptyList();
+
+    // guarded by this
+    private final LinkedHashMap<String, Entry> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    private long loadedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+
+    /**
+     * @param budgetBytes how much deck storage may stay loaded at once
+     */
+    public DeckCatalog(Path dataDir, long budgetBytes) {
+        this.dataDir = dataDir;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /** Lists the deck folders again and returns the deck names, sorted. */
+    public List<String> refresh() throws IOException {
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(dataDir, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                String name = dir.getFileName().toString();
+                if (!name.startsWith(".") && (Files.isRegularFile(dir.resolve(DefaultLanguageManager.VOCAB_CSV))
+                        || Files.isRegularFile(dir.resolve(DefaultLanguageManager.PHRASES_CSV)))) {
+                    names.add(name);
+                }
+            }
+        }
+        Collections.sort(names);
+        deckNames = Collections.unmodifiableList(names);
+        return deckNames;
+    }
+
+    /** Deck names as of the last {@link #refresh()}. */
+    public List<String> getDeckNames() {
+        return deckNames;
+    }
+
+    /**
+     * Returns the deck {@code name}, loading it if it is not cached.
+     *
+     * @throws IllegalArgumentException if there is no such deck
+     * @throws RuntimeException if its CSVs cannot be loaded
+     */
+    public DefaultLanguageManager get(String name) {
+        synchronized (this) {
+            Entry entry = loaded.get(name);
+            if (entry != null) {
+                hits++;
+                HITS.increment();
+                return entry.manager;
+            }
+        }
+        if (!deckNames.contains(name)) {
+            throw new IllegalArgumentException("Unknown deck: " + name);
+        }
+
+        long metricsStart = Metrics.start();
+        long start = System.nanoTime();
+        DefaultLanguageManager manager = new DefaultLanguageManager(dataDir.resolve(name));
+        loadLatency.record(System.nanoTime() - start);
+        Metrics.stop(LOAD_TIMER, metricsStart);
+
+        synchronized (this) {
+            misses++;
+            MISSES.increment();
+            Entry raced = loaded.get(name);
+            if (raced != null) {
+                return raced.manager;
+            }
+            Entry entry = new Entry(manager);
+            loaded.put(name, entry);
+            loadedBytes += entry.bytes;
+            evictOver(name);
+        }
+        return manager;
+    }
+
+    private void evictOver(String keep) {
+        Iterator<Map.Entry<String, Entry>> eldest = loaded.entrySet().iterator();
+        while (loadedBytes > budgetBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = eldest.next();
+            if (candidate.getKey().equals(keep)) {
+                continue;
+            }
+            loadedBytes -= candidate.getValue().bytes;
+            eldest.remove();
+            evictions++;
+            EVICTIONS.increment();
+        }
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, loaded.size(), loadedBytes, budgetBytes,
+                loadLatency.getValueAtQuantile(0.5), loadLatency.getValueAtQuantile(0.99));
+    }
+
+    private static final class Entry {
+        final DefaultLanguageManager manager;
+        final long bytes;
+
+        Entry(DefaultLanguageManager manager) {
+            this.manager = manager;
+            this.bytes = manager.estimateHeapBytes();
+        }
+    }
+
+    /** Cache counters at one point in time. */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int loadedDecks;
+        private final long loadedBytes;
+        private final long budgetBytes;
+        private final long loadP50Nanos;
+        private final long loadP99Nanos;
+
+        Stats(long hits, long misses, long evictions, int loadedDecks, long loadedBytes, long budgetBytes,
+              long loadP50Nanos, long loadP99Nanos) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.loadedDecks = loadedDecks;
+            this.loadedBytes = loadedBytes;
+            this.budgetBytes = budgetBytes;
+            this.loadP50Nanos = loadP50Nanos;
+            this.loadP99Nanos = loadP99Nanos;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /** Share of lookups served from the cache, 0 when there were none. */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        public int getLoadedDecks() {
+            return loadedDecks;
+        }
+
+        public long getLoadedBytes() {
+            return loadedBytes;
+        }
+
+        public long getLoadP50Nanos() {
+            return loadP50Nanos;
+        }
+
+        public long getLoadP99Nanos() {
+            return loadP99Nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d hit rate=%.1f%% evictions=%d loaded=%d decks (%d of %d KB)"
+                            + " load p50=%.1f ms p99=%.1f ms",
+                    hits, misses, 100 * getHitRate(), evictions, loadedDecks, loadedBytes >> 10, budgetBytes >> 10,
+                    loadP50Nanos / 1e6, loadP99Nanos / 1e6);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,767 @@
+package languageflashcards;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams external word lists into a deck CSV, merging them with what the deck
+ * already has.
+ *
+ * Inputs are TSV with a header row, or JSON Lines with one flat object per word,
+ * either of them optionally gzip-compressed. Columns and keys are matched to the
+ * deck's languages the way a deck header is read ("spanish", "German (de)" or
+ * just "es"); the English column is the headword. Input columns the deck does not
+ * have are skipped and reported.
+ *
+ * Rows are deduplicated by English headword, compared trimmed and case-folded,
+ * and their translations merged column by column: an empty cell takes the other
+ * side's value, and a different translation is added as a "/" alternative, which
+ * Level 1 accepts (phrase decks keep their first translation instead). Existing
+ * rows keep their position, because progress and review state refer to rows by
+ * number; new headwords are appended after them.
+ *
+ * Memory stays bounded whatever the input size. Headwords the deck already has
+ * are found in a compact table of 64-bit fingerprints over the existing rows.
+ * Every other row goes straight to one of several spill files, chosen by the
+ * headword's hash, so duplicates always land in the same file; each file is then
+ * deduplicated on its own, with the same kind of table, and written out before
+ * the next is read. The merged deck is written to a temporary file of its own next
+ * to the target and moved over it in one step, so a watching quiz reloads it whole;
+ * if the merge fails, the temporary file is removed and the deck is left as it was.
+ */
+public class DeckImporter {
+
+    private static final int MAX_PARTITIONS = 1024;
+    /** Heap needed per input byte once a row is held as strings. */
+    private static final int HEAP_PER_INPUT_BYTE = 4;
+    /** Gzip inputs are assumed to expand this much. */
+    private static final int GZIP_RATIO = 5;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final long memoryBudgetBytes;
+
+    /** Imports with a quarter of the heap as the budget for one spill file. */
+    public DeckImporter() {
+        this(Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    /** @param memoryBudgetBytes heap one spill file may take while it is being merged */
+    public DeckImporter(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = Math.max(1, memoryBudgetBytes);
+    }
+
+    /** What an import did. */
+    public static class Result {
+        private long rowsRead;
+        private long rowsAdded;
+        private long mergedIntoExisting;
+        private long duplicatesMerged;
+        private long rowsSkipped;
+        private int partitions;
+        private long nanos;
+        private final TreeSet<String> unknownColumns = new TreeSet<>();
+
+        /** Input rows read, skipped ones included. */
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        /** New headwords appended to the deck. */
+        public long getRowsAdded() {
+            return rowsAdded;
+        }
+
+        /** Input rows whose headword the deck already had. */
+        public long getMergedIntoExisting() {
+            return mergedIntoExisting;
+        }
+
+        /** Input rows whose headword appeared earlier in the input. */
+        public long getDuplicatesMerged() {
+            return duplicatesMerged;
+        }
+
+        /** Input rows without a headword, or that could not be parsed. */
+        public long getRowsSkipped() {
+            return rowsSkipped;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        /** Input columns or keys that match no language of the deck. */
+        public List<String> getUnknownColumns() {
+            return new ArrayList<>(unknownColumns);
+        }
+
+        public double getRowsPerSecond() {
+            return nanos == 0 ? 0 : rowsRead / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d rows read in %.2f s (%,.0f rows/s): %,d added, %,d merged into existing rows, "
+                            + "%,d duplicates merged, %,d skipped, %d spill file(s)%s",
+                    rowsRead, nanos / 1e9, getRowsPerSecond(), rowsAdded, mergedIntoExisting, duplicatesMerged,
+                    rowsSkipped, partitions,
+                    unknownColumns.isEmpty() ? "" : "; unknown columns ignored: " + String.join(", ", unknownColumns));
+        }
+    }
+
+    /**
+     * Merges {@code inputs} into the deck at {@code deckCsv}, creating it if it does
+     * not exist yet; a new deck takes its header from the first input.
+     *
+     * @throws IllegalArgumentException if an input has no English column
+     */
+    public Result importInto(Path deckCsv, List<Path> inputs) throws IOException {
+        long start = System.nanoTime();
+        long metricsStart = Metrics.start();
+        Result result = new Result();
+        boolean alternatives = !deckCsv.getFileName().toString().equals(DefaultLanguageManager.PHRASES_CSV);
+
+        ColumnarDeck existing = Files.exists(deckCsv) ? new CsvIngestor().load(deckCsv) : null;
+        Columns columns = existing == null ? null : new Columns(existing.getHeader());
+        String[][] existingMerged = existing == null ? new String[0][] : new String[existing.getRowCount()][];
+        HeadwordTable existingRows = new HeadwordTable(existingMerged.length);
+        for (int row = 0; row < existingMerged.length; row++) {
+            String headword = existing.get(0, row);
+            if (!headword.isEmpty() && existingRows.find(headword, existing::getRow) < 0) {
+                existingRows.add(headword, row);
+            }
+        }
+
+        Path dir = deckCsv.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path spillDir = Files.createTempDirectory(dir, ".import-");
+        result.partitions = partitionsFor(inputs);
+        DataOutputStream[] spills = new DataOutputStream[result.partitions];
+        try {
+            for (Path input : inputs) {
+                try (RowReader reader = open(input, columns, result)) {
+                    columns = reader.columns;
+                    String[] row;
+                    while ((row = reader.next()) != null) {
+                        result.rowsRead++;
+                        if (row.length == 0 || row[0].isEmpty()) {
+                            result.rowsSkipped++;
+                            continue;
+                        }
+                        int found = existingRows.find(row[0], r -> merged(existing, existingMerged, r));
+                        if (found >= 0) {
+                            existingMerged[found] = mergeRows(merged(existing, existingMerged, found), row, alternatives);
+                            result.mergedIntoExisting++;
+                        } else {
+                            // high bits pick the file; the tables index by the low bits
+                            int partition = (int) Long.remainderUnsigned(fingerprint(row[0]) >>> 32, spills.length);
+                            if (spills[partition] == null) {
+                                spills[partition] = new DataOutputStream(new BufferedOutputStream(
+                                        Files.newOutputStream(spillDir.resolve(partition + ".spill")), BUFFER_SIZE));
+                            }
+                            writeRow(spills[partition], row);
+                        }
+                    }
+                }
+            }
+            for (DataOutputStream spill : spills) {
+                if (spill != null) {
+                    spill.close();
+                }
+            }
+            if (columns == null) {
+                throw new IllegalArgumentException("Nothing to import into " + deckCsv);
+            }
+
+            Path temp = Files.createTempFile(dir, "." + deckCsv.getFileName(), ".importing");
+            try {
+                try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    writeCsvRow(out, columns.header);
+                    for (int row = 0; row < existingMerged.length; row++) {
+                        writeCsvRow(out, merged(existing, existingMerged, row));
+                    }
+                    for (int partition = 0; partition < spills.length; partition++) {
+                        if (spills[partition] != null) {
+                            mergePartition(spillDir.resolve(partition + ".spill"), alternatives, out, result);
+                        }
+                    }
+                }
+                Files.move(temp, deckCsv, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            for (DataOutputStream spill : spills) {
+                if (spill != null) {
+                    try {
+                        spill.close();
+                    } catch (IOException ignored) {
+                        // the spill directory is removed below
+                    }
+                }
+            }
+            deleteRecursively(spillDir);
+        }
+
+        result.nanos = System.nanoTime() - start;
+        if (metricsStart != 0L) {
+            Metrics.stop(Metrics.timer("deck_import", "file", deckCsv.getFileName().toString()), metricsStart);
+            Metrics.counter("deck_import_rows").add(result.rowsRead);
+        }
+        return result;
+    }
+
+    /** Enough spill files that each one's rows fit in the memory budget. */
+    private int partitionsFor(List<Path> inputs) throws IOException {
+        long bytes = 0;
+        for (Path input : inputs) {
+            long size = Files.size(input);
+            bytes += isGzip(input) ? size * GZIP_RATIO : size;
+        }
+        long partitions = (bytes * HEAP_PER_INPUT_BYTE + memoryBudgetBytes - 1) / memoryBudgetBytes;
+        return (int) Math.max(1, Math.min(MAX_PARTITIONS, partitions));
+    }
+
+    /** Reads one spill file, folds duplicate headwords together and writes the rows in input order. */
+    private static void mergePartition(Path spill, boolean alternatives, Writer out, Result result)
+            throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        HeadwordTable seen = new HeadwordTable(1024);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spill), BUFFER_SIZE))) {
+            String[] row;
+            while ((row = readRow(in)) != null) {
+                int found = seen.find(row[0], rows::get);
+                if (found >= 0) {
+                    rows.set(found, mergeRows(rows.get(found), row, alternatives));
+                    result.duplicatesMerged++;
+                } else {
+                    seen.add(row[0], rows.size());
+                    rows.add(row);
+                }
+            }
+        }
+        for (String[] row : rows) {
+            writeCsvRow(out, row);
+        }
+        result.rowsAdded += rows.size();
+        Files.delete(spill);
+    }
+
+    private static String[] merged(ColumnarDeck existing, String[][] existingMerged, int row) {
+        String[] merged = existingMerged[row];
+        return merged != null ? merged : existing.getRow(row);
+    }
+
+    // ---------------- Merging ----------------
+
+    /**
+     * {@code into} with every cell of {@code from} merged in; {@code into} is not
+     * changed. Without {@code alternatives} (phrase decks, whose cells are graded
+     * whole) a cell that already has a translation keeps it.
+     */
+    static String[] mergeRows(String[] into, String[] from, boolean alternatives) {
+        String[] merged = into.length >= from.length ? into.clone() : Arrays.copyOf(into, from.length);
+        for (int column = 1; column < from.length; column++) {
+            String cell = merged[column] == null ? "" : merged[column];
+            merged[column] = alternatives || cell.isEmpty() ? mergeCell(cell, from[column]) : cell;
+        }
+        return merged;
+    }
+
+    /** Adds the alternatives of {@code incoming} that {@code cell} does not have yet. */
+    static String mergeCell(String cell, String incoming) {
+        if (incoming == null || incoming.isEmpty()) {
+            return cell;
+        }
+        if (cell.isEmpty()) {
+            return incoming;
+        }
+        StringBuilder merged = null;
+        int from = 0;
+        while (from <= incoming.length()) {
+            int slash = incoming.indexOf('/', from);
+            int to = slash < 0 ? incoming.length() : slash;
+            int start = from;
+            int end = to;
+            while (start < end && incoming.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && incoming.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start < end && !hasAlternative(cell, incoming, start, end)) {
+                if (merged == null) {
+                    merged = new StringBuilder(cell);
+                }
+                merged.append(" / ").append(incoming, start, end);
+            }
+            from = to + 1;
+        }
+        return merged == null ? cell : merged.toString();
+    }
+
+    private static boolean hasAlternative(String cell, String text, int from, int to) {
+        int start = 0;
+        while (start <= cell.length()) {
+            int slash = cell.indexOf('/', start);
+            int end = slash < 0 ? cell.length() : slash;
+            if (TextNormalizer.regionEquals(cell, start, end, text, from, to, TextNormalizer.Mode.CASE)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    // ---------------- Headwords ----------------
+
+    /** 64-bit FNV-1a over the trimmed, case-folded headword. */
+    static long fingerprint(String headword) {
+        long h = 0xcbf29ce484222325L;
+        int end = headword.length();
+        while (end > 0 && headword.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int i = 0;
+        while (i < end && headword.charAt(i) <= ' ') {
+            i++;
+        }
+        for (; i < end; i++) {
+            h = (h ^ TextNormalizer.fold(headword.charAt(i))) * 0x100000001b3L;
+        }
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Open-addressing map from headword fingerprint to row number. The rows hold
+     * the headwords, so a fingerprint hit is confirmed against the row itself.
+     */
+    private static final class HeadwordTable {
+        private long[] fingerprints;
+        private int[] rows;
+        private int size;
+
+        HeadwordTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            fingerprints = new long[capacity];
+            rows = new int[capacity];
+            Arrays.fill(rows, -1);
+        }
+
+        /** Row whose headword equals {@code headword}, or -1. */
+        int find(String headword, IntFunction<String[]> rowOf) {
+            long fingerprint = fingerprint(headword);
+            int mask = rows.length - 1;
+            for (int slot = (int) fingerprint & mask; rows[slot] >= 0; slot = (slot + 1) & mask) {
+                if (fingerprints[slot] == fingerprint
+                        && TextNormalizer.equals(rowOf.apply(rows[slot])[0], headword, TextNormalizer.Mode.CASE)) {
+                    return rows[slot];
+                }
+            }
+            return -1;
+        }
+
+        void add(String headword, int row) {
+            if ((size + 1) * 2 > rows.length) {
+                grow();
+            }
+            insert(fingerprint(headword), row);
+            size++;
+        }
+
+        private void insert(long fingerprint, int row) {
+            int mask = rows.length - 1;
+            int slot = (int) fingerprint & mask;
+            while (rows[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            fingerprints[slot] = fingerprint;
+            rows[slot] = row;
+        }
+
+        private void grow() {
+            long[] oldFingerprints = fingerprints;
+            int[] oldRows = rows;
+            fingerprints = new long[oldRows.length * 2];
+            rows = new int[oldRows.length * 2];
+            Arrays.fill(rows, -1);
+            for (int slot = 0; slot < oldRows.length; slot++) {
+                if (oldRows[slot] >= 0) {
+                    insert(oldFingerprints[slot], oldRows[slot]);
+                }
+            }
+        }
+    }
+
+    // ---------------- Spill files ----------------
+
+    private static void writeRow(DataOutputStream out, String[] row) throws IOException {
+        out.writeShort(row.length);
+        for (String cell : row) {
+            byte[] bytes = (cell == null ? "" : cell).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String[] readRow(DataInputStream in) throws IOException {
+        int cells;
+        try {
+            cells = in.readUnsignedShort();
+        } catch (EOFException e) {
+            return null;
+        }
+        String[] row = new String[cells];
+        for (int i = 0; i < cells; i++) {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            row[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return row;
+    }
+
+    // ---------------- Output ----------------
+
+    private static void writeCsvRow(Writer out, String[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String cell = row[i] == null ? "" : row[i];
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(cell.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(cell);
+            }
+        }
+        out.write('\n');
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    // ---------------- Inputs ----------------
+
+    /** The target deck's header and how input names map onto its columns. */
+    private static final class Columns {
+        final String[] header;
+        final LanguageRegistry registry;
+        final Map<String, Integer> byName = new HashMap<>();
+
+        Columns(String[] header) {
+            this.header = header;
+            this.registry = new LanguageRegistry(header);
+        }
+
+        /** Deck column for an input column or key, or -1. */
+        int columnOf(String name) {
+            Integer column = byName.get(name);
+            if (column == null) {
+                column = registry.columnOf(LanguageRegistry.codeOf(name));
+                byName.put(name, column);
+            }
+            return column;
+        }
+    }
+
+    private static boolean isGzip(Path input) throws IOException {
+        try (InputStream in = Files.newInputStream(input)) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+
+    private static RowReader open(Path input, Columns columns, Result result) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(input), BUFFER_SIZE);
+        if (isGzip(input)) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        String name = input.getFileName().toString().toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        boolean json = name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json");
+        return json ? new JsonLinesReader(lines, columns, result) : new TsvReader(lines, columns, result);
+    }
+
+    /** Input rows, already laid out in the deck's column order. */
+    private abstract static class RowReader implements AutoCloseable {
+        final BufferedReader lines;
+        final Result result;
+        Columns columns;
+
+        RowReader(BufferedReader lines, Columns columns, Result result) {
+            this.lines = lines;
+            this.columns = columns;
+            this.result = result;
+        }
+
+        /** The next row, an empty array for a row that cannot be used, or null at the end. */
+        abstract String[] next() throws IOException;
+
+        int columnOf(String name) {
+            int column = columns.columnOf(name);
+            if (column < 0) {
+                result.unknownColumns.add(name);
+            }
+            return column;
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    /** Tab-separated values; the first line names the columns. */
+    private static final class TsvReader extends RowReader {
+        private final int[] targets;
+
+        TsvReader(BufferedReader lines, Columns columns, Result result) throws IOException {
+            super(lines, columns, result);
+            String headerLine = lines.readLine();
+            if (headerLine == null) {
+                targets = new int[0];
+                return;
+            }
+            String[] names = headerLine.replace("\uFEFF", "").split("\t", -1);
+            for (int i = 0; i < names.length; i++) {
+                names[i] = names[i].trim();
+            }
+            if (this.columns == null) {
+                this.columns = new Columns(withEnglishFirst(names));
+            }
+            targets = new int[names.length];
+            boolean hasHeadword = false;
+            for (int i = 0; i < names.length; i++) {
+                targets[i] = columnOf(names[i]);
+                hasHeadword |= targets[i] == 0;
+            }
+            if (!hasHeadword) {
+                throw new IllegalArgumentException("Import file has no English column: " + headerLine);
+            }
+        }
+
+        @Override
+        String[] next() throws IOException {
+            String line = lines.readLine();
+            if (line == null) {
+                return null;
+            }
+            String[] row = new String[columns.header.length];
+            Arrays.fill(row, "");
+            int field = 0;
+            int from = 0;
+            while (from <= line.length() && field < targets.length) {
+                int tab = line.indexOf('\t', from);
+                int to = tab < 0 ? line.length() : tab;
+                if (targets[field] >= 0) {
+                    row[targets[field]] = line.substring(from, to).trim();
+                }
+                field++;
+                from = to + 1;
+            }
+            return row;
+        }
+    }
+
+    /** One flat JSON object per line, keys naming the columns; non-string values are ignored. */
+    private static final class JsonLinesReader extends RowReader {
+
+        JsonLinesReader(BufferedReader lines, Columns columns, Result result) {
+            super(lines, columns, result);
+        }
+
+        @Override
+        String[] next() throws IOException {
+            String line;
+            do {
+                line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            List<String> keys = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            try {
+                JsonObject object = new JsonObject(line.replace("\uFEFF", ""));
+                while (object.next()) {
+                    keys.add(object.key);
+                    values.add(object.value);
+                }
+            } catch (IllegalArgumentException e) {
+                return new String[0];
+            }
+            if (columns == null) {
+                columns = new Columns(withEnglishFirst(keys.toArray(new String[0])));
+            }
+            String[] row = new String[columns.header.length];
+            Arrays.fill(row, "");
+            for (int i = 0; i < keys.size(); i++) {
+                int column = columnOf(keys.get(i));
+                if (column >= 0 && values.get(i) != null) {
+                    row[column] = values.get(i).trim();
+                }
+            }
+            return row;
+        }
+    }
+
+    /** A new deck's header: the input's names, with the English one moved to the front. */
+    private static String[] withEnglishFirst(String[] names) {
+        List<String> header = new ArrayList<>();
+        for (String name : names) {
+            if (LanguageRegistry.codeOf(name).equals(LanguageRegistry.SOURCE_CODE)) {
+                header.add(0, name);
+            } else if (!name.isEmpty()) {
+                header.add(name);
+            }
+        }
+        if (header.isEmpty() || !LanguageRegistry.codeOf(header.get(0)).equals(LanguageRegistry.SOURCE_CODE)) {
+            throw new IllegalArgumentException("Import file has no English column: " + String.join(", ", names));
+        }
+        return header.toArray(new String[0]);
+    }
+
+    /** Reads the members of one flat JSON object; nested values are skipped. */
+    private static final class JsonObject {
+        private final String text;
+        private int pos;
+        String key;
+        String value;
+
+        JsonObject(String text) {
+            this.text = text;
+            skipSpace();
+            expect('{');
+        }
+
+        /** Moves to the next member; false after the closing brace. */
+        boolean next() {
+            skipSpace();
+            if (peek() == '}') {
+                return false;
+            }
+            if (key != null) {
+                expect(',');
+                skipSpace();
+            }
+            key = readString();
+            skipSpace();
+            expect(':');
+            skipSpace();
+            value = peek() == '"' ? readString() : skipValue();
+            return true;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (true) {
+                char c = take();
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                char escaped = take();
+                switch (escaped) {
+                    case 'n': out.append('\n'); break;
+                    case 't': out.append('\t'); break;
+                    case 'r': out.append('\r'); break;
+                    case 'b': out.append('\b'); break;
+                    case 'f': out.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("Bad \\u escape");
+                        }
+                        out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: out.append(escaped);
+                }
+            }
+        }
+
+        /** Skips a number, literal, array or object; returns null. */
+        private String skipValue() {
+            int depth = 0;
+            while (true) {
+                char c = peek();
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                if (depth == 0 && (c == ',' || c == '}')) {
+                    return null;
+                }
+                if (c == '[' || c == '{') {
+                    depth++;
+                } else if (c == ']' || c == '}') {
+                    depth--;
+                }
+                pos++;
+            }
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON line");
+            }
+            return text.charAt(pos);
+        }
+
+        private char take() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char c) {
+            if (take() != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + (pos - 1));
+            }
+        }
+    }
+}
\ No newline at end of file
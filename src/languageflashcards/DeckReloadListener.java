@@ -0,0 +1,15 @@
+package languageflashcards;
+
+/**
+ * Told after every successful {@link DefaultLanguageManager#reload()}, so state kept
+ * per deck row can follow its cards to their new rows.
+ */
+public interface DeckReloadListener {
+
+    /**
+     * @param generation the generation now being served
+     * @param vocab      how the vocabulary rows moved
+     * @param phrases    how the phrase rows moved
+     */
+    void onReload(long generation, RowMoves vocab, RowMoves phrases);
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Precompiled binary form of a {@link ColumnarDeck}, stored next to the CSV it came from.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   0  int   magic "LLFD"
+ *   4  int   format version
+ *   8  long  CSV last-modified time (ms)
+ *  16  long  CSV size in bytes
+ *  24  long  CRC32C of the CSV contents
+ *  32  int   row count
+ *  36  int   column count
+ *  40  long  payload length
+ *  48  long  CRC32C of the payload
+ *  56  ...   payload: the header names, then per column the string table of
+ *            distinct UTF-8 cells, their offsets and the row references
+ *            (see ColumnarDeck#writeColumns)
+ * </pre>
+ *
+ * A snapshot is trusted when the CSV's size and mtime still match, or when they
+ * differ but the CSV's hash does not (e.g. the file was only touched); the stored
+ * mtime is then brought up to date so later starts skip the hash again. Anything
+ * else, including a payload checksum mismatch, falls back to parsing the CSV and
+ * rewriting the snapshot.
+ *
+ * The CSV's mtime, size and hash are taken before it is parsed. If the file changes
+ * during the parse, the snapshot describes the old file and is rebuilt on the next
+ * start instead of passing off the old rows as the new file's.
+ */
+public class DeckSnapshot {
+
+    private static final int MAGIC = 0x4C4C4644; // "LLFD"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 56;
+    private static final String CACHE_DIR = ".deckcache";
+
+    private DeckSnapshot() {
+    }
+
+    /** Where the snapshot for {@code csv} lives: {@code <csv dir>/.deckcache/<csv name>.deck}. */
+    public static Path defaultLocation(Path csv) {
+        Path dir = csv.toAbsolutePath().getParent();
+        return dir.resolve(CACHE_DIR).resolve(csv.getFileName() + ".deck");
+    }
+
+    /**
+     * Maps the snapshot for {@code csv} if it is still valid, otherwise parses the CSV
+     * with {@code ingestor} and writes a fresh snapshot. Failing to write the
+     * snapshot (e.g. a read-only data folder) is not an error.
+     */
+    public static ColumnarDeck loadOrBuild(Path csv, CsvIngestor ingestor) throws IOException {
+        Path snapshot = defaultLocation(csv);
+        ColumnarDeck deck = tryLoad(snapshot, csv);
+        if (deck != null) {
+            return deck;
+        }
+        Source source = Source.of(csv);
+        deck = ingestor.load(csv);
+        try {
+            write(deck, source, snapshot);
+        } catch (IOException e) {
+            // The snapshot is only a cache; the next start simply parses the CSV again.
+        }
+        return deck;
+    }
+
+    /**
+     * Returns the deck stored in {@code snapshot}, or null if it is missing, stale or corrupt.
+     */
+    static ColumnarDeck tryLoad(Path snapshot, Path csv) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            return null;
+        }
+        long mtime = mapped.getLong(8);
+        long size = mapped.getLong(16);
+        long csvHash = mapped.getLong(24);
+        int rowCount = mapped.getInt(32);
+        int columnCount = mapped.getInt(36);
+        long payloadLength = mapped.getLong(40);
+        long payloadChecksum = mapped.getLong(48);
+
+        if (Files.size(csv) != size) {
+            return null;
+        }
+        long csvMtime = Files.getLastModifiedTime(csv).toMillis();
+        boolean touched = csvMtime != mtime;
+        if (touched && hashFile(csv) != csvHash) {
+            return null;
+        }
+        if (payloadLength != mapped.capacity() - HEADER_SIZE || rowCount < 0 || columnCount <= 0) {
+            return null;
+        }
+
+        ByteBuffer payload = mapped.duplicate();
+        payload.position(HEADER_SIZE);
+        payload = payload.slice();
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if (crc.getValue() != payloadChecksum) {
+            return null;
+        }
+        ColumnarDeck deck;
+        try {
+            deck = ColumnarDeck.readColumns(payload, rowCount, columnCount);
+        } catch (RuntimeException e) {
+            return null; // checksum collided with a structurally broken payload
+        }
+        if (touched) {
+            updateMtime(snapshot, csvMtime);
+        }
+        return deck;
+    }
+
+    /** Rewrites the stored CSV mtime in place; only that header field changes. */
+    private static void updateMtime(Path snapshot, long mtime) {
+        try (FileChannel out = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            ByteBuffer field = ByteBuffer.allocate(Long.BYTES).putLong(0, mtime);
+            while (field.hasRemaining()) {
+                out.write(field, 8 + field.position());
+            }
+        } catch (IOException e) {
+            // read-only cache: the next start hashes the CSV again
+        }
+    }
+
+    /**
+     * Writes {@code deck} as the snapshot of the CSV described by {@code source}. The
+     * file is written under a unique temporary name and then moved into place, so
+     * readers never see half a snapshot and concurrent writers do not share a file.
+     */
+    static void write(ColumnarDeck deck, Source source, Path snapshot) throws IOException {
+        Files.createDirectories(snapshot.getParent());
+        Path tmp = Files.createTempFile(snapshot.getParent(), snapshot.getFileName().toString(), ".tmp");
+        try {
+            writeTo(tmp, deck, source);
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeTo(Path tmp, ColumnarDeck deck, Source source) throws IOException {
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            out.position(HEADER_SIZE);
+            deck.writeColumns(out);
+            long payloadLength = out.position() - HEADER_SIZE;
+
+            CRC32C crc = new CRC32C();
+            crc.update(out.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, payloadLength));
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION)
+                    .putLong(source.mtime)
+                    .putLong(source.size)
+                    .putLong(source.hash)
+                    .putInt(deck.getRowCount())
+                    .putInt(deck.getColumnCount())
+                    .putLong(payloadLength)
+                    .putLong(crc.getValue());
+            header.flip();
+            out.position(0);
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(true);
+        }
+    }
+
+    /** The CSV's mtime, size and hash as they were when it was read. */
+    static final class Source {
+        final long mtime;
+        final long size;
+        final long hash;
+
+        private Source(long mtime, long size, long hash) {
+            this.mtime = mtime;
+            this.size = size;
+            this.hash = hash;
+        }
+
+        static Source of(Path csv) throws IOException {
+            long mtime = Files.getLastModifiedTime(csv).toMillis();
+            long size = Files.size(csv);
+            return new Source(mtime, size, hashFile(csv));
+        }
+    }
+
+    private static long hashFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CRC32C crc = new CRC32C();
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(size - position, Integer.MAX_VALUE);
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                position += length;
+            }
+            return crc.getValue();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package languageflashcards;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads a {@link DefaultLanguageManager} when its CSVs change on disk.
+ *
+ * A daemon thread watches the data folder. Editors and copy tools often write a
+ * file in several steps, so after the first event for {@code vocab.csv} or
+ * {@code phrases.csv} the thread waits until the folder has been quiet for
+ * {@value #QUIET_MILLIS} ms before reloading. The reload runs on this thread;
+ * quizzes keep reading the old decks until the new ones are swapped in.
+ */
+public class DeckWatcher implements Closeable {
+
+    static final long QUIET_MILLIS = 200;
+
+    private final DefaultLanguageManager manager;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private DeckWatcher(DefaultLanguageManager manager) throws IOException {
+        this.manager = manager;
+        Path dir = manager.getDataDirectory();
+        watchService = FileSystems.getDefault().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = new Thread(this::run, "deck-watcher");
+        thread.setDaemon(true);
+    }
+
+    /** Starts watching the data folder of {@code manager}. */
+    public static DeckWatcher start(DefaultLanguageManager manager) throws IOException {
+        DeckWatcher watcher = new DeckWatcher(manager);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                if (!isDeckChange(watchService.take())) {
+                    continue;
+                }
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isDeckChange(key); // drain; one reload covers them all
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void reload() {
+        try {
+            manager.reload();
+            Metrics.counter("deck_reloads").increment();
+        } catch (RuntimeException e) {
+            Metrics.counter("deck_reload_failures").increment();
+            System.err.println("Deck reload failed, keeping generation " + manager.getGeneration() + ": " + e.getMessage());
+        }
+    }
+
+    /** Consumes the key's events and reports whether any of them touched a deck. */
+    private static boolean isDeckChange(WatchKey key) {
+        boolean deckChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                deckChanged = true;
+                continue;
+            }
+            String name = event.context().toString();
+            if (name.equals(DefaultLanguageManager.VOCAB_CSV) || name.equals(DefaultLanguageManager.PHRASES_CSV)) {
+                deckChanged = true;
+            }
+        }
+        key.reset();
+        return deckChanged;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
\ No newline at end of file
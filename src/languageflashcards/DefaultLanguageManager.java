@@ -1,114 +1,259 @@
 package languageflashcards;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Loads the vocabulary and phrase decks from the data folder.
+ *
+ * Everything built from the two CSVs lives in one immutable {@link Decks} value that
+ * is published through a single {@link AtomicReference}. {@link #reload()} builds a
+ * complete new value off to the side and swaps it in, so readers never take a lock
+ * and never see half a reload. Each read dereferences the current value once; a
+ * caller that needs several reads to agree (a quiz session) works on {@link #pin()}.
+ *
+ * The two CSVs load in parallel on background threads. {@link #preload(Path)}
+ * returns before they are done, so startup can get on with other work; the first
+ * read then waits for them.
+ */
 public class DefaultLanguageManager implements LanguageManager {
 
-    private static final String VOCAB_CSV = "data/vocab.csv";
-    private static final String PHRASES_CSV = "data/phrases.csv";
+    static final String VOCAB_CSV = "vocab.csv";
+    static final String PHRASES_CSV = "phrases.csv";
 
-    private final Language[] languages = {
-            new Language("fil", "Filipino"),
-            new Language("es", "Spanish"),
-            new Language("fr", "French"),
-            new Language("jp", "Japanese"),
-            new Language("kr", "Korean")
-    };
-
-    private final List<String[]> vocab = new ArrayList<>();
-    private final List<String[]> phrases = new ArrayList<>();
+    private final Path dataDir;
+    private final AtomicReference<Decks> current;
+    private final CompletableFuture<Decks> loading;
+    private final boolean pinned;
+    private final List<DeckReloadListener> reloadListeners = new CopyOnWriteArrayList<>();
 
     public DefaultLanguageManager() {
-        loadCsv(VOCAB_CSV, vocab);
-        loadCsv(PHRASES_CSV, phrases);
+        this(Paths.get("data"));
     }
 
-    private void loadCsv(String path, List<String[]> target) {
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8))) {
+    /**
+     * Loads {@code vocab.csv} and {@code phrases.csv} from {@code dataDir}. A folder
+     * may have just one of the two (a topic deck, see {@link DeckCatalog}); the other
+     * is then an empty deck with the same columns.
+     */
+    public DefaultLanguageManager(Path dataDir) {
+        this(dataDir, startLoading(dataDir));
+        decks(); // throws here if either file failed to load
+    }
 
-            String line = br.readLine(); // header
-            if (line == null) {
-                throw new RuntimeException("CSV file empty: " + path);
-            }
+    private DefaultLanguageManager(Path dataDir, CompletableFuture<Decks> loading) {
+        this.dataDir = dataDir;
+        this.current = new AtomicReference<>();
+        this.loading = loading;
+        this.pinned = false;
+    }
 
-            // read each subsequent line
-            while ((line = br.readLine()) != null) {
-                // Simple split on comma — CSV content created here avoids embedded commas.
-                String[] cells = line.split(",", -1);
-
-                // Expect exactly 6 columns: english,filipino,spanish,french,japanese,korean
-                if (cells.length < 6) {
-                    // If some lines accidentally have fewer cells, pad them with empty strings.
-                    String[] padded = new String[6];
-                    for (int i = 0; i < 6; i++) {
-                        padded[i] = i < cells.length ? cells[i].trim() : "";
-                    }
-                    target.add(padded);
-                } else {
-                    // Trim whitespace for each cell
-                    for (int i = 0; i < cells.length; i++) {
-                        cells[i] = cells[i].trim();
-                    }
-                    // Only take first 6 columns if there are extras
-                    if (cells.length > 6) {
-                        String[] firstSix = new String[6];
-                        System.arraycopy(cells, 0, firstSix, 0, 6);
-                        target.add(firstSix);
-                    } else {
-                        target.add(cells);
-                    }
-                }
-            }
+    private DefaultLanguageManager(Path dataDir, Decks decks) {
+        this.dataDir = dataDir;
+        this.current = new AtomicReference<>(decks);
+        this.loading = CompletableFuture.completedFuture(decks);
+        this.pinned = true;
+    }
+
+    /**
+     * Like {@link #DefaultLanguageManager(Path)}, but returns while the CSVs are still
+     * loading. Reads wait until they are in; if loading failed, every read throws the
+     * load error. {@link #loaded()} tells when that point is reached.
+     */
+    public static DefaultLanguageManager preload(Path dataDir) {
+        return new DefaultLanguageManager(dataDir, startLoading(dataDir));
+    }
+
+    /** Completes once the decks are loaded, or exceptionally with the load error. */
+    public CompletableFuture<?> loaded() {
+        return loading;
+    }
+
+    /** Waits for the decks to be loaded and throws the load error if that failed. */
+    public DefaultLanguageManager awaitLoaded() {
+        decks();
+        return this;
+    }
+
+    private static CompletableFuture<Decks> startLoading(Path dataDir) {
+        long start = Metrics.start();
+        CompletableFuture<Decks> loading = loadAsync(dataDir, 1);
+        loading.thenRun(() -> Metrics.stop(Metrics.timer("manager_init"), start));
+        return loading;
+    }
+
+    /** The current decks; waits for the initial load if it is still running. */
+    private Decks decks() {
+        Decks decks = current.get();
+        if (decks == null) {
+            current.compareAndSet(null, await(loading));
+            decks = current.get();
+        }
+        return decks;
+    }
+
+    private static Decks load(Path dataDir, long generation) {
+        return await(loadAsync(dataDir, generation));
+    }
+
+    /** Reads the two CSVs on two threads; the indexes are built once both are in. */
+    private static CompletableFuture<Decks> loadAsync(Path dataDir, long generation) {
+        Path vocabCsv = dataDir.resolve(VOCAB_CSV);
+        Path phrasesCsv = dataDir.resolve(PHRASES_CSV);
+        if (!Files.exists(vocabCsv) && Files.exists(phrasesCsv)) {
+            return loadCsvAsync(phrasesCsv).thenApply(phrases ->
+                    new Decks(new ColumnarDeck.Builder(phrases.getHeader()).build(), phrases, generation));
+        }
+        CompletableFuture<ColumnarDeck> vocab = loadCsvAsync(vocabCsv);
+        if (!Files.exists(phrasesCsv)) {
+            return vocab.thenApply(deck -> new Decks(deck, new ColumnarDeck.Builder(deck.getHeader()).build(), generation));
+        }
+        return vocab.thenCombine(loadCsvAsync(phrasesCsv), (deck, phrases) -> new Decks(deck, phrases, generation));
+    }
+
+    private static CompletableFuture<ColumnarDeck> loadCsvAsync(Path path) {
+        return CompletableFuture.supplyAsync(() -> loadCsv(path), task -> {
+            // daemon, so quitting before the decks are in does not wait for them
+            Thread thread = new Thread(task, "deck-loader");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /** Joins {@code loading}, rethrowing a load error as itself rather than wrapped. */
+    private static Decks await(CompletableFuture<Decks> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
 
+    private static ColumnarDeck loadCsv(Path path) {
+        long start = Metrics.start();
+        try {
+            // The header row names the columns: english first, then one column per language.
+            // Short rows are padded with empty strings, extra columns are dropped.
+            // A binary snapshot under data/.deckcache skips the parse on later starts.
+            ColumnarDeck deck = DeckSnapshot.loadOrBuild(path, new CsvIngestor());
+            Metrics.stop(Metrics.timer("deck_load", "file", path.toString()), start);
+            return deck;
         } catch (Exception e) {
 
             throw new RuntimeException("Failed to load CSV '" + path + "'. Make sure the file exists and is UTF-8 encoded. Error: " + e.getMessage(), e);
         }
     }
 
+    // ---------------- Reloading ----------------
+
+    /**
+     * Re-reads both CSVs and publishes them as the new current decks. Callers that
+     * already hold a {@link #pin() pinned} view keep the decks they started with.
+     * Reloads are serialized with each other but never block readers. If either
+     * file fails to load, the current decks stay in place and the error is thrown.
+     * After the swap, the {@link DeckReloadListener}s are told where every row went.
+     *
+     * @return the generation now being served
+     * @throws IllegalStateException on a pinned view
+     */
+    public synchronized long reload() {
+        if (pinned) {
+            throw new IllegalStateException("A pinned view cannot be reloaded");
+        }
+        long start = Metrics.start();
+        Decks previous = decks();
+        Decks next = load(dataDir, previous.generation + 1);
+        current.set(next);
+        if (!reloadListeners.isEmpty()) {
+            RowMoves vocab = RowMoves.between(previous.vocab, next.vocab);
+            RowMoves phrases = RowMoves.between(previous.phrases, next.phrases);
+            for (DeckReloadListener listener : reloadListeners) {
+                listener.onReload(next.generation, vocab, phrases);
+            }
+        }
+        Metrics.stop(Metrics.timer("deck_reload"), start);
+        return next.generation;
+    }
+
+    /**
+     * {@code listener} is told about every reload from now on. State kept per deck
+     * row ({@link CardStatistics}, {@link ReviewScheduler}) registers here to stay
+     * with its cards when rows move.
+     */
+    public void addReloadListener(DeckReloadListener listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Returns a view fixed to the decks being served right now. Later reloads do
+     * not affect it, so row numbers, counts and answers stay consistent for as long
+     * as the view is used.
+     */
+    public DefaultLanguageManager pin() {
+        return pinned ? this : new DefaultLanguageManager(dataDir, decks());
+    }
+
+    /** Starts at 1 and goes up by one with every successful {@link #reload()}. */
+    public long getGeneration() {
+        return decks().generation;
+    }
+
+    public Path getDataDirectory() {
+        return dataDir;
+    }
+
     @Override
     public Language[] getAvailableLanguages() {
-        return languages;
+        return decks().languages;
     }
 
     @Override
     public String getWord(String languageCode, int index) {
-        if (index < 0 || index >= vocab.size()) {
-            throw new IndexOutOfBoundsException("Vocabulary index out of range: " + index);
-        }
-        String[] row = vocab.get(index);
-        switch (languageCode) {
-            case "fil":
-                return row[1];
-            case "es":
-                return row[2];
-            case "fr":
-                return row[3];
-            case "jp":
-                return row[4];
-            case "kr":
-                return row[5];
-            default:
-                throw new IllegalArgumentException("Unsupported language code: " + languageCode);
+        Decks decks = decks();
+        int column = decks.registry.columnOf(languageCode);
+        if (column <= 0) {
+            throw new IllegalArgumentException("Unsupported language code: " + languageCode);
         }
+        return decks.word(column, index);
+    }
+
+    @Override
+    public String getWord(int column, int index) {
+        return decks().word(column, index);
     }
 
     @Override
     public int getWordCount() {
-        return vocab.size();
+        return decks().vocab.getRowCount();
     }
 
     public String getEnglishWord(int index) {
-        if (index < 0 || index >= vocab.size()) {
-            throw new IndexOutOfBoundsException("Vocabulary index out of range: " + index);
-        }
-        return vocab.get(index)[0];
+        return decks().word(0, index);
+    }
+
+    @Override
+    public int[] findWord(int column, String text) {
+        return decks().wordIndex.find(column, text);
+    }
+
+    @Override
+    public List<String> suggestWords(int column, String prefix, int limit) {
+        return decks().wordIndex.complete(column, prefix, limit);
+    }
+
+    /**
+     * Up to {@code count} vocabulary cells of {@code column} that look like the one at
+     * {@code row}, for multiple choice. See {@link DistractorIndex}.
+     */
+    public String[] getDistractors(int column, int row, int count) {
+        Decks decks = decks();
+        return decks.distractors.distractors(column, decks.checkWordIndex(row), count);
     }
 
     // ---------------- Phrase APIs ----------------
@@ -117,50 +262,180 @@ public class DefaultLanguageManager implements LanguageManager {
      * Returns how many phrases are available.
      */
     public int getPhraseCount() {
-        return phrases.size();
+        return decks().phrases.getRowCount();
     }
 
     public String getPhrase(String languageCode, int index) {
-        if (index < 0 || index >= phrases.size()) {
-            throw new IndexOutOfBoundsException("Phrase index out of range: " + index);
-        }
-        String[] row = phrases.get(index);
-        switch (languageCode) {
-            case "fil":
-                return row[1];
-            case "es":
-                return row[2];
-            case "fr":
-                return row[3];
-            case "jp":
-                return row[4];
-            case "kr":
-                return row[5];
-            case "en":
-                return row[0];
-            default:
-                throw new IllegalArgumentException("Unsupported language code: " + languageCode);
+        Decks decks = decks();
+        int column = decks.phraseRegistry.columnOf(languageCode);
+        if (column < 0) {
+            throw new IllegalArgumentException("Unsupported language code: " + languageCode);
         }
+        return decks.phraseAt(column, index);
+    }
+
+    /**
+     * Index-based phrase lookup. {@code column} is a vocabulary column ordinal
+     * ({@link Language#getColumn()}); it is mapped to the phrase deck's own column.
+     */
+    public String getPhrase(int column, int index) {
+        Decks decks = decks();
+        return decks.phraseAt(decks.phraseColumn(column), index);
+    }
+
+    /** Reverse phrase lookup, see {@link #findWord}. {@code column} is a vocabulary column ordinal. */
+    public int[] findPhrase(int column, String text) {
+        Decks decks = decks();
+        return decks.phraseIndex.find(decks.phraseColumn(column), text);
+    }
+
+    /** Phrase autocomplete, see {@link #suggestWords}. {@code column} is a vocabulary column ordinal. */
+    public List<String> suggestPhrases(int column, String prefix, int limit) {
+        Decks decks = decks();
+        return decks.phraseIndex.complete(decks.phraseColumn(column), prefix, limit);
+    }
+
+    // ---------------- Answer checks ----------------
+
+    /**
+     * Level 1 rule: the answer matches one of the "/"-separated alternatives, ignoring case.
+     */
+    public boolean isCorrectWord(int column, int index, String answer) {
+        Decks decks = decks();
+        return decks.wordAnswers.matches(column, decks.checkWordIndex(index), answer);
+    }
+
+    /**
+     * Level 2 rule: the answer matches the whole phrase, ignoring case.
+     */
+    public boolean isCorrectPhrase(int column, int index, String answer) {
+        Decks decks = decks();
+        return decks.phraseAnswers.matches(decks.phraseColumn(column), decks.checkPhraseIndex(index), answer);
+    }
+
+    /**
+     * Level 3 rule: the answer matches the phrase once punctuation, spacing and case are ignored.
+     */
+    public boolean isCorrectSentence(int column, int index, String answer) {
+        Decks decks = decks();
+        return decks.sentenceAnswers.matches(decks.phraseColumn(column), decks.checkPhraseIndex(index), answer);
     }
 
     public String getEnglishPhrase(int index) {
-        if (index < 0 || index >= phrases.size()) {
-            throw new IndexOutOfBoundsException("Phrase index out of range: " + index);
-        }
-        return phrases.get(index)[0];
+        return decks().phraseAt(0, index);
     }
 
     public String[] getVocabRow(int index) {
-        if (index < 0 || index >= vocab.size()) {
-            throw new IndexOutOfBoundsException("Vocabulary index out of range: " + index);
-        }
-        return vocab.get(index).clone();
+        Decks decks = decks();
+        return decks.vocab.getRow(decks.checkWordIndex(index));
     }
 
     public String[] getPhraseRow(int index) {
-        if (index < 0 || index >= phrases.size()) {
-            throw new IndexOutOfBoundsException("Phrase index out of range: " + index);
+        Decks decks = decks();
+        return decks.phrases.getRow(decks.checkPhraseIndex(index));
+    }
+
+    /**
+     * Exposes the columnar vocabulary store, e.g. for footprint reporting.
+     */
+    public ColumnarDeck getVocabDeck() {
+        return decks().vocab;
+    }
+
+    /**
+     * Exposes the columnar phrase store, e.g. for footprint reporting.
+     */
+    public ColumnarDeck getPhraseDeck() {
+        return decks().phrases;
+    }
+
+    /**
+     * Rough heap retained by the current decks: the columns that are not mapped from
+     * a snapshot, plus the answer, lookup and distractor indexes built from them.
+     */
+    public long estimateHeapBytes() {
+        Decks decks = decks();
+        return decks.vocab.estimateHeapBytes() + decks.phrases.estimateHeapBytes()
+                + decks.wordAnswers.estimateFootprintBytes() + decks.phraseAnswers.estimateFootprintBytes()
+                + decks.sentenceAnswers.estimateFootprintBytes()
+                + decks.wordIndex.estimateFootprintBytes() + decks.phraseIndex.estimateFootprintBytes()
+                + decks.distractors.estimateFootprintBytes();
+    }
+
+    /** One load of both CSVs and everything derived from them. Never modified after construction. */
+    private static final class Decks {
+        final long generation;
+        final ColumnarDeck vocab;
+        final ColumnarDeck phrases;
+
+        // Languages come from the vocab header; phrases may order their columns differently.
+        final LanguageRegistry registry;
+        final LanguageRegistry phraseRegistry;
+        final Language[] languages;
+        final int[] phraseColumns; // vocab column -> phrase column, -1 if missing
+
+        // Answer keys, precomputed once per load so grading never re-splits or re-normalizes.
+        final AnswerIndex wordAnswers;
+        final AnswerIndex phraseAnswers;
+        final AnswerIndex sentenceAnswers;
+
+        // Reverse lookup and autocomplete over every column, English included.
+        final TextIndex wordIndex;
+        final TextIndex phraseIndex;
+
+        // Look-alike words per language for the multiple-choice level.
+        final DistractorIndex distractors;
+
+        Decks(ColumnarDeck vocab, ColumnarDeck phrases, long generation) {
+            this.generation = generation;
+            this.vocab = vocab;
+            this.phrases = phrases;
+
+            registry = new LanguageRegistry(vocab.getHeader());
+            phraseRegistry = new LanguageRegistry(phrases.getHeader());
+            languages = registry.getLanguages();
+            phraseColumns = new int[registry.getColumnCount()];
+            phraseColumns[0] = 0;
+            for (Language language : languages) {
+                phraseColumns[language.getColumn()] = phraseRegistry.columnOf(language.getCode());
+            }
+
+            wordAnswers = AnswerIndex.build(vocab, AnswerIndex.Mode.ALTERNATIVES);
+            phraseAnswers = AnswerIndex.build(phrases, AnswerIndex.Mode.WHOLE);
+            sentenceAnswers = AnswerIndex.build(phrases, AnswerIndex.Mode.NORMALIZED);
+            wordIndex = TextIndex.build(vocab);
+            phraseIndex = TextIndex.build(phrases);
+            distractors = DistractorIndex.build(vocab);
+        }
+
+        String word(int column, int index) {
+            return vocab.get(column, checkWordIndex(index));
+        }
+
+        String phraseAt(int phraseColumn, int index) {
+            return phrases.get(phraseColumn, checkPhraseIndex(index));
+        }
+
+        int phraseColumn(int column) {
+            int phraseColumn = column >= 0 && column < phraseColumns.length ? phraseColumns[column] : -1;
+            if (phraseColumn < 0) {
+                throw new IllegalArgumentException("No phrases for language column: " + column);
+            }
+            return phraseColumn;
+        }
+
+        int checkWordIndex(int index) {
+            if (index < 0 || index >= vocab.getRowCount()) {
+                throw new IndexOutOfBoundsException("Vocabulary index out of range: " + index);
+            }
+            return index;
+        }
+
+        int checkPhraseIndex(int index) {
+            if (index < 0 || index >= phrases.getRowCount()) {
+                throw new IndexOutOfBoundsException("Phrase index out of range: " + index);
+            }
+            return index;
         }
-        return phrases.get(index).clone();
     }
 }
\ No newline at end of file
@@ -0,0 +1,264 @@
+package languageflashcards;
+
+import java.util.Arrays;
+
+/**
+ * Look-alike answers for multiple choice, found without comparing against the
+ * whole deck.
+ *
+ * Every distinct cell of a language column gets a MinHash signature over its
+ * case-folded character bigrams ({@value #BANDS} bands of {@value #ROWS_PER_BAND}
+ * hashes). Cells that agree on all hashes of a band share that band's bucket, and
+ * the more buckets two cells share, the more bigrams they tend to have in common.
+ * Each band is stored as a sorted int array of bucket keys with the cells
+ * alongside, so finding a cell's bucket is one binary search.
+ *
+ * A query looks at no more than {@value #MAX_PER_BUCKET} cells per bucket,
+ * ranks them by shared buckets and then by closeness in length, and tops up from
+ * the cells of nearest length when the buckets hold too few. Its cost therefore
+ * does not grow with the deck. Empty cells are never offered.
+ */
+public class DistractorIndex {
+
+    static final int BANDS = 6;
+    static final int ROWS_PER_BAND = 2;
+    static final int MAX_PER_BUCKET = 16;
+    private static final int HASHES = BANDS * ROWS_PER_BAND;
+
+    private final ColumnarDeck deck;
+    private final int[][] cellBuckets;   // column -> cell * BANDS + band -> bucket key
+    private final int[][][] bandKeys;    // column -> band -> sorted bucket keys
+    private final int[][][] bandCells;   // column -> band -> cells, parallel to bandKeys
+    private final long[][] byLength;     // column -> (length << 32 | cell), sorted
+    private final int[][] lengths;       // column -> cell -> length in chars, -1 if empty
+
+    private DistractorIndex(ColumnarDeck deck, int[][] cellBuckets, int[][][] bandKeys, int[][][] bandCells,
+                            long[][] byLength, int[][] lengths) {
+        this.deck = deck;
+        this.cellBuckets = cellBuckets;
+        this.bandKeys = bandKeys;
+        this.bandCells = bandCells;
+        this.byLength = byLength;
+        this.lengths = lengths;
+    }
+
+    /** Rough retained-heap size of the index, not counting the deck. */
+    public long estimateFootprintBytes() {
+        return Footprint.of(cellBuckets) + Footprint.of(bandKeys) + Footprint.of(bandCells)
+                + Footprint.of(byLength) + Footprint.of(lengths);
+    }
+
+    /** Indexes every language column of {@code deck} (column 0, English, is skipped). */
+    public static DistractorIndex build(ColumnarDeck deck) {
+        int columnCount = deck.getColumnCount();
+        int[][] cellBuckets = new int[columnCount][];
+        int[][][] bandKeys = new int[columnCount][][];
+        int[][][] bandCells = new int[columnCount][][];
+        long[][] byLength = new long[columnCount][];
+        int[][] lengths = new int[columnCount][];
+        int[] signature = new int[HASHES];
+        for (int column = 1; column < columnCount; column++) {
+            int cells = deck.getDistinctCellCount(column);
+            int[] buckets = new int[cells * BANDS];
+            int[] length = new int[cells];
+            long[][] entries = new long[BANDS][cells];
+            long[] lengthEntries = new long[cells];
+            int indexed = 0;
+            for (int cell = 0; cell < cells; cell++) {
+                String text = deck.decodeCell(column, cell).trim();
+                if (text.isEmpty()) {
+                    length[cell] = -1;
+                    continue;
+                }
+                length[cell] = text.length();
+                minHash(text, signature);
+                for (int band = 0; band < BANDS; band++) {
+                    int key = bucketKey(signature, band);
+                    buckets[cell * BANDS + band] = key;
+                    entries[band][indexed] = (long) key << 32 | cell;
+                }
+                lengthEntries[indexed] = (long) text.length() << 32 | cell;
+                indexed++;
+            }
+
+            bandKeys[column] = new int[BANDS][];
+            bandCells[column] = new int[BANDS][];
+            for (int band = 0; band < BANDS; band++) {
+                long[] sorted = Arrays.copyOf(entries[band], indexed);
+                Arrays.sort(sorted); // signed keys sort consistently with the int comparison below
+                int[] keys = new int[indexed];
+                int[] members = new int[indexed];
+                for (int i = 0; i < indexed; i++) {
+                    keys[i] = (int) (sorted[i] >> 32);
+                    members[i] = (int) sorted[i];
+                }
+                bandKeys[column][band] = keys;
+                bandCells[column][band] = members;
+            }
+            long[] sortedLengths = Arrays.copyOf(lengthEntries, indexed);
+            Arrays.sort(sortedLengths);
+            cellBuckets[column] = buckets;
+            byLength[column] = sortedLengths;
+            lengths[column] = length;
+        }
+        return new DistractorIndex(deck, cellBuckets, bandKeys, bandCells, byLength, lengths);
+    }
+
+    /**
+     * Returns up to {@code count} distinct cells of {@code column} that look like
+     * the cell at {@code row}, most similar first. The row's own cell is never
+     * included, but another cell that happens to be an accepted answer may be.
+     */
+    public String[] distractors(int column, int row, int count) {
+        int cell = deck.cellId(column, row);
+        int[] found = new int[BANDS * MAX_PER_BUCKET];
+        int[] votes = new int[found.length];
+        int size = 0;
+
+        if (lengths[column][cell] >= 0) {
+            for (int band = 0; band < BANDS; band++) {
+                int[] keys = bandKeys[column][band];
+                int[] members = bandCells[column][band];
+                int key = cellBuckets[column][cell * BANDS + band];
+                int from = lowerBound(keys, key);
+                int to = key == Integer.MAX_VALUE ? keys.length : lowerBound(keys, key + 1);
+                int bucketSize = to - from;
+                int scanned = Math.min(bucketSize, MAX_PER_BUCKET);
+                // start at a cell-dependent offset so big buckets do not always give the same few cells
+                int offset = bucketSize == 0 ? 0 : (int) ((cell * 0x9E3779B9L & 0x7FFFFFFFL) % bucketSize);
+                for (int i = 0; i < scanned; i++) {
+                    int candidate = members[from + (offset + i) % bucketSize];
+                    if (candidate == cell) {
+                        continue;
+                    }
+                    int at = indexOf(found, size, candidate);
+                    if (at < 0) {
+                        found[size] = candidate;
+                        votes[size++] = 1;
+                    } else {
+                        votes[at]++;
+                    }
+                }
+            }
+        }
+
+        int length = Math.max(0, lengths[column][cell]);
+        int[] ranked = rank(found, votes, size, length, lengths[column]);
+        int taken = Math.min(count, ranked.length);
+        String[] out = new String[count];
+        for (int i = 0; i < taken; i++) {
+            out[i] = deck.decodeCell(column, ranked[i]);
+        }
+        if (taken < count) {
+            taken = fillByLength(column, cell, length, ranked, taken, out);
+        }
+        return taken == count ? out : Arrays.copyOf(out, taken);
+    }
+
+    /** Orders candidates by votes, then by length difference, then by cell id. */
+    private static int[] rank(int[] found, int[] votes, int size, int length, int[] lengths) {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            int lengthGap = Math.min(0xFFFF, Math.abs(lengths[found[i]] - length));
+            keys[i] = (long) (BANDS - votes[i]) << 48 | (long) lengthGap << 32 | found[i];
+        }
+        Arrays.sort(keys);
+        int[] ranked = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranked[i] = (int) keys[i];
+        }
+        return ranked;
+    }
+
+    /** Adds the cells of nearest length, alternating shorter and longer. */
+    private int fillByLength(int column, int cell, int length, int[] used, int taken, String[] out) {
+        long[] sorted = byLength[column];
+        int center = lowerBound(sorted, (long) length << 32 | cell);
+        int below = center - 1;
+        int above = center;
+        while (taken < out.length && (below >= 0 || above < sorted.length)) {
+            boolean takeAbove = below < 0 || (above < sorted.length
+                    && (sorted[above] >>> 32) - length <= length - (sorted[below] >>> 32));
+            int candidate = (int) (takeAbove ? sorted[above++] : sorted[below--]);
+            if (candidate != cell && indexOf(used, used.length, candidate) < 0) {
+                out[taken++] = deck.decodeCell(column, candidate);
+            }
+        }
+        return taken;
+    }
+
+    // ---------------- MinHash ----------------
+
+    /** Writes the MinHash signature of {@code text}'s case-folded bigrams, with ^ and $ marking the ends. */
+    static void minHash(String text, int[] signature) {
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        char previous = '^';
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? TextNormalizer.fold(text.charAt(i)) : '$';
+            int bigram = previous << 16 | c;
+            for (int h = 0; h < HASHES; h++) {
+                int value = mix(bigram, h) & 0x7FFFFFFF;
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+            previous = c;
+        }
+    }
+
+    private static int bucketKey(int[] signature, int band) {
+        int key = band;
+        for (int r = 0; r < ROWS_PER_BAND; r++) {
+            key = 31 * key + signature[band * ROWS_PER_BAND + r];
+        }
+        return mix(key, HASHES);
+    }
+
+    /** Murmur3's 32-bit finalizer over {@code value}, salted per hash function. */
+    private static int mix(int value, int salt) {
+        int h = value ^ (salt * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int indexOf(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
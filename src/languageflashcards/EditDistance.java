@@ -0,0 +1,149 @@
+package languageflashcards;
+
+/**
+ * Bounded Levenshtein distance using Myers' bit-parallel algorithm in Hyyrö's
+ * formulation for whole-string distance.
+ *
+ * The pattern's per-character match masks live in a small open-addressing table
+ * keyed by char, so any script works (CJK and Hangul included) without a
+ * 65536-entry alphabet table. Patterns of up to 64 chars take one machine word
+ * per text character; longer ones fall back to a banded dynamic programme. Both
+ * stop as soon as the distance can no longer come in under the bound.
+ *
+ * Characters are compared case-folded. An instance reuses its scratch space, so
+ * it is not thread-safe.
+ */
+public class EditDistance {
+
+    private char[] maskKeys = new char[128];
+    private long[] maskValues = new long[128];
+    private boolean[] maskUsed = new boolean[128];
+    private int[] usedSlots = new int[64];
+    private int usedCount;
+    private int[] row = new int[0];
+    private int[] previousRow = new int[0];
+
+    /**
+     * Returns the edit distance between {@code a} and {@code b} if it is at most
+     * {@code max}, otherwise {@code max + 1}.
+     */
+    public int bounded(CharSequence a, CharSequence b, int max) {
+        CharSequence pattern = a.length() <= b.length() ? a : b;
+        CharSequence text = pattern == a ? b : a;
+        int m = pattern.length();
+        int n = text.length();
+        if (n - m > max) {
+            return max + 1;
+        }
+        if (m == 0) {
+            return Math.min(n, max + 1);
+        }
+        return m <= 64 ? myers(pattern, text, max) : banded(pattern, text, max);
+    }
+
+    private int myers(CharSequence pattern, CharSequence text, int max) {
+        int m = pattern.length();
+        int n = text.length();
+        for (int i = 0; i < usedCount; i++) {
+            maskUsed[usedSlots[i]] = false;
+        }
+        usedCount = 0;
+        for (int i = 0; i < m; i++) {
+            int slot = slotFor(TextNormalizer.fold(pattern.charAt(i)));
+            maskValues[slot] |= 1L << i;
+        }
+
+        long pv = -1L;
+        long mv = 0L;
+        long high = 1L << (m - 1);
+        int score = m;
+        for (int j = 0; j < n; j++) {
+            long eq = maskFor(TextNormalizer.fold(text.charAt(j)));
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & high) != 0) {
+                score++;
+            } else if ((mh & high) != 0) {
+                score--;
+            }
+            // each remaining text char can lower the score by at most one
+            if (score - (n - j - 1) > max) {
+                return max + 1;
+            }
+            ph = (ph << 1) | 1L;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+        return Math.min(score, max + 1);
+    }
+
+    /** Ukkonen-banded DP for patterns longer than one word. */
+    private int banded(CharSequence pattern, CharSequence text, int max) {
+        int m = pattern.length();
+        int n = text.length();
+        if (row.length < m + 1) {
+            row = new int[m + 1];
+            previousRow = new int[m + 1];
+        }
+        int outside = max + 1;
+        for (int i = 0; i <= m; i++) {
+            previousRow[i] = i <= max ? i : outside;
+        }
+        for (int j = 1; j <= n; j++) {
+            int from = Math.max(1, j - max);
+            int to = Math.min(m, j + max);
+            row[0] = j <= max ? j : outside;
+            if (from > 1) {
+                row[from - 1] = outside;
+            }
+            int best = row[0];
+            char c = TextNormalizer.fold(text.charAt(j - 1));
+            for (int i = from; i <= to; i++) {
+                int cost = TextNormalizer.fold(pattern.charAt(i - 1)) == c ? 0 : 1;
+                int value = Math.min(previousRow[i - 1] + cost, Math.min(previousRow[i], row[i - 1]) + 1);
+                row[i] = Math.min(value, outside);
+                best = Math.min(best, row[i]);
+            }
+            if (to < m) {
+                row[to + 1] = outside;
+            }
+            if (best > max) {
+                return outside;
+            }
+            int[] swap = previousRow;
+            previousRow = row;
+            row = swap;
+        }
+        return Math.min(previousRow[m], outside);
+    }
+
+    // ---------------- Match masks ----------------
+
+    private int slotFor(char c) {
+        int mask = maskKeys.length - 1;
+        int slot = (c * 0x9E37) & mask;
+        while (maskUsed[slot] && maskKeys[slot] != c) {
+            slot = (slot + 1) & mask;
+        }
+        if (!maskUsed[slot]) {
+            maskUsed[slot] = true;
+            usedSlots[usedCount++] = slot;
+            maskKeys[slot] = c;
+            maskValues[slot] = 0L;
+        }
+        return slot;
+    }
+
+    private long maskFor(char c) {
+        int mask = maskKeys.length - 1;
+        for (int slot = (c * 0x9E37) & mask; maskUsed[slot]; slot = (slot + 1) & mask) {
+            if (maskKeys[slot] == c) {
+                return maskValues[slot];
+            }
+        }
+        return 0L;
+    }
+}
\ No newline at end of file
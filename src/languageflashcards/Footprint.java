@@ -0,0 +1,81 @@
+package languageflashcards;
+
+import java.nio.Buffer;
+
+/**
+ * Rough retained-heap sizes of the arrays the deck indexes are built from,
+ * assuming 16-byte array and object headers and 8-byte references. Good enough
+ * to compare structures and to keep a cache within a budget, not exact.
+ */
+final class Footprint {
+
+    private static final long ARRAY_HEADER = 16;
+    private static final long REFERENCE = 8;
+
+    private Footprint() {
+    }
+
+    static long of(int[] array) {
+        return array == null ? 0 : ARRAY_HEADER + 4L * array.length;
+    }
+
+    static long of(long[] array) {
+        return array == null ? 0 : ARRAY_HEADER + 8L * array.length;
+    }
+
+    static long of(int[][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long total = ARRAY_HEADER + REFERENCE * arrays.length;
+        for (int[] array : arrays) {
+            total += of(array);
+        }
+        return total;
+    }
+
+    static long of(long[][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long total = ARRAY_HEADER + REFERENCE * arrays.length;
+        for (long[] array : arrays) {
+            total += of(array);
+        }
+        return total;
+    }
+
+    static long of(int[][][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long total = ARRAY_HEADER + REFERENCE * arrays.length;
+        for (int[][] array : arrays) {
+            total += of(array);
+        }
+        return total;
+    }
+
+    /** Strings are counted as a String object plus a byte array of two bytes per char. */
+    static long of(String[][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long total = ARRAY_HEADER + REFERENCE * arrays.length;
+        for (String[] array : arrays) {
+            if (array == null) {
+                continue;
+            }
+            total += ARRAY_HEADER + REFERENCE * array.length;
+            for (String text : array) {
+                total += 24 + ARRAY_HEADER + 2L * text.length();
+            }
+        }
+        return total;
+    }
+
+    /** A heap buffer's contents; zero for a direct or mapped one, which lives off the heap. */
+    static long onHeap(Buffer buffer, int elementBytes) {
+        return buffer.isDirect() ? 0 : ARRAY_HEADER + (long) elementBytes * buffer.capacity();
+    }
+}
\ No newline at end of file
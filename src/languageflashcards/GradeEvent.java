@@ -0,0 +1,65 @@
+package languageflashcards;
+
+/**
+ * One graded answer, as reported by a {@link LevelHandler}.
+ */
+public class GradeEvent {
+
+    private final long timestampMillis;
+    private final String learner;
+    private final String languageCode;
+    private final int level;
+    private final int row;
+    private final boolean correct;
+    private final int latencyMillis;
+
+    public GradeEvent(long timestampMillis, String learner, String languageCode,
+                      int level, int row, boolean correct, int latencyMillis) {
+        this.timestampMillis = timestampMillis;
+        this.learner = learner;
+        this.languageCode = languageCode;
+        this.level = level;
+        this.row = row;
+        this.correct = correct;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /** Wall-clock time the answer was graded. */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getLearner() {
+        return learner;
+    }
+
+    /** The language's code, prefixed with the topic deck for topic decks ("travel/es"). */
+    public String getLanguageCode() {
+        return languageCode;
+    }
+
+    /** Level number as used by {@link LevelFactory}. */
+    public int getLevel() {
+        return level;
+    }
+
+    /** Deck row of the card (vocabulary for levels 1 and 4, phrases for 2 and 3). */
+    public int getRow() {
+        return row;
+    }
+
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    /** Time from showing the question to receiving the answer. */
+    public int getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    @Override
+    public String toString() {
+        return learner + " " + languageCode + " L" + level + " #" + row + (correct ? " correct" : " wrong")
+                + " " + latencyMillis + "ms";
+    }
+}
\ No newline at end of file
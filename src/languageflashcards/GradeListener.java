@@ -0,0 +1,11 @@
+package languageflashcards;
+
+/**
+ * Receives every answer a {@link LevelHandler} grades.
+ *
+ * Called on the grading thread, so implementations should hand off any slow work.
+ */
+public interface GradeListener {
+
+    void onGrade(GradeEvent event);
+}
\ No newline at end of file
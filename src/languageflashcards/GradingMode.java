@@ -0,0 +1,16 @@
+package languageflashcards;
+
+/**
+ * How strictly the levels compare an answer with the expected translation.
+ */
+public enum GradingMode {
+
+    /** The answer has to match (ignoring case, and for Level 3 punctuation and spacing). */
+    EXACT,
+
+    /**
+     * Answers within a few typos of the expected translation are also accepted.
+     * See {@link NearMissGrader#allowedEdits(int)} for how many.
+     */
+    NEAR_MISS
+}
\ No newline at end of file
@@ -4,16 +4,29 @@ public class Language {
 
     private final String code;
     private final String displayName;
+    private final int column;
 
     /**
-     * Constructs a Language object.
+     * Constructs a Language object that is not bound to a deck column.
      *
      * @param code unique identifier (lowercase, no spaces)
      * @param displayName human-readable name for the UI
      */
     public Language(String code, String displayName) {
+        this(code, displayName, -1);
+    }
+
+    /**
+     * Constructs a Language object bound to a deck column.
+     *
+     * @param code unique identifier (lowercase, no spaces)
+     * @param displayName human-readable name for the UI
+     * @param column ordinal of this language's column in the vocabulary deck
+     */
+    public Language(String code, String displayName, int column) {
         this.code = code;
         this.displayName = displayName;
+        this.column = column;
     }
 
     /** Returns the language code. */
@@ -26,6 +39,11 @@ public class Language {
         return displayName;
     }
 
+    /** Returns the vocabulary column ordinal, or -1 if unbound. */
+    public int getColumn() {
+        return column;
+    }
+
     @Override
     public String toString() {
         return displayName + " (" + code + ")";
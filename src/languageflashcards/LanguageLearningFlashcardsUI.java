@@ -1,7 +1,12 @@
 package languageflashcards;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.InputMismatchException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class LanguageLearningFlashcardsUI {
 
@@ -16,42 +21,88 @@ public class LanguageLearningFlashcardsUI {
     private static final String PROMPT = PRIMARY_BOLD + " ➤ " + RESET;
     private static final int TYPE_SPEED = 20; 
 
+    private static final Metrics.Timer RENDER_MAIN_MENU = Metrics.timer("render", "view", "main_menu");
+    private static final Metrics.Timer RENDER_DECKS = Metrics.timer("render", "view", "decks");
+    private static final Metrics.Timer RENDER_LANGUAGES = Metrics.timer("render", "view", "languages");
+    private static final Metrics.Timer RENDER_LEVELS = Metrics.timer("render", "view", "levels");
+    private static final Metrics.Timer RENDER_SESSION_CONFIG = Metrics.timer("render", "view", "session_config");
+    private static final Metrics.Timer RENDER_ANIMATION = Metrics.timer("render", "view", "animation");
+    private static final Metrics.Timer RENDER_PROGRESS_BAR = Metrics.timer("render", "view", "progress_bar");
+
     private final Scanner scanner;
     private final LanguageManager languageManager;
     private final LevelFactory levelFactory;
+    private final TerminalRenderer renderer;
+    private final DeckCatalog deckCatalog;
+    private final Map<String, ReviewScheduler> deckReviews = new HashMap<>();
+    private CompletableFuture<?> decksLoaded = CompletableFuture.completedFuture(null);
 
     public LanguageLearningFlashcardsUI(LanguageManager languageManager, LevelFactory levelFactory) {
+        this(languageManager, levelFactory, new TerminalRenderer(TerminalRenderer.Mode.ANIMATED));
+    }
+
+    public LanguageLearningFlashcardsUI(LanguageManager languageManager, LevelFactory levelFactory,
+                                        TerminalRenderer renderer) {
+        this(languageManager, levelFactory, renderer, null);
+    }
+
+    /**
+     * @param deckCatalog topic decks to offer besides the main one; null or empty
+     *                    skips the deck menu
+     */
+    public LanguageLearningFlashcardsUI(LanguageManager languageManager, LevelFactory levelFactory,
+                                        TerminalRenderer renderer, DeckCatalog deckCatalog) {
         this.scanner = new Scanner(System.in);
         this.languageManager = languageManager;
         this.levelFactory = levelFactory;
+        this.renderer = renderer;
+        this.deckCatalog = deckCatalog;
+    }
+
+    /**
+     * The decks are still loading (see {@link DefaultLanguageManager#preload}): the intro
+     * and name prompt run meanwhile, and the first session waits for {@code loaded}. If
+     * loading failed, {@link #start()} throws a {@link CompletionException} with the
+     * load error as its cause.
+     */
+    public void setDecksLoaded(CompletableFuture<?> loaded) {
+        this.decksLoaded = loaded;
     }
 
     public void start() {
-        clearScreen();
+        try {
+            run();
+        } finally {
+            renderer.flush();
+        }
+    }
+
+    private void run() {
+        renderer.clear();
         printBanner();
         
         printAnimated(TEXT + "  System Initialization...", 30);
         showProgressBar();
-        System.out.println();
+        renderer.println("");
         
         String playerName = askForName();
-        System.out.println();
+        renderer.println("");
         printAnimated(TEXT_BOLD + "  Welcome, " + PRIMARY_BOLD + playerName + TEXT_BOLD + " to Language Learning Flashcards :>." + RESET, 20);
         pause(800);
 
         boolean running = true;
         while (running) {
-            clearScreen();
             try {
                 showMainMenu(playerName);
                 int choice = readInt();
 
                 switch (choice) {
                     case 1:
-                        startSession();
+                        decksLoaded.join();
+                        startSession(playerName);
                         break;
                     case 2:
-                        System.out.println();
+                        renderer.println("");
                         printAnimated(PRIMARY + "Thank you for playing. See you next time! " + playerName + "." + RESET, 30);
                         running = false;
                         break;
@@ -59,8 +110,11 @@ public class LanguageLearningFlashcardsUI {
                         printError("Invalid selection.");
                         pause(1000);
                 }
+            } catch (CompletionException e) {
+                throw e; // no decks, nothing to play: not an error to return to the menu from
             } catch (InputMismatchException e) {
                 printError("Please input a number.");
+                renderer.flush();
                 scanner.nextLine(); 
                 pause(1000);
             } catch (Exception e) {
@@ -72,60 +126,114 @@ public class LanguageLearningFlashcardsUI {
 
 
     private void showMainMenu(String name) {
-        printBoxTop("MAIN MENU");
-        System.out.printf(PRIMARY + "║" + RESET + "  User: %-34s" + PRIMARY + "║%n" + RESET, TEXT_BOLD + name + RESET);
-        printBoxSeparator();
-        System.out.println(PRIMARY + "║" + RESET + "  [1] " + TEXT + "Start New Session" + getPadding(19) + PRIMARY + "║" + RESET);
-        System.out.println(PRIMARY + "║" + RESET + "  [2] " + TEXT + "Exit Application" + getPadding(20) + PRIMARY + "║" + RESET);
-        printBoxBottom();
-        System.out.print(PROMPT);
+        long start = Metrics.start();
+        TerminalRenderer.Frame frame = new TerminalRenderer.Frame();
+        printBoxTop(frame, "MAIN MENU");
+        frame.format(PRIMARY + "║" + RESET + "  User: %-34s" + PRIMARY + "║" + RESET, TEXT_BOLD + name + RESET);
+        printBoxSeparator(frame);
+        frame.line(PRIMARY + "║" + RESET + "  [1] " + TEXT + "Start New Session" + getPadding(19) + PRIMARY + "║" + RESET);
+        frame.line(PRIMARY + "║" + RESET + "  [2] " + TEXT + "Exit Application" + getPadding(20) + PRIMARY + "║" + RESET);
+        printBoxBottom(frame);
+        renderer.present(frame, PROMPT);
+        Metrics.stop(RENDER_MAIN_MENU, start);
     }
 
-    private void startSession() {
-        Language selectedLanguage = chooseLanguage();
+    private void startSession(String playerName) {
+        LanguageManager deckManager = languageManager;
+        LevelFactory deckFactory = levelFactory;
+        if (deckCatalog != null && !deckCatalog.getDeckNames().isEmpty()) {
+            String deck = chooseDeck();
+            if (deck == null) return;
+            if (!deck.isEmpty()) {
+                // loaded here, on first selection, and cached by the catalog from then on
+                deckManager = deckCatalog.get(deck);
+                deckFactory = levelFactory.forDeck(deck, deckManager,
+                        deckReviews.computeIfAbsent(deck, key -> new ReviewScheduler()));
+            }
+        }
+
+        Language selectedLanguage = chooseLanguage(deckManager);
         if (selectedLanguage == null) return;
 
         int levelChoice = chooseLevel();
         if (levelChoice == -1) return;
 
-        clearScreen();
-        printBoxTop("SESSION CONFIGURATION");
-        System.out.printf(PRIMARY + "║" + RESET + "  Target: %-32s" + PRIMARY + "║%n" + RESET, TEXT_BOLD + selectedLanguage.getDisplayName() + RESET);
-        System.out.printf(PRIMARY + "║" + RESET + "  Level:  %-32s" + PRIMARY + "║%n" + RESET, TEXT_BOLD + String.valueOf(levelChoice) + RESET);
-        printBoxBottom();
-        System.out.println();
+        long start = Metrics.start();
+        TerminalRenderer.Frame frame = new TerminalRenderer.Frame();
+        printBoxTop(frame, "SESSION CONFIGURATION");
+        frame.format(PRIMARY + "║" + RESET + "  Target: %-32s" + PRIMARY + "║" + RESET, TEXT_BOLD + selectedLanguage.getDisplayName() + RESET);
+        frame.format(PRIMARY + "║" + RESET + "  Level:  %-32s" + PRIMARY + "║" + RESET, TEXT_BOLD + String.valueOf(levelChoice) + RESET);
+        printBoxBottom(frame);
+        frame.line("");
+        renderer.present(frame, "");
+        Metrics.stop(RENDER_SESSION_CONFIG, start);
         
         printAnimated(TEXT + "  Loading assets...", 20);
         showProgressBar();
         
-        LevelHandler handler = levelFactory.createLevelHandler(levelChoice, selectedLanguage);
+        LevelHandler handler = deckFactory.createLevelHandler(levelChoice, selectedLanguage, playerName);
         
         if (handler != null) {
-            clearScreen();
-            handler.run(scanner);
+            renderer.clear();
+            new ConsoleSessionRunner(scanner, renderer.stream()).run(handler.startSession());
             
-            System.out.println();
-            System.out.println(PRIMARY + "  [PRESS ENTER TO RETURN]" + RESET);
+            renderer.println("");
+            renderer.println(PRIMARY + "  [PRESS ENTER TO RETURN]" + RESET);
+            renderer.flush();
             scanner.nextLine();
         } else {
             printError("Module failed to load.");
         }
     }
 
-    private Language chooseLanguage() {
-        clearScreen();
-        Language[] languages = languageManager.getAvailableLanguages();
+    /** Returns the chosen topic deck, "" for the main deck, or null to go back. */
+    private String chooseDeck() {
+        List<String> decks = deckCatalog.getDeckNames();
+        long start = Metrics.start();
+
+        TerminalRenderer.Frame frame = new TerminalRenderer.Frame();
+        printBoxTop(frame, "SELECT DECK");
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [1] Core");
+        for (int i = 0; i < decks.size(); i++) {
+            String label = "  [" + (i + 2) + "] " + decks.get(i);
+            frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + label);
+        }
+        printBoxSeparator(frame);
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [" + (decks.size() + 2) + "] Back");
+        printBoxBottom(frame);
+
+        renderer.present(frame, PROMPT);
+        Metrics.stop(RENDER_DECKS, start);
+
+        int input = readInt();
+        if (input == 1) {
+            return "";
+        } else if (input >= 2 && input <= decks.size() + 1) {
+            return decks.get(input - 2);
+        } else if (input == decks.size() + 2) {
+            return null;
+        }
+        printError("Invalid option.");
+        pause(1000);
+        return null;
+    }
+
+    private Language chooseLanguage(LanguageManager deckManager) {
+        Language[] languages = deckManager.getAvailableLanguages();
+        long start = Metrics.start();
         
-        printBoxTop("SELECT LANGUAGE");
+        TerminalRenderer.Frame frame = new TerminalRenderer.Frame();
+        printBoxTop(frame, "SELECT LANGUAGE");
         for (int i = 0; i < languages.length; i++) {
             String label = "  [" + (i + 1) + "] " + languages[i].getDisplayName();
-            System.out.printf(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║%n" + RESET, TEXT + label);
+            frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + label);
         }
-        printBoxSeparator();
-        System.out.printf(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║%n" + RESET, TEXT + "  [" + (languages.length + 1) + "] Back");
-        printBoxBottom();
+        printBoxSeparator(frame);
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [" + (languages.length + 1) + "] Back");
+        printBoxBottom(frame);
         
-        System.out.print(PROMPT);
+        renderer.present(frame, PROMPT);
+        Metrics.stop(RENDER_LANGUAGES, start);
 
         int input = readInt();
         if (input > 0 && input <= languages.length) {
@@ -139,54 +247,58 @@ public class LanguageLearningFlashcardsUI {
     }
 
     private int chooseLevel() {
-        clearScreen();
-        printBoxTop("SELECT DIFFICULTY");
-        System.out.printf(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║%n" + RESET, TEXT + "  [1] Vocabulary " + PRIMARY + "(Words)");
-        System.out.printf(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║%n" + RESET, TEXT + "  [2] Phrases    " + PRIMARY + "(Sentences)");
-        System.out.printf(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║%n" + RESET, TEXT + "  [3] Grammar    " + PRIMARY + "(Mechanics)");
-        printBoxSeparator();
-        System.out.printf(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║%n" + RESET, TEXT + "  [4] Back");
-        printBoxBottom();
+        long start = Metrics.start();
+        TerminalRenderer.Frame frame = new TerminalRenderer.Frame();
+        printBoxTop(frame, "SELECT DIFFICULTY");
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [1] Vocabulary " + PRIMARY + "(Words)");
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [2] Phrases    " + PRIMARY + "(Sentences)");
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [3] Grammar    " + PRIMARY + "(Mechanics)");
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [4] Review     " + PRIMARY + "(Spaced)");
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [5] Quick Pick " + PRIMARY + "(Choices)");
+        printBoxSeparator(frame);
+        frame.format(PRIMARY + "║" + RESET + "%-40s" + PRIMARY + "║" + RESET, TEXT + "  [6] Back");
+        printBoxBottom(frame);
         
-        System.out.print(PROMPT);
+        renderer.present(frame, PROMPT);
+        Metrics.stop(RENDER_LEVELS, start);
 
         int input = readInt();
-        if (input >= 1 && input <= 3) return input;
+        if (input >= 1 && input <= 5) return input;
         return -1;
     }
 
     private String askForName() {
-        System.out.println();
+        renderer.println("");
         printAnimated(PRIMARY + "  Enter your name:" + RESET, 20);
-        System.out.print(PROMPT);
+        renderer.prompt(PROMPT);
         String name = scanner.nextLine().trim();
         return name.isEmpty() ? "Guest" : name;
     }
 
 
-    private void printBoxTop(String title) {
-        System.out.println(PRIMARY + "╔════════════════════════════════════════╗" + RESET);
+    private void printBoxTop(TerminalRenderer.Frame frame, String title) {
+        frame.line(PRIMARY + "╔════════════════════════════════════════╗" + RESET);
         int width = 40;
         int paddingLeft = (width - title.length()) / 2;
         int paddingRight = width - paddingLeft - title.length();
-        System.out.printf(PRIMARY + "║" + RESET + "%s" + PRIMARY_BOLD + "%s" + RESET + "%s" + PRIMARY + "║%n" + RESET, 
+        frame.format(PRIMARY + "║" + RESET + "%s" + PRIMARY_BOLD + "%s" + RESET + "%s" + PRIMARY + "║" + RESET, 
             " ".repeat(paddingLeft), title, " ".repeat(paddingRight));
-        printBoxSeparator();
+        printBoxSeparator(frame);
     }
 
-    private void printBoxSeparator() {
-        System.out.println(PRIMARY + "╠════════════════════════════════════════╣" + RESET);
+    private void printBoxSeparator(TerminalRenderer.Frame frame) {
+        frame.line(PRIMARY + "╠════════════════════════════════════════╣" + RESET);
     }
 
-    private void printBoxBottom() {
-        System.out.println(PRIMARY + "╚════════════════════════════════════════╝" + RESET);
+    private void printBoxBottom(TerminalRenderer.Frame frame) {
+        frame.line(PRIMARY + "╚════════════════════════════════════════╝" + RESET);
     }
 
     private void printBanner() {
-        System.out.println(PRIMARY + "==========================================" + RESET);
-        System.out.println(PRIMARY_BOLD + "      LANGUAGE LEARNING FLASHCARDS" + RESET);
-        System.out.println(TEXT + "      Interactive Grammar & Vocabulary" + RESET);
-        System.out.println(PRIMARY + "==========================================" + RESET);
+        renderer.println(PRIMARY + "==========================================" + RESET);
+        renderer.println(PRIMARY_BOLD + "      LANGUAGE LEARNING FLASHCARDS" + RESET);
+        renderer.println(TEXT + "      Interactive Grammar & Vocabulary" + RESET);
+        renderer.println(PRIMARY + "==========================================" + RESET);
     }
 
     private String getPadding(int length) {
@@ -194,41 +306,31 @@ public class LanguageLearningFlashcardsUI {
     }
 
     // --- ANIMATIONS ---
+    // The renderer skips these entirely in --fast and --headless mode.
 
     private void printAnimated(String text, int speed) {
-        for (char c : text.toCharArray()) {
-            System.out.print(c);
-            try { Thread.sleep(speed); } catch (Exception e) {}
-        }
-        System.out.println();
+        long start = Metrics.start();
+        renderer.animate(text, speed);
+        Metrics.stop(RENDER_ANIMATION, start);
     }
 
     private void showProgressBar() {
-        System.out.print(PRIMARY + "  [");
-        for (int i = 0; i < 25; i++) {
-            System.out.print("▓");
-            try { Thread.sleep(30); } catch (Exception e) {}
-        }
-        System.out.println("] " + SUCCESS + "Done" + RESET);
+        long start = Metrics.start();
+        renderer.progressBar(PRIMARY + "  [", "▓", "] " + SUCCESS + "Done" + RESET, 30);
         pause(300);
-    }
-
-    private void clearScreen() {
-        System.out.print("\033[H\033[2J");
-        System.out.flush();
-        // Fallback for IDEs that don't support ANSI clear
-        for(int i=0; i<50; i++) System.out.println(); 
+        Metrics.stop(RENDER_PROGRESS_BAR, start);
     }
 
     private void pause(int millis) {
-        try { Thread.sleep(millis); } catch (Exception e) {}
+        renderer.pause(millis);
     }
 
     private void printError(String msg) {
-        System.out.println(ERROR + "  ✖ " + msg + RESET);
+        renderer.println(ERROR + "  ✖ " + msg + RESET);
     }
 
     private int readInt() {
+        renderer.flush();
         try {
             int i = scanner.nextInt();
             scanner.nextLine();
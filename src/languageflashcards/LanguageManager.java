@@ -1,11 +1,32 @@
 package languageflashcards;
 
+import java.util.List;
+
 public interface LanguageManager {
 
     Language[] getAvailableLanguages();
 
     String getWord(String languageCode, int index);
 
+    /**
+     * Index-based lookup: {@code column} is a {@link Language#getColumn()} ordinal,
+     * so no code has to be resolved per call.
+     */
+    String getWord(int column, int index);
+
     int getWordCount();
 
+    /**
+     * Reverse lookup: the vocabulary rows whose {@code column} cell reads {@code text},
+     * ignoring case. Column 0 is English. A cell is also found by each "/"
+     * alternative and by the parts in and outside parentheses, e.g. "ie" for "いえ (ie)".
+     */
+    int[] findWord(int column, String text);
+
+    /**
+     * Autocomplete: up to {@code limit} distinct {@code column} cells found by a key
+     * that starts with {@code prefix}, in key order.
+     */
+    List<String> suggestWords(int column, String prefix, int limit);
+
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package languageflashcards;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Languages of a deck, read from its CSV header row.
+ *
+ * Column 0 is the English source text; every other column is a target language.
+ * A header cell may be a plain name ("french") or a name with an explicit code
+ * ("German (de)"). Plain names of the original five languages keep their old codes
+ * (fil, es, fr, jp, kr); any other plain name uses its lowercased name as the code.
+ *
+ * Codes resolve to column ordinals through one hash lookup, so callers that need
+ * many lookups should resolve once and then use the ordinal.
+ */
+public class LanguageRegistry {
+
+    /** Code used for the source (English) column. */
+    public static final String SOURCE_CODE = "en";
+
+    private static final Map<String, String> KNOWN_CODES = new HashMap<>();
+
+    static {
+        KNOWN_CODES.put("english", "en");
+        KNOWN_CODES.put("filipino", "fil");
+        KNOWN_CODES.put("spanish", "es");
+        KNOWN_CODES.put("french", "fr");
+        KNOWN_CODES.put("japanese", "jp");
+        KNOWN_CODES.put("korean", "kr");
+    }
+
+    private final Language[] languages;
+    private final Map<String, Integer> columnsByCode = new HashMap<>();
+
+    /**
+     * Builds the registry from a header row.
+     *
+     * @throws IllegalArgumentException if two columns resolve to the same code
+     */
+    public LanguageRegistry(String[] header) {
+        languages = new Language[Math.max(0, header.length - 1)];
+        columnsByCode.put(SOURCE_CODE, 0);
+        for (int column = 1; column < header.length; column++) {
+            Language language = parse(header[column], column);
+            if (columnsByCode.put(language.getCode(), column) != null) {
+                throw new IllegalArgumentException("Duplicate language column in header: " + header[column]);
+            }
+            languages[column - 1] = language;
+        }
+    }
+
+    /** Returns the target languages in column order (the source column is excluded). */
+    public Language[] getLanguages() {
+        return languages.clone();
+    }
+
+    /** Returns the column holding {@code code}, or -1 if the deck has no such column. */
+    public int columnOf(String code) {
+        Integer column = columnsByCode.get(code);
+        return column == null ? -1 : column;
+    }
+
+    /** Returns how many columns the header had, including the source column. */
+    public int getColumnCount() {
+        return languages.length + 1;
+    }
+
+    /** The code a header cell such as "spanish" or "German (de)" stands for. */
+    static String codeOf(String cell) {
+        return cell.trim().isEmpty() ? "" : parse(cell, 1).getCode();
+    }
+
+    private static Language parse(String cell, int column) {
+        String name = cell.trim();
+        String code = null;
+        int open = name.lastIndexOf('(');
+        if (open > 0 && name.endsWith(")")) {
+            code = name.substring(open + 1, name.length() - 1).trim().toLowerCase(Locale.ROOT);
+            name = name.substring(0, open).trim();
+        }
+        if (name.isEmpty()) {
+            name = "Column " + column;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        if (code == null || code.isEmpty()) {
+            code = KNOWN_CODES.getOrDefault(key, key.replace(' ', '-'));
+        }
+        String displayName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        return new Language(code, displayName, column);
+    }
+}
\ No newline at end of file
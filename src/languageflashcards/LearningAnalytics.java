@@ -0,0 +1,558 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Live learning dashboards, kept up to date one graded answer at a time.
+ *
+ * Register it as a {@link GradeListener}. Every event updates, in constant time:
+ * <ul>
+ *   <li>tumbling windows of attempts, correct answers and latency overall, per
+ *       language and per learner; each series is a ring of the last
+ *       {@code windows} windows, so old history falls off by itself. Only the
+ *       {@code maxLearners} learners who answered most recently keep a series;
+ *       the one idle longest is dropped to make room for a new one</li>
+ *   <li>attempts and misses per card (language, level, row), in arrays indexed
+ *       by row</li>
+ *   <li>the {@code topK} most-missed cards, in a min-heap of K entries whose
+ *       root is the card to beat: a miss either bumps a card already in the heap
+ *       or replaces the root once it has more misses</li>
+ * </ul>
+ * Queries read these aggregates directly and never rescan history. All methods
+ * are synchronized; an update is a few array writes and at most K comparisons.
+ *
+ * {@link #export(Path)} writes everything as CSV files and one JSON file.
+ */
+public class LearningAnalytics implements GradeListener {
+
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    private static final int MAX_LEVEL = 5;
+    private static final int DEFAULT_MAX_LEARNERS = 1_000;
+
+    private final long windowMillis;
+    private final int windows;
+    private final int topK;
+
+    private final Series overall;
+    private final Map<String, Series> byLanguage = new TreeMap<>();
+    private final Map<String, Series> byLearner;
+    private final Map<String, CardCounts[]> cards = new TreeMap<>();
+    private final CardCounts[] heap;
+    private final int[] heapRows;
+    private int heapSize;
+    private long answers;
+    private long late;
+
+    /** Hourly windows over the last week for up to 1000 learners, and the 20 most-missed cards. */
+    public LearningAnalytics() {
+        this(HOUR_MILLIS, 24 * 7, 20, DEFAULT_MAX_LEARNERS);
+    }
+
+    public LearningAnalytics(long windowMillis, int windows, int topK) {
+        this(windowMillis, windows, topK, DEFAULT_MAX_LEARNERS);
+    }
+
+    /** @param maxLearners how many learners keep a timeline; the longest idle is dropped first */
+    public LearningAnalytics(long windowMillis, int windows, int topK, int maxLearners) {
+        if (maxLearners < 0) {
+            throw new IllegalArgumentException("maxLearners must be >= 0");
+        }
+        this.byLearner = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Series> eldest) {
+                return size() > maxLearners;
+            }
+        };
+        this.windowMillis = windowMillis;
+        this.windows = windows;
+        this.topK = topK;
+        this.overall = new Series(windows);
+        this.heap = new CardCounts[topK];
+        this.heapRows = new int[topK];
+    }
+
+    @Override
+    public synchronized void onGrade(GradeEvent event) {
+        answers++;
+        long start = event.getTimestampMillis() - Math.floorMod(event.getTimestampMillis(), windowMillis);
+        boolean counted = overall.add(start, windowMillis, event.isCorrect(), event.getLatencyMillis());
+        if (!counted) {
+            late++;
+        }
+        byLanguage.computeIfAbsent(event.getLanguageCode(), key -> new Series(windows))
+                .add(start, windowMillis, event.isCorrect(), event.getLatencyMillis());
+        byLearner.computeIfAbsent(event.getLearner(), key -> new Series(windows))
+                .add(start, windowMillis, event.isCorrect(), event.getLatencyMillis());
+
+        int level = Math.max(0, Math.min(MAX_LEVEL, event.getLevel()));
+        CardCounts[] levels = cards.computeIfAbsent(event.getLanguageCode(), key -> new CardCounts[MAX_LEVEL + 1]);
+        CardCounts counts = levels[level];
+        if (counts == null) {
+            counts = new CardCounts(event.getLanguageCode(), level);
+            levels[level] = counts;
+        }
+        int row = event.getRow();
+        counts.add(row, event.isCorrect());
+        if (!event.isCorrect()) {
+            offerMissed(counts, row);
+        }
+    }
+
+    // ---------------- Queries ----------------
+
+    /** Answers seen so far. */
+    public synchronized long getAnswerCount() {
+        return answers;
+    }
+
+    /** Answers older than every window kept, which only count toward the card totals. */
+    public synchronized long getLateCount() {
+        return late;
+    }
+
+    /** Windows with answers in them, oldest first. */
+    public synchronized List<Window> getTimeline() {
+        return overall.windows(windowMillis);
+    }
+
+    /** Same as {@link #getTimeline()} for one language ("es", or "travel/es" for a topic deck). */
+    public synchronized List<Window> getLanguageTimeline(String languageCode) {
+        Series series = byLanguage.get(languageCode);
+        return series == null ? List.of() : series.windows(windowMillis);
+    }
+
+    /**
+     * A learner's progress over time: their windows, oldest first. Empty for a
+     * learner dropped to make room for more recent ones.
+     */
+    public synchronized List<Window> getLearnerTimeline(String learner) {
+        Series series = byLearner.get(learner);
+        return series == null ? List.of() : series.windows(windowMillis);
+    }
+
+    /** Totals for one card, or null if it was never answered. */
+    public synchronized Card getCard(String languageCode, int level, int row) {
+        CardCounts[] levels = cards.get(languageCode);
+        CardCounts counts = levels == null || level < 0 || level > MAX_LEVEL ? null : levels[level];
+        return counts == null || counts.attempts(row) == 0 ? null : counts.card(row);
+    }
+
+    /** The most-missed cards, most misses first. */
+    public synchronized List<Card> getHardestCards() {
+        List<Card> hardest = new ArrayList<>(heapSize);
+        for (int i = 0; i < heapSize; i++) {
+            hardest.add(heap[i].card(heapRows[i]));
+        }
+        hardest.sort(Comparator.comparingLong(Card::getMisses).reversed()
+                .thenComparing(Card::getLanguageCode).thenComparingInt(Card::getLevel).thenComparingInt(Card::getRow));
+        return hardest;
+    }
+
+    /** One tumbling window of a series. */
+    public static class Window {
+        private final long startMillis;
+        private final long endMillis;
+        private final long attempts;
+        private final long correct;
+        private final long totalLatencyMillis;
+
+        Window(long startMillis, long endMillis, long attempts, long correct, long totalLatencyMillis) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.attempts = attempts;
+            this.correct = correct;
+            this.totalLatencyMillis = totalLatencyMillis;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getEndMillis() {
+            return endMillis;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getCorrect() {
+            return correct;
+        }
+
+        /** Share of correct answers. */
+        public double getAccuracy() {
+            return attempts == 0 ? 0 : (double) correct / attempts;
+        }
+
+        public double getMeanLatencyMillis() {
+            return attempts == 0 ? 0 : (double) totalLatencyMillis / attempts;
+        }
+    }
+
+    /** Totals for one card. */
+    public static class Card {
+        private final String languageCode;
+        private final int level;
+        private final int row;
+        private final long attempts;
+        private final long misses;
+
+        Card(String languageCode, int level, int row, long attempts, long misses) {
+            this.languageCode = languageCode;
+            this.level = level;
+            this.row = row;
+            this.attempts = attempts;
+            this.misses = misses;
+        }
+
+        public String getLanguageCode() {
+            return languageCode;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        /** Deck row, as in {@link GradeEvent#getRow()}. */
+        public int getRow() {
+            return row;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /** Share of correct answers. */
+        public double getAccuracy() {
+            return attempts == 0 ? 0 : 1.0 - (double) misses / attempts;
+        }
+    }
+
+    // ---------------- Aggregates ----------------
+
+    /** A ring of tumbling windows; slot = window number mod ring size. */
+    private static final class Series {
+        private final long[] starts;
+        private final int[] attempts;
+        private final int[] correct;
+        private final long[] latencyMillis;
+
+        Series(int windows) {
+            starts = new long[windows];
+            Arrays.fill(starts, Long.MIN_VALUE);
+            attempts = new int[windows];
+            correct = new int[windows];
+            latencyMillis = new long[windows];
+        }
+
+        /** Adds one answer to the window starting at {@code start}; false if that window has already rolled off. */
+        boolean add(long start, long windowMillis, boolean isCorrect, int latency) {
+            int slot = (int) Math.floorMod(start / windowMillis, (long) starts.length);
+            if (starts[slot] != start) {
+                if (starts[slot] > start) {
+                    return false;
+                }
+                starts[slot] = start;
+                attempts[slot] = 0;
+                correct[slot] = 0;
+                latencyMillis[slot] = 0;
+            }
+            attempts[slot]++;
+            if (isCorrect) {
+                correct[slot]++;
+            }
+            latencyMillis[slot] += latency;
+            return true;
+        }
+
+        List<Window> windows(long windowMillis) {
+            long newest = Long.MIN_VALUE;
+            for (long start : starts) {
+                newest = Math.max(newest, start);
+            }
+            List<Window> windows = new ArrayList<>();
+            if (newest == Long.MIN_VALUE) {
+                return windows;
+            }
+            long oldest = newest - (starts.length - 1) * windowMillis;
+            for (long start = oldest; start <= newest; start += windowMillis) {
+                int slot = (int) Math.floorMod(start / windowMillis, (long) starts.length);
+                if (starts[slot] == start && attempts[slot] > 0) {
+                    windows.add(new Window(start, start + windowMillis, attempts[slot], correct[slot],
+                            latencyMillis[slot]));
+                }
+            }
+            return windows;
+        }
+    }
+
+    /** Attempts and misses of one language and level, by row. */
+    private static final class CardCounts {
+        final String languageCode;
+        final int level;
+        int[] attempts = new int[64];
+        int[] misses = new int[64];
+
+        CardCounts(String languageCode, int level) {
+            this.languageCode = languageCode;
+            this.level = level;
+        }
+
+        void add(int row, boolean isCorrect) {
+            if (row >= attempts.length) {
+                int length = Math.max(row + 1, attempts.length * 2);
+                attempts = Arrays.copyOf(attempts, length);
+                misses = Arrays.copyOf(misses, length);
+            }
+            attempts[row]++;
+            if (!isCorrect) {
+                misses[row]++;
+            }
+        }
+
+        int attempts(int row) {
+            return row >= 0 && row < attempts.length ? attempts[row] : 0;
+        }
+
+        int misses(int row) {
+            return row >= 0 && row < misses.length ? misses[row] : 0;
+        }
+
+        Card card(int row) {
+            return new Card(languageCode, level, row, attempts(row), misses(row));
+        }
+    }
+
+    // ---------------- Top K ----------------
+
+    /** Called after a miss of ({@code counts}, {@code row}) was counted. */
+    private void offerMissed(CardCounts counts, int row) {
+        if (topK == 0) {
+            return;
+        }
+        for (int i = 0; i < heapSize; i++) {
+            if (heap[i] == counts && heapRows[i] == row) {
+                siftDown(i); // its misses only went up
+                return;
+            }
+        }
+        if (heapSize < topK) {
+            heap[heapSize] = counts;
+            heapRows[heapSize] = row;
+            siftUp(heapSize++);
+        } else if (counts.misses(row) > misses(0)) {
+            heap[0] = counts;
+            heapRows[0] = row;
+            siftDown(0);
+        }
+    }
+
+    private int misses(int i) {
+        return heap[i].misses(heapRows[i]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (misses(parent) <= misses(i)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            if (left < heapSize && misses(left) < misses(smallest)) {
+                smallest = left;
+            }
+            if (left + 1 < heapSize && misses(left + 1) < misses(smallest)) {
+                smallest = left + 1;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        CardCounts counts = heap[a];
+        heap[a] = heap[b];
+        heap[b] = counts;
+        int row = heapRows[a];
+        heapRows[a] = heapRows[b];
+        heapRows[b] = row;
+    }
+
+    // ---------------- Export ----------------
+
+    /**
+     * Writes {@code timeline.csv} (every window of every series), {@code cards.csv},
+     * {@code hardest.csv} and {@code analytics.json} into {@code dir}. Each file is
+     * written under a temporary name of its own and moved into place, so exports
+     * running at the same time never write into each other's files.
+     */
+    public void export(Path dir) throws IOException {
+        String timeline;
+        String cardsCsv;
+        String hardest;
+        String json;
+        synchronized (this) {
+            timeline = timelineCsv();
+            cardsCsv = cardsCsv();
+            hardest = cardListCsv(getHardestCards());
+            json = toJson();
+        }
+        Files.createDirectories(dir);
+        write(dir.resolve("timeline.csv"), timeline);
+        write(dir.resolve("cards.csv"), cardsCsv);
+        write(dir.resolve("hardest.csv"), hardest);
+        write(dir.resolve("analytics.json"), json);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write(content);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private String timelineCsv() {
+        StringBuilder out = new StringBuilder("scope,key,window_start_millis,answered,correct,accuracy,mean_latency_ms\n");
+        appendTimeline(out, "all", "", overall);
+        for (Map.Entry<String, Series> entry : byLanguage.entrySet()) {
+            appendTimeline(out, "language", entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Series> entry : new TreeMap<>(byLearner).entrySet()) {
+            appendTimeline(out, "learner", entry.getKey(), entry.getValue());
+        }
+        return out.toString();
+    }
+
+    private void appendTimeline(StringBuilder out, String scope, String key, Series series) {
+        for (Window window : series.windows(windowMillis)) {
+            out.append(scope).append(',').append(BatchGrader.quote(key)).append(',').append(window.getStartMillis())
+                    .append(',').append(window.getAttempts()).append(',').append(window.getCorrect()).append(',')
+                    .append(String.format(Locale.ROOT, "%.3f,%.1f", window.getAccuracy(), window.getMeanLatencyMillis()))
+                    .append('\n');
+        }
+    }
+
+    private String cardsCsv() {
+        List<Card> all = new ArrayList<>();
+        for (CardCounts[] levels : cards.values()) {
+            for (CardCounts counts : levels) {
+                if (counts == null) {
+                    continue;
+                }
+                for (int row = 0; row < counts.attempts.length; row++) {
+                    if (counts.attempts[row] > 0) {
+                        all.add(counts.card(row));
+                    }
+                }
+            }
+        }
+        return cardListCsv(all);
+    }
+
+    private static String cardListCsv(List<Card> cards) {
+        StringBuilder out = new StringBuilder("language,level,row,answered,missed,accuracy\n");
+        for (Card card : cards) {
+            out.append(BatchGrader.quote(card.getLanguageCode())).append(',').append(card.getLevel()).append(',')
+                    .append(card.getRow()).append(',').append(card.getAttempts()).append(',').append(card.getMisses())
+                    .append(',').append(String.format(Locale.ROOT, "%.3f", card.getAccuracy())).append('\n');
+        }
+        return out.toString();
+    }
+
+    private String toJson() {
+        StringBuilder out = new StringBuilder("{\n  \"timestampMillis\": ").append(System.currentTimeMillis())
+                .append(",\n  \"windowMillis\": ").append(windowMillis)
+                .append(",\n  \"answers\": ").append(answers)
+                .append(",\n  \"late\": ").append(late)
+                .append(",\n  \"timeline\": ").append(windowsJson(overall.windows(windowMillis)))
+                .append(",\n  \"languages\": {");
+        appendSeriesJson(out, byLanguage);
+        out.append("},\n  \"learners\": {");
+        appendSeriesJson(out, new TreeMap<>(byLearner));
+        out.append("},\n  \"hardest\": [");
+        String separator = "\n";
+        for (Card card : getHardestCards()) {
+            out.append(separator).append("    {\"language\": \"").append(jsonEscape(card.getLanguageCode()))
+                    .append("\", \"level\": ").append(card.getLevel())
+                    .append(", \"row\": ").append(card.getRow())
+                    .append(", \"answered\": ").append(card.getAttempts())
+                    .append(", \"missed\": ").append(card.getMisses()).append('}');
+            separator = ",\n";
+        }
+        return out.append("\n  ]\n}\n").toString();
+    }
+
+    private void appendSeriesJson(StringBuilder out, Map<String, Series> series) {
+        String separator = "\n";
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            out.append(separator).append("    \"").append(jsonEscape(entry.getKey())).append("\": ")
+                    .append(windowsJson(entry.getValue().windows(windowMillis)));
+            separator = ",\n";
+        }
+        if (!series.isEmpty()) {
+            out.append("\n  ");
+        }
+    }
+
+    private static String windowsJson(List<Window> windows) {
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < windows.size(); i++) {
+            Window window = windows.get(i);
+            out.append(i == 0 ? "" : ", ").append("{\"start\": ").append(window.getStartMillis())
+                    .append(", \"answered\": ").append(window.getAttempts())
+                    .append(", \"correct\": ").append(window.getCorrect())
+                    .append(", \"meanLatencyMillis\": ")
+                    .append(String.format(Locale.ROOT, "%.1f", window.getMeanLatencyMillis())).append('}');
+        }
+        return out.append(']').toString();
+    }
+
+    private static String jsonEscape(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
\ No newline at end of file
@@ -1,25 +1,189 @@
 package languageflashcards;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class LevelFactory {
 
     private final LanguageManager languageManager;
+    private final SessionSampler sampler;
+    private final ReviewScheduler reviewScheduler;
+    private GradingMode gradingMode = GradingMode.EXACT;
+    private final List<GradeListener> gradeListeners;
+    private String deck;
+    private CardStatistics cardStatistics;
+    private boolean adaptive;
+    private boolean strictAccents;
 
     public LevelFactory(LanguageManager languageManager) {
+        this(languageManager, new SessionSampler());
+    }
+
+    /**
+     * @param sampler shared by every handler this factory creates; pass a seeded one
+     *                for reproducible sessions. Not thread-safe, so use one factory per thread,
+     *                or give each thread its own sampler through
+     *                {@link #createLevelHandler(int, Language, String, SessionSampler)}.
+     */
+    public LevelFactory(LanguageManager languageManager, SessionSampler sampler) {
+        this(languageManager, sampler, new ReviewScheduler());
+    }
+
+    /**
+     * @param reviewScheduler review state of every learner; share it between factories
+     *                        that serve the same learners
+     */
+    public LevelFactory(LanguageManager languageManager, SessionSampler sampler, ReviewScheduler reviewScheduler) {
+        this(languageManager, sampler, reviewScheduler, new CopyOnWriteArrayList<>());
+    }
+
+    private LevelFactory(LanguageManager languageManager, SessionSampler sampler, ReviewScheduler reviewScheduler,
+                         List<GradeListener> gradeListeners) {
         this.languageManager = languageManager;
+        this.sampler = sampler;
+        this.reviewScheduler = reviewScheduler;
+        this.gradeListeners = gradeListeners;
+    }
+
+    /**
+     * A factory for the topic deck {@code deck} (see {@link DeckCatalog}) that shares
+     * this one's sampler, grading mode and listeners. Its handlers report grades
+     * under "deck/code" so rows of different decks are never mixed up.
+     *
+     * @param reviewScheduler review state for this deck; keep one per deck
+     */
+    public LevelFactory forDeck(String deck, LanguageManager deckManager, ReviewScheduler reviewScheduler) {
+        LevelFactory factory = new LevelFactory(deckManager, sampler, reviewScheduler, gradeListeners);
+        factory.gradingMode = gradingMode;
+        factory.deck = deck;
+        factory.cardStatistics = cardStatistics;
+        factory.adaptive = adaptive;
+        factory.strictAccents = strictAccents;
+        return factory;
+    }
+
+    /** Every handler created from now on reports its graded answers to {@code listener}. */
+    public void addGradeListener(GradeListener listener) {
+        gradeListeners.add(listener);
+    }
+
+    /** Grading mode applied to every handler created from now on. */
+    public void setGradingMode(GradingMode gradingMode) {
+        this.gradingMode = gradingMode;
+    }
+
+    /**
+     * Every handler created from now on counts its graded answers in
+     * {@code cardStatistics}; share one instance between all factories.
+     */
+    public void setCardStatistics(CardStatistics cardStatistics) {
+        this.cardStatistics = cardStatistics;
+    }
+
+    /**
+     * Adaptive mode: handlers created from now on draw their questions weighted
+     * toward the cards the {@link CardStatistics} find hardest, instead of
+     * uniformly. Has no effect without card statistics. Level 4 keeps its own
+     * review schedule.
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Level 3 handlers created from now on count accents: see
+     * {@link LevelThreeHandler#setStrictAccents}.
+     */
+    public void setStrictAccents(boolean strictAccents) {
+        this.strictAccents = strictAccents;
     }
 
     public LevelHandler createLevelHandler(int level, Language language) {
+        return createLevelHandler(level, language, "Guest");
+    }
+
+    /**
+     * Creates the handler for {@code level}. The learner only matters for level 4
+     * (Review), whose schedule is kept per learner and language.
+     *
+     * The handler works on the decks that are current right now: a reload while its
+     * sessions run does not change their questions or answers. Returns null if the
+     * language is no longer in the current decks.
+     */
+    public LevelHandler createLevelHandler(int level, Language language, String learner) {
+        return createLevelHandler(level, language, learner, sampler);
+    }
+
+    /**
+     * Same as {@link #createLevelHandler(int, Language, String)}, but the handler draws
+     * with {@code sampler} instead of the factory's own. Threads that share one factory
+     * pass a sampler each, so their draws never touch the same state.
+     */
+    public LevelHandler createLevelHandler(int level, Language language, String learner, SessionSampler sampler) {
+        long start = Metrics.start();
+        LanguageManager manager = languageManager;
+        if (manager instanceof DefaultLanguageManager) {
+            manager = ((DefaultLanguageManager) manager).pin();
+            language = findLanguage(manager, language.getCode());
+            if (language == null) {
+                return null;
+            }
+        }
+        LevelHandler handler;
         switch (level) {
             case 1:
-                return new LevelOneHandler(languageManager, language);
+                handler = new LevelOneHandler(manager, language, sampler);
+                break;
             case 2:
                 
-                return new LevelTwoHandler(languageManager, language);
+                handler = new LevelTwoHandler(manager, language, sampler);
+                break;
             case 3:
             
-                return new LevelThreeHandler(languageManager, language);
+                LevelThreeHandler levelThree = new LevelThreeHandler(manager, language, sampler);
+                levelThree.setStrictAccents(strictAccents);
+                handler = levelThree;
+                break;
+            case 4:
+                ReviewDeck deck = reviewScheduler.deckFor(learner, language.getCode(), manager.getWordCount(),
+                        generationOf(manager));
+                handler = new ReviewLevelHandler(manager, language, deck);
+                break;
+            case 5:
+                handler = new MultipleChoiceLevelHandler(manager, language, sampler);
+                break;
             default:
                 return null;
         }
+        handler.setGradingMode(gradingMode);
+        handler.setLearner(learner);
+        handler.setDeck(deck);
+        handler.setCardStatistics(cardStatistics, adaptive);
+        if (!gradeListeners.isEmpty()) {
+            handler.setGradeListener(event -> {
+                for (GradeListener listener : gradeListeners) {
+                    listener.onGrade(event);
+                }
+            });
+        }
+        if (start != 0L) {
+            Metrics.stop(Metrics.timer("level_create", "level", String.valueOf(level)), start);
+        }
+        return handler;
+    }
+
+    /** The deck generation of a pinned view, or 0 for managers that do not reload. */
+    static long generationOf(LanguageManager manager) {
+        return manager instanceof DefaultLanguageManager ? ((DefaultLanguageManager) manager).getGeneration() : 0;
+    }
+
+    /** Columns can move between reloads, so a language is matched by its code. */
+    private static Language findLanguage(LanguageManager languageManager, String code) {
+        for (Language language : languageManager.getAvailableLanguages()) {
+            if (language.getCode().equals(code)) {
+                return language;
+            }
+        }
+        return null;
     }
 }
\ No newline at end of file
@@ -1,16 +1,152 @@
 package languageflashcards;
 
+import java.util.List;
 import java.util.Scanner;
 
 public abstract class LevelHandler {
 
+    /** How many suggestions a HINT shows. */
+    protected static final int HINT_SUGGESTIONS = 5;
+
     protected LanguageManager languageManager;
     protected Language targetLanguage;
+    protected SessionSampler sampler;
+    protected GradingMode gradingMode = GradingMode.EXACT;
+    protected String learner = "Guest";
+    protected String deck;
+    protected GradeListener gradeListener;
+    private NearMissGrader nearMissGrader;
+    private CardStatistics cardStatistics;
+    private CardStatistics.Cards cards;
+    private boolean adaptive;
 
     public LevelHandler(LanguageManager languageManager, Language targetLanguage) {
+        this(languageManager, targetLanguage, new SessionSampler());
+    }
+
+    public LevelHandler(LanguageManager languageManager, Language targetLanguage, SessionSampler sampler) {
         this.languageManager = languageManager;
         this.targetLanguage = targetLanguage;
+        this.sampler = sampler;
+    }
+
+    /** Starts a fresh session of this level. */
+    public abstract QuizSession startSession();
+
+    /**
+     * Grades {@code answer} for deck row {@code row} without any session state.
+     * Recording the grade is left to the caller.
+     */
+    public abstract Verdict grade(int row, String answer);
+
+    /**
+     * Suggestions for deck row {@code row}: target-language entries starting with
+     * {@code prefix}, or with the answer's first letter when the prefix is empty.
+     */
+    public List<String> hint(int row, String prefix) {
+        int column = targetLanguage.getColumn();
+        return languageManager.suggestWords(column, hintPrefix(languageManager.getWord(column, row), prefix),
+                HINT_SUGGESTIONS);
+    }
+
+    /** {@code prefix}, or the first character of {@code answer} if no prefix was typed. */
+    protected static String hintPrefix(String answer, String prefix) {
+        String trimmed = answer.trim();
+        if (!prefix.isEmpty() || trimmed.isEmpty()) {
+            return prefix;
+        }
+        return trimmed.substring(0, Character.charCount(trimmed.codePointAt(0)));
+    }
+
+    /** Plays one session on the terminal. */
+    public void run(Scanner scanner) {
+        new ConsoleSessionRunner(scanner, System.out).run(startSession());
+    }
+
+    public void setGradingMode(GradingMode gradingMode) {
+        this.gradingMode = gradingMode;
+    }
+
+    /** Name the graded answers are recorded under. */
+    public void setLearner(String learner) {
+        this.learner = learner;
     }
 
-    public abstract void run(Scanner scanner);
+    /** Topic deck the rows come from, or null for the main decks. */
+    public void setDeck(String deck) {
+        this.deck = deck;
+        this.cards = null;
+    }
+
+    public void setGradeListener(GradeListener gradeListener) {
+        this.gradeListener = gradeListener;
+    }
+
+    /**
+     * Graded answers are counted in {@code cardStatistics}; when {@code adaptive},
+     * sessions also draw their questions weighted toward the cards it finds hardest.
+     */
+    public void setCardStatistics(CardStatistics cardStatistics, boolean adaptive) {
+        this.cardStatistics = cardStatistics;
+        this.cards = null;
+        this.adaptive = adaptive && cardStatistics != null;
+    }
+
+    /**
+     * Picks {@code min(count, total)} distinct rows for a session of {@code level}:
+     * uniformly, or in adaptive mode weighted by each card's difficulty.
+     */
+    protected int[] drawRows(int level, int total, int count) {
+        if (!adaptive) {
+            return sampler.sample(total, count);
+        }
+        int[] rows = new int[Math.max(0, Math.min(total, count))];
+        sampler.sampleWeighted(cards(level).snapshot().weights(total), count, rows);
+        return rows;
+    }
+
+    /**
+     * Reports one graded answer to the card statistics and the listener, if any.
+     *
+     * @param askedAtNanos {@link System#nanoTime()} when the question was shown
+     */
+    protected void recordGrade(int level, int row, boolean correct, long askedAtNanos) {
+        if (gradeListener == null && cardStatistics == null) {
+            return;
+        }
+        long latencyNanos = System.nanoTime() - askedAtNanos;
+        if (cardStatistics != null) {
+            cards(level).record(row, correct, latencyNanos);
+        }
+        if (gradeListener != null) {
+            gradeListener.onGrade(new GradeEvent(System.currentTimeMillis(), learner,
+                    languageKey(), level, row, correct, (int) (latencyNanos / 1_000_000L)));
+        }
+    }
+
+    /** The language's code, prefixed with the topic deck for topic decks ("travel/es"). */
+    protected String languageKey() {
+        return deck == null ? targetLanguage.getCode() : deck + '/' + targetLanguage.getCode();
+    }
+
+    /** This handler's counters; a handler only ever serves one level. */
+    private CardStatistics.Cards cards(int level) {
+        if (cards == null) {
+            cards = cardStatistics.cards(languageKey(), level, LevelFactory.generationOf(languageManager));
+        }
+        return cards;
+    }
+
+    /**
+     * Returns the typo-tolerant grader, or null when grading is {@link GradingMode#EXACT}.
+     */
+    protected NearMissGrader nearMissGrader() {
+        if (gradingMode != GradingMode.NEAR_MISS) {
+            return null;
+        }
+        if (nearMissGrader == null) {
+            nearMissGrader = new NearMissGrader();
+        }
+        return nearMissGrader;
+    }
 }
\ No newline at end of file
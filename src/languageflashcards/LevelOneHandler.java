@@ -1,9 +1,6 @@
 package languageflashcards;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
 
 public class LevelOneHandler extends LevelHandler {
 
@@ -13,57 +10,73 @@ public class LevelOneHandler extends LevelHandler {
         super(languageManager, targetLanguage);
     }
 
-    @Override
-    public void run(Scanner scanner) {
-        System.out.println("\n=== LEVEL 1: Vocabulary Practice ===");
-        System.out.println("Translate the following words into " + targetLanguage.getDisplayName() + ".");
-        System.out.println("Type 'EXIT' to return to the menu early.\n");
+    public LevelOneHandler(LanguageManager languageManager, Language targetLanguage, SessionSampler sampler) {
+        super(languageManager, targetLanguage, sampler);
+    }
 
+    @Override
+    public QuizSession startSession() {
         int totalWords = languageManager.getWordCount();
-        List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i < totalWords; i++) {
-            indices.add(i);
+        return new Session(drawRows(1, totalWords, QUESTIONS_PER_SESSION));
+    }
+
+    @Override
+    public Verdict grade(int wordIndex, String input) {
+        int column = targetLanguage.getColumn();
+
+        // any of the "/"-separated alternatives counts, ignoring case
+        if (((DefaultLanguageManager) languageManager).isCorrectWord(column, wordIndex, input)) {
+            return Verdict.correct(() -> languageManager.getWord(column, wordIndex), "✅ Correct!");
+        }
+        String correctTranslation = languageManager.getWord(column, wordIndex);
+        NearMissGrader nearMiss = nearMissGrader();
+        if (nearMiss != null && nearMiss.isNearMissAlternatives(correctTranslation, input)) {
+            return Verdict.nearMiss(correctTranslation, "✅ Close enough! Mind the spelling: " + correctTranslation);
+        }
+        return Verdict.incorrect(correctTranslation, "❌ Incorrect. The answer was: " + correctTranslation);
+    }
+
+    private class Session extends AbstractQuizSession {
+        private final int[] indices;
+
+        Session(int[] indices) {
+            super(LevelOneHandler.this, 1);
+            this.indices = indices;
+        }
+
+        @Override
+        public List<String> getIntro() {
+            return List.of("\n=== LEVEL 1: Vocabulary Practice ===",
+                    "Translate the following words into " + targetLanguage.getDisplayName() + ".",
+                    "Type 'HINT' (or 'HINT <first letters>') for suggestions.",
+                    "Type 'EXIT' to return to the menu early.\n");
         }
-        
-        Collections.shuffle(indices);
-
-        int limit = Math.min(QUESTIONS_PER_SESSION, totalWords);
-        int score = 0;
-
-        for (int i = 0; i < limit; i++) {
-            int wordIndex = indices.get(i);
-            String englishWord = ((DefaultLanguageManager) languageManager).getEnglishWord(wordIndex);
-            String correctTranslation = languageManager.getWord(targetLanguage.getCode(), wordIndex);
-
-            System.out.printf("Q%d: %s -> ", (i + 1), englishWord);
-            String input = scanner.nextLine().trim();
-
-            if (input.equalsIgnoreCase("EXIT")) {
-                System.out.println("Exiting level...");
-                break;
-            }
-
-            boolean isCorrect = false;
-            String[] possibleAnswers = correctTranslation.split("/");
-            
-            for (String ans : possibleAnswers) {
-                
-                if (input.equalsIgnoreCase(ans.trim())) {
-                    isCorrect = true;
-                    break;
-                }
-            }
-
-            if (isCorrect) {
-                System.out.println("✅ Correct!");
-                score++;
-            } else {
-                System.out.println("❌ Incorrect. The answer was: " + correctTranslation);
-            }
+
+        @Override
+        protected int nextRow(int asked) {
+            return asked < indices.length ? indices[asked] : -1;
+        }
+
+        @Override
+        protected String question(int row) {
+            return ((DefaultLanguageManager) languageManager).getEnglishWord(row);
         }
 
-        System.out.println("\n------------------------------------------------");
-        System.out.printf("Session Complete! Final Score: %d / %d%n", score, limit);
-        System.out.println("------------------------------------------------");
+        @Override
+        protected String promptText(int number, String englishWord) {
+            return String.format("Q%d: %s -> ", number, englishWord);
+        }
+
+        @Override
+        protected List<String> exitFeedback() {
+            return List.of("Exiting level...");
+        }
+
+        @Override
+        protected List<String> summaryLines(int asked, int score) {
+            return List.of("\n------------------------------------------------",
+                    String.format("Session Complete! Final Score: %d / %d", score, indices.length),
+                    "------------------------------------------------");
+        }
     }
 }
\ No newline at end of file
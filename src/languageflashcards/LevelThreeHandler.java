@@ -1,79 +1,91 @@
 package languageflashcards;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Set;
 
 public class LevelThreeHandler extends LevelHandler {
 
     private static final int QUESTIONS_TO_ASK = 3;
 
+    private boolean strictAccents;
+
     public LevelThreeHandler(LanguageManager languageManager, Language targetLanguage) {
         super(languageManager, targetLanguage);
     }
 
+    public LevelThreeHandler(LanguageManager languageManager, Language targetLanguage, SessionSampler sampler) {
+        super(languageManager, targetLanguage, sampler);
+    }
+
+    /**
+     * Strict accents: a translation that is right except for its accents ("Buenos
+     * dias" for "Buenos días") is marked wrong instead of accepted.
+     */
+    public void setStrictAccents(boolean strictAccents) {
+        this.strictAccents = strictAccents;
+    }
+
     @Override
-    public void run(Scanner scanner) {
-        System.out.println("\n=== LEVEL 3: Grammar Mastery ===");
-        System.out.println("Translate the following sentences into " + targetLanguage.getDisplayName() + ".");
-        System.out.println("Pay attention to Capitalization and Punctuation!\n");
+    public QuizSession startSession() {
+        int totalPhrases = ((DefaultLanguageManager) languageManager).getPhraseCount();
+        return new Session(drawRows(3, totalPhrases, QUESTIONS_TO_ASK));
+    }
 
+    @Override
+    public Verdict grade(int index, String input) {
         DefaultLanguageManager mgr = (DefaultLanguageManager) languageManager;
-        int totalPhrases = mgr.getPhraseCount();
-
-        List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i < totalPhrases; i++) {
-            indices.add(i);
+        String correctTranslation = mgr.getPhrase(targetLanguage.getColumn(), index);
+        List<String> feedback = new ArrayList<>();
+
+        boolean capCheck = !input.isEmpty() && Character.isUpperCase(input.charAt(0));
+        boolean puncCheck = endsWithPunctuation(input);
+        boolean transCheck = mgr.isCorrectSentence(targetLanguage.getColumn(), index, input);
+        boolean accentCheck = !strictAccents || !transCheck
+                || TextNormalizer.equals(correctTranslation, input, TextNormalizer.Mode.ACCENTED);
+
+        NearMissGrader nearMiss = nearMissGrader();
+        boolean typoOnly = !transCheck && nearMiss != null
+                && nearMiss.isNearMissNormalized(correctTranslation, input);
+        if (typoOnly) {
+            transCheck = true;
+            feedback.add("   (Close enough - mind the spelling: " + correctTranslation + ")");
         }
-        Collections.shuffle(indices);
-
-        int score = 0;
-        int limit = Math.min(QUESTIONS_TO_ASK, totalPhrases);
 
-        for (int i = 0; i < limit; i++) {
+        Set<Verdict.Issue> issues = EnumSet.noneOf(Verdict.Issue.class);
+        if (capCheck && puncCheck && transCheck && accentCheck) {
+            feedback.add("🌟 Flawless! (Grammar + Translation correct)");
+        } else {
+            feedback.add("⚠️ Needs Improvement:");
 
-            int index = indices.get(i);
-            String englishPhrase = mgr.getEnglishPhrase(index);
-            String correctTranslation = mgr.getPhrase(targetLanguage.getCode(), index);
-
-            System.out.println("Translate: \"" + englishPhrase + "\"");
-            System.out.print("> ");
-            String input = scanner.nextLine().trim();
-
-            if (input.equalsIgnoreCase("EXIT")) break;
-
-            boolean capCheck = !input.isEmpty() && Character.isUpperCase(input.charAt(0));
-
-            boolean puncCheck = endsWithPunctuation(input);
-
-            boolean transCheck = normalize(input).equalsIgnoreCase(normalize(correctTranslation));
+            if (!transCheck) {
+                issues.add(Verdict.Issue.TRANSLATION);
+                feedback.add("   - Translation mismatch.");
+                feedback.add("     Expected: " + correctTranslation);
+            }
 
-            if (capCheck && puncCheck && transCheck) {
-                System.out.println("🌟 Flawless! (Grammar + Translation correct)");
-                score++;
-            } else {
-                System.out.println("⚠️ Needs Improvement:");
-                
-                if (!transCheck) {
-                    System.out.println("   - Translation mismatch."); 
-                    System.out.println("     Expected: " + correctTranslation);
+            // Only complain about grammar if the translation was actually correct
+            if (transCheck) {
+                if (!accentCheck) {
+                    issues.add(Verdict.Issue.ACCENTS);
+                    feedback.add("   - Mind the accents: " + correctTranslation);
+                }
+                if (!capCheck) {
+                    issues.add(Verdict.Issue.CAPITALIZATION);
+                    feedback.add("   - Start your sentence with a Capital letter.");
                 }
-                
-                // Only complain about grammar if the translation was actually correct
-                if (transCheck) {
-                    if (!capCheck) System.out.println("   - Start your sentence with a Capital letter.");
-                    if (!puncCheck) System.out.println("   - End your sentence with proper punctuation (. ? !).");
+                if (!puncCheck) {
+                    issues.add(Verdict.Issue.PUNCTUATION);
+                    feedback.add("   - End your sentence with proper punctuation (. ? !).");
                 }
             }
-            System.out.println(); // spacer
         }
+        feedback.add(""); // spacer
 
-        System.out.printf("Grammar Level Complete. Mastery Score: %d/%d%n", score, limit);
-    }
-
-    private String normalize(String text) {
-        return text.replaceAll("[^a-zA-Z0-9\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uac00-\ud7af]", "").toLowerCase();
+        Verdict.Outcome outcome = !issues.isEmpty() ? Verdict.Outcome.INCORRECT
+                : typoOnly ? Verdict.Outcome.NEAR_MISS : Verdict.Outcome.CORRECT;
+        return new Verdict(outcome, correctTranslation, issues, feedback);
     }
 
     private boolean endsWithPunctuation(String text) {
@@ -81,4 +93,49 @@ public class LevelThreeHandler extends LevelHandler {
         char last = text.charAt(text.length() - 1);
         return last == '.' || last == '?' || last == '!' || last == '。' || last == '؟';
     }
+
+    /** Suggests target-language phrases rather than words. */
+    @Override
+    public List<String> hint(int row, String prefix) {
+        DefaultLanguageManager mgr = (DefaultLanguageManager) languageManager;
+        int column = targetLanguage.getColumn();
+        return mgr.suggestPhrases(column, hintPrefix(mgr.getPhrase(column, row), prefix), HINT_SUGGESTIONS);
+    }
+
+    private class Session extends AbstractQuizSession {
+        private final int[] indices;
+
+        Session(int[] indices) {
+            super(LevelThreeHandler.this, 3);
+            this.indices = indices;
+        }
+
+        @Override
+        public List<String> getIntro() {
+            return List.of("\n=== LEVEL 3: Grammar Mastery ===",
+                    "Translate the following sentences into " + targetLanguage.getDisplayName() + ".",
+                    "Type 'HINT' (or 'HINT <first letters>') for suggestions.",
+                    "Pay attention to Capitalization and Punctuation!\n");
+        }
+
+        @Override
+        protected int nextRow(int asked) {
+            return asked < indices.length ? indices[asked] : -1;
+        }
+
+        @Override
+        protected String question(int row) {
+            return ((DefaultLanguageManager) languageManager).getEnglishPhrase(row);
+        }
+
+        @Override
+        protected String promptText(int number, String englishPhrase) {
+            return "Translate: \"" + englishPhrase + "\"\n> ";
+        }
+
+        @Override
+        protected List<String> summaryLines(int asked, int score) {
+            return List.of(String.format("Grammar Level Complete. Mastery Score: %d/%d", score, indices.length));
+        }
+    }
 }
\ No newline at end of file
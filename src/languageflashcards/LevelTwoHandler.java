@@ -1,9 +1,6 @@
 package languageflashcards;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
 
 public class LevelTwoHandler extends LevelHandler {
 
@@ -13,44 +10,73 @@ public class LevelTwoHandler extends LevelHandler {
         super(languageManager, targetLanguage);
     }
 
+    public LevelTwoHandler(LanguageManager languageManager, Language targetLanguage, SessionSampler sampler) {
+        super(languageManager, targetLanguage, sampler);
+    }
+
+    @Override
+    public QuizSession startSession() {
+        int totalPhrases = ((DefaultLanguageManager) languageManager).getPhraseCount();
+        return new Session(drawRows(2, totalPhrases, QUESTIONS_PER_SESSION));
+    }
+
+    @Override
+    public Verdict grade(int idx, String input) {
+        DefaultLanguageManager mgr = (DefaultLanguageManager) languageManager;
+        String correctPhrase = mgr.getPhrase(targetLanguage.getColumn(), idx);
+
+        if (mgr.isCorrectPhrase(targetLanguage.getColumn(), idx, input)) {
+            return Verdict.correct(correctPhrase, "✅ Perfect!");
+        }
+        NearMissGrader nearMiss = nearMissGrader();
+        if (nearMiss != null && nearMiss.isNearMiss(correctPhrase, input)) {
+            return Verdict.nearMiss(correctPhrase, "✅ Close enough! Mind the spelling: " + correctPhrase);
+        }
+        return Verdict.incorrect(correctPhrase, "❌ Incorrect.", "Correct: " + correctPhrase);
+    }
+
+    /** Suggests target-language phrases rather than words. */
     @Override
-    public void run(Scanner scanner) {
-        System.out.println("\n=== LEVEL 2: Phrase Challenge ===");
-        System.out.println("Translate the common phrases into " + targetLanguage.getDisplayName() + ".");
-        System.out.println("Note: Precision matters!");
-        
+    public List<String> hint(int row, String prefix) {
         DefaultLanguageManager mgr = (DefaultLanguageManager) languageManager;
-        int totalPhrases = mgr.getPhraseCount();
+        int column = targetLanguage.getColumn();
+        return mgr.suggestPhrases(column, hintPrefix(mgr.getPhrase(column, row), prefix), HINT_SUGGESTIONS);
+    }
+
+    private class Session extends AbstractQuizSession {
+        private final int[] indices;
 
-        List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i < totalPhrases; i++) {
-            indices.add(i);
+        Session(int[] indices) {
+            super(LevelTwoHandler.this, 2);
+            this.indices = indices;
         }
-        Collections.shuffle(indices);
 
-        int limit = Math.min(QUESTIONS_PER_SESSION, totalPhrases);
-        int score = 0;
+        @Override
+        public List<String> getIntro() {
+            return List.of("\n=== LEVEL 2: Phrase Challenge ===",
+                    "Translate the common phrases into " + targetLanguage.getDisplayName() + ".",
+                    "Type 'HINT' (or 'HINT <first letters>') for suggestions.",
+                    "Note: Precision matters!");
+        }
 
-        for (int i = 0; i < limit; i++) {
-            int idx = indices.get(i);
-            String englishPhrase = mgr.getEnglishPhrase(idx);
-            String correctPhrase = mgr.getPhrase(targetLanguage.getCode(), idx);
+        @Override
+        protected int nextRow(int asked) {
+            return asked < indices.length ? indices[asked] : -1;
+        }
 
-            System.out.println("\nPhrase: \"" + englishPhrase + "\"");
-            System.out.print("Your translation: ");
-            String input = scanner.nextLine().trim();
+        @Override
+        protected String question(int row) {
+            return ((DefaultLanguageManager) languageManager).getEnglishPhrase(row);
+        }
 
-            if (input.equalsIgnoreCase("EXIT")) break;
+        @Override
+        protected String promptText(int number, String englishPhrase) {
+            return "\nPhrase: \"" + englishPhrase + "\"\nYour translation: ";
+        }
 
-            if (input.equalsIgnoreCase(correctPhrase)) {
-                System.out.println("✅ Perfect!");
-                score++;
-            } else {
-                System.out.println("❌ Incorrect."); 
-                System.out.println("Correct: " + correctPhrase);
-            }
+        @Override
+        protected List<String> summaryLines(int asked, int score) {
+            return List.of(String.format("\nLevel 2 Complete. Score: %d/%d", score, indices.length));
         }
-        
-        System.out.printf("\nLevel 2 Complete. Score: %d/%d%n", score, limit);
     }
 }
\ No newline at end of file
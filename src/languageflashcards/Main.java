@@ -1,25 +1,94 @@
 package languageflashcards;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
 public class Main {
 
+    private static final int DEFAULT_SERVER_PORT = 7070;
+    private static final Path DEFAULT_METRICS_DIR = Paths.get("data", "metrics");
+    private static final Path DEFAULT_ANALYTICS_DIR = Paths.get("data", "analytics");
+    private static final long MB = 1L << 20;
+
     public static void main(String[] args) {
         try {
+            List<String> options = Arrays.asList(args);
+            Path metricsDir = enableMetrics(options);
+            // created first so its startup-to-first-prompt clock covers everything before the name prompt
+            TerminalRenderer renderer = new TerminalRenderer(renderMode(options));
+
+            if (options.contains("--import")) {
+                runImport(options);
+                return;
+            }
 
-            LanguageManager manager = new DefaultLanguageManager();
+            // the CSVs load in the background while the UI shows its intro and asks for a name
+            DefaultLanguageManager manager = DefaultLanguageManager.preload(Paths.get("data"));
 
+            GradingMode gradingMode = options.contains("--near-miss") ? GradingMode.NEAR_MISS : GradingMode.EXACT;
+            // review schedules and card statistics follow their cards to new rows when data/ is reloaded
+            ReviewScheduler reviewScheduler = new ReviewScheduler();
+            manager.addReloadListener(reviewScheduler);
+            LevelFactory factory = new LevelFactory(manager, new SessionSampler(), reviewScheduler);
+            factory.setGradingMode(gradingMode);
+            // --adaptive: questions lean toward the cards learners miss most
+            CardStatistics cardStatistics = options.contains("--adaptive") ? new CardStatistics() : null;
+            if (cardStatistics != null) {
+                manager.addReloadListener(cardStatistics);
+            }
+            factory.setCardStatistics(cardStatistics);
+            factory.setAdaptive(cardStatistics != null);
+            // --strict-accents: Level 3 no longer accepts "Buenos dias" for "Buenos días"
+            boolean strictAccents = options.contains("--strict-accents");
+            factory.setStrictAccents(strictAccents);
+            Path analyticsDir = optionDirectory(options, "--analytics", DEFAULT_ANALYTICS_DIR);
+            LearningAnalytics analytics = analyticsDir != null ? enableAnalytics(analyticsDir) : null;
 
-            LevelFactory factory = new LevelFactory(manager);
+            if (options.contains("--grade")) {
+                runBatchGrading(manager.awaitLoaded(), gradingMode, analytics, options);
+                return;
+            }
 
+            ProgressLog progressLog = openProgressLog();
+            DeckWatcher watcher = watchDecks(manager);
+            if (options.contains("--server")) {
+                runServer(manager.awaitLoaded(), reviewScheduler, gradingMode, cardStatistics, strictAccents, progressLog,
+                        metricsDir, analytics, analyticsDir, serverPort(options));
+                return;
+            }
+            if (progressLog != null) {
+                factory.addGradeListener(progressLog);
+            }
+            if (analytics != null) {
+                factory.addGradeListener(analytics);
+            }
 
-            LanguageLearningFlashcardsUI ui = new LanguageLearningFlashcardsUI(manager, factory);
-            ui.start();
+            DeckCatalog catalog = openDeckCatalog(manager, options);
+            LanguageLearningFlashcardsUI ui = new LanguageLearningFlashcardsUI(manager, factory, renderer, catalog);
+            ui.setDecksLoaded(manager.loaded());
+            try {
+                ui.start();
+            } finally {
+                if (watcher != null) {
+                    watcher.close();
+                }
+                if (progressLog != null) {
+                    progressLog.close();
+                }
+            }
 
         } catch (RuntimeException e) {
+            Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
             System.err.println("==========================================");
             System.err.println("❌ CRITICAL STARTUP ERROR");
             System.err.println("==========================================");
             System.err.println("The application could not start.");
-            System.err.println("Error Details: " + e.getMessage());
+            System.err.println("Error Details: " + error.getMessage());
             System.err.println("\nTroubleshooting:");
             System.out.println("1. Make sure the 'data' folder exists in your project root.");
             System.out.println("2. Check that 'vocab.csv' and 'phrases.csv' are inside 'data'.");
@@ -28,4 +97,186 @@ public class Main {
             e.printStackTrace();
         }
     }
+
+    /**
+     * {@code --metrics [dir]} turns on {@link Metrics} before anything is loaded and
+     * exports them when the JVM exits.
+     *
+     * @return the export directory, or null when metrics stay off
+     */
+    private static Path enableMetrics(List<String> options) {
+        Path dir = optionDirectory(options, "--metrics", DEFAULT_METRICS_DIR);
+        if (dir == null) {
+            return null;
+        }
+        Metrics.enable();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                Metrics.export(dir);
+            } catch (IOException e) {
+                System.err.println("Metrics could not be written: " + e.getMessage());
+            }
+        }));
+        return dir;
+    }
+
+    /**
+     * {@code --analytics [dir]} keeps {@link LearningAnalytics} over every graded answer
+     * and exports it when the JVM exits.
+     */
+    private static LearningAnalytics enableAnalytics(Path dir) {
+        LearningAnalytics analytics = new LearningAnalytics();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                analytics.export(dir);
+            } catch (IOException e) {
+                System.err.println("Analytics could not be written: " + e.getMessage());
+            }
+        }));
+        return analytics;
+    }
+
+    /** The directory after {@code option}, {@code fallback} if none was given, or null without the option. */
+    private static Path optionDirectory(List<String> options, String option, Path fallback) {
+        int i = options.indexOf(option);
+        if (i < 0) {
+            return null;
+        }
+        return i + 1 < options.size() && !options.get(i + 1).startsWith("--")
+                ? Paths.get(options.get(i + 1)) : fallback;
+    }
+
+    /** {@code --headless} wins over {@code --fast}; neither means the animated UI. */
+    private static TerminalRenderer.Mode renderMode(List<String> options) {
+        if (options.contains("--headless")) {
+            return TerminalRenderer.Mode.HEADLESS;
+        }
+        return options.contains("--fast") ? TerminalRenderer.Mode.FAST : TerminalRenderer.Mode.ANIMATED;
+    }
+
+    /** Port after {@code --server}, if one was given. */
+    private static int serverPort(List<String> options) {
+        int i = options.indexOf("--server");
+        if (i + 1 < options.size() && options.get(i + 1).matches("\\d+")) {
+            return Integer.parseInt(options.get(i + 1));
+        }
+        return DEFAULT_SERVER_PORT;
+    }
+
+    /**
+     * Grades a submissions file: {@code --grade <file> [--report <dir>]}. The reports go
+     * to {@code grading-report} unless a directory is given. With {@code --analytics}
+     * the grades also feed the analytics, written on exit.
+     */
+    private static void runBatchGrading(LanguageManager manager, GradingMode gradingMode,
+                                        LearningAnalytics analytics, List<String> options)
+            throws IOException, InterruptedException {
+        int i = options.indexOf("--grade");
+        if (i + 1 >= options.size()) {
+            System.err.println("Usage: java languageflashcards.Main --grade <submissions.csv> [--report <dir>]");
+            return;
+        }
+        Path submissions = Paths.get(options.get(i + 1));
+        int r = options.indexOf("--report");
+        Path reportDir = Paths.get(r >= 0 && r + 1 < options.size() ? options.get(r + 1) : "grading-report");
+
+        BatchGrader grader = new BatchGrader(manager, gradingMode);
+        if (analytics != null) {
+            grader.addGradeListener(analytics);
+        }
+        BatchGrader.Result result = grader.grade(submissions, reportDir);
+        System.out.println("Graded " + submissions + ": " + result);
+        System.out.println("Reports written to " + reportDir.toAbsolutePath());
+    }
+
+    /**
+     * Merges word lists into a deck: {@code --import <file>... [--into <deck.csv>]}.
+     * Files are TSV or JSON Lines, optionally gzipped; the deck defaults to data/vocab.csv.
+     */
+    private static void runImport(List<String> options) throws IOException {
+        int i = options.indexOf("--import");
+        List<Path> inputs = new ArrayList<>();
+        for (int j = i + 1; j < options.size() && !options.get(j).startsWith("--"); j++) {
+            inputs.add(Paths.get(options.get(j)));
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: java languageflashcards.Main --import <words.tsv|words.jsonl[.gz]>... [--into <deck.csv>]");
+            return;
+        }
+        int t = options.indexOf("--into");
+        Path deck = t >= 0 && t + 1 < options.size()
+                ? Paths.get(options.get(t + 1)) : Paths.get("data", DefaultLanguageManager.VOCAB_CSV);
+        try {
+            DeckImporter.Result result = new DeckImporter().importInto(deck, inputs);
+            System.out.println("Imported into " + deck + ": " + result);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    /** Serves quizzes over TCP until the process is stopped. */
+    private static void runServer(LanguageManager manager, ReviewScheduler reviewScheduler, GradingMode gradingMode,
+                                  CardStatistics cardStatistics, boolean strictAccents, ProgressLog progressLog,
+                                  Path metricsDir, LearningAnalytics analytics, Path analyticsDir, int port)
+            throws IOException {
+        QuizServer server = new QuizServer(manager, reviewScheduler, gradingMode);
+        server.setMetricsDirectory(metricsDir);
+        server.setAnalytics(analytics, analyticsDir);
+        server.setCardStatistics(cardStatistics, cardStatistics != null);
+        server.setStrictAccents(strictAccents);
+        if (progressLog != null) {
+            server.addGradeListener(progressLog);
+            server.setProgressStats(progressLog.getStats());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+                if (progressLog != null) {
+                    progressLog.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Progress may be incomplete: " + e.getMessage());
+            }
+        }));
+        System.out.println("Quiz server listening on port " + server.bind(port));
+        server.serve();
+    }
+
+    /** Edits to the CSVs show up in new quizzes without a restart, if the folder can be watched. */
+    private static DeckWatcher watchDecks(DefaultLanguageManager manager) {
+        try {
+            return DeckWatcher.start(manager);
+        } catch (IOException e) {
+            System.err.println("Deck changes will need a restart: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Topic decks are the subfolders of the data folder. {@code --deck-budget <MB>}
+     * caps how much of them stays loaded; the default is a quarter of the heap.
+     */
+    private static DeckCatalog openDeckCatalog(DefaultLanguageManager manager, List<String> options) {
+        int i = options.indexOf("--deck-budget");
+        long budget = i >= 0 && i + 1 < options.size() && options.get(i + 1).matches("\\d+")
+                ? Long.parseLong(options.get(i + 1)) * MB : Runtime.getRuntime().maxMemory() / 4;
+        DeckCatalog catalog = new DeckCatalog(manager.getDataDirectory(), budget);
+        try {
+            catalog.refresh();
+            return catalog;
+        } catch (IOException e) {
+            System.err.println("Topic decks are unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Progress is nice to have: without a writable data/progress the app still runs. */
+    private static ProgressLog openProgressLog() {
+        try {
+            return ProgressLog.open(Paths.get("data", "progress"));
+        } catch (IOException e) {
+            System.err.println("Progress will not be saved: " + e.getMessage());
+            return null;
+        }
+    }
 }
\ No newline at end of file
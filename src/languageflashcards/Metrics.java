@@ -0,0 +1,256 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency timers for the hot paths: deck loading,
+ * handler creation, grading and screen rendering.
+ *
+ * Off by default. Call sites look up their {@link Timer}/{@link Counter} once and
+ * then only pay for {@link #start()} - one volatile read - while metrics are off.
+ * When on, every {@link #stop} also commits an {@link OperationEvent} if a JFR
+ * recording wants it.
+ *
+ * {@link #export(Path)} writes everything to {@code metrics.json} and, in the
+ * Prometheus text format, {@code metrics.prom}. Timers are exported as summaries in
+ * seconds.
+ */
+public final class Metrics {
+
+    private static final String PREFIX = "flashcards_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_KEYS = {"p50Nanos", "p90Nanos", "p99Nanos", "p999Nanos"};
+
+    private static volatile boolean enabled;
+    private static final Map<String, Timer> TIMERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    /** Latency histogram of one operation, e.g. {@code grade{level="1"}}. */
+    public static final class Timer {
+        private final String name;
+        private final String labels;
+        private final String detail;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Timer(String name, String labels, String detail) {
+            this.name = name;
+            this.labels = labels;
+            this.detail = detail;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+    }
+
+    /** Monotonic count, e.g. {@code answers{level="1",outcome="CORRECT"}}. */
+    public static final class Counter {
+        private final String name;
+        private final String labels;
+        private final LongAdder adder = new LongAdder();
+
+        private Counter(String name, String labels) {
+            this.name = name;
+            this.labels = labels;
+        }
+
+        public void increment() {
+            if (enabled) {
+                adder.increment();
+            }
+        }
+
+        public void add(long n) {
+            if (enabled) {
+                adder.add(n);
+            }
+        }
+
+        public long get() {
+            return adder.sum();
+        }
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the timer for {@code name} and label pairs ({@code "level", "1", ...}),
+     * creating it on first use.
+     */
+    public static Timer timer(String name, String... labels) {
+        String rendered = renderLabels(labels);
+        return TIMERS.computeIfAbsent(name + rendered, key -> new Timer(name, rendered, detail(labels)));
+    }
+
+    public static Counter counter(String name, String... labels) {
+        String rendered = renderLabels(labels);
+        return COUNTERS.computeIfAbsent(name + rendered, key -> new Counter(name, rendered));
+    }
+
+    /** Start time for {@link #stop}, or 0 while metrics are off. */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /** Records the time since {@code start}; does nothing if {@code start} is 0 or there is no timer. */
+    public static void stop(Timer timer, long start) {
+        if (start == 0L || timer == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        timer.histogram.record(elapsed);
+
+        OperationEvent event = new OperationEvent();
+        if (event.shouldCommit()) {
+            event.operation = timer.name;
+            event.detail = timer.detail;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+
+    // ---------------- Export ----------------
+
+    /**
+     * Writes {@code metrics.json} and {@code metrics.prom} into {@code dir}. Each file is
+     * written under a temporary name and moved into place.
+     */
+    public static void export(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        write(dir.resolve("metrics.json"), toJson());
+        write(dir.resolve("metrics.prom"), toPrometheus());
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write(content);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        String lastName = null;
+        for (Counter counter : COUNTERS.values()) {
+            String name = PREFIX + counter.name + "_total";
+            if (!name.equals(lastName)) {
+                out.append("# TYPE ").append(name).append(" counter\n");
+                lastName = name;
+            }
+            out.append(name).append(counter.labels).append(' ').append(counter.get()).append('\n');
+        }
+        for (Timer timer : TIMERS.values()) {
+            String name = PREFIX + timer.name + "_seconds";
+            if (!name.equals(lastName)) {
+                out.append("# TYPE ").append(name).append(" summary\n");
+                lastName = name;
+            }
+            LatencyHistogram histogram = timer.histogram;
+            for (double quantile : QUANTILES) {
+                out.append(name).append(withLabel(timer.labels, "quantile", String.valueOf(quantile))).append(' ')
+                        .append(seconds(histogram.getValueAtQuantile(quantile))).append('\n');
+            }
+            out.append(name).append("_sum").append(timer.labels).append(' ')
+                    .append(seconds(histogram.getSumNanos())).append('\n');
+            out.append(name).append("_count").append(timer.labels).append(' ')
+                    .append(histogram.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    static String toJson() {
+        StringBuilder out = new StringBuilder("{\n  \"timestampMillis\": ").append(System.currentTimeMillis());
+        out.append(",\n  \"counters\": [");
+        String separator = "\n";
+        for (Counter counter : COUNTERS.values()) {
+            out.append(separator).append("    {\"name\": \"").append(counter.name).append("\", \"labels\": ")
+                    .append(labelsJson(counter.labels)).append(", \"value\": ").append(counter.get()).append('}');
+            separator = ",\n";
+        }
+        out.append("\n  ],\n  \"timers\": [");
+        separator = "\n";
+        for (Timer timer : TIMERS.values()) {
+            LatencyHistogram histogram = timer.histogram;
+            out.append(separator).append("    {\"name\": \"").append(timer.name).append("\", \"labels\": ")
+                    .append(labelsJson(timer.labels))
+                    .append(", \"count\": ").append(histogram.getCount())
+                    .append(", \"sumNanos\": ").append(histogram.getSumNanos())
+                    .append(", \"maxNanos\": ").append(histogram.getMaxNanos());
+            for (int q = 0; q < QUANTILES.length; q++) {
+                out.append(", \"").append(QUANTILE_KEYS[q]).append("\": ")
+                        .append(histogram.getValueAtQuantile(QUANTILES[q]));
+            }
+            out.append('}');
+            separator = ",\n";
+        }
+        return out.append("\n  ]\n}\n").toString();
+    }
+
+    // ---------------- Labels ----------------
+
+    /** {@code ("level", "1")} -> {@code {level="1"}}; empty for no labels. */
+    private static String renderLabels(String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels come in name/value pairs");
+        }
+        if (labels.length == 0) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return out.append('}').toString();
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    /** {@code {level="1"}} -> {@code {"level": "1"}}. */
+    private static String labelsJson(String labels) {
+        if (labels.isEmpty()) {
+            return "{}";
+        }
+        return labels.replaceAll("(\\w+)=\"", "\"$1\": \"").replace(",\"", ", \"");
+    }
+
+    private static String detail(String[] labels) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            out.append(labels[i]).append('=').append(labels[i + 1]);
+        }
+        return out.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
\ No newline at end of file
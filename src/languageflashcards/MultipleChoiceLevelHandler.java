@@ -0,0 +1,122 @@
+package languageflashcards;
+
+import java.util.List;
+
+/**
+ * Level 5: quick multiple choice on the vocabulary.
+ *
+ * Each question offers the right translation among look-alike words of the same
+ * language (similar spelling, else similar length), taken from the deck's
+ * {@link DistractorIndex}. The learner answers with the choice's number or by
+ * typing the word; either is graded like Level 1.
+ */
+public class MultipleChoiceLevelHandler extends LevelHandler {
+
+    private static final int QUESTIONS_PER_SESSION = 15;
+    private static final int CHOICES = 4;
+
+    public MultipleChoiceLevelHandler(LanguageManager languageManager, Language targetLanguage, SessionSampler sampler) {
+        super(languageManager, targetLanguage, sampler);
+    }
+
+    @Override
+    public QuizSession startSession() {
+        int totalWords = languageManager.getWordCount();
+        return new Session(drawRows(5, totalWords, QUESTIONS_PER_SESSION));
+    }
+
+    @Override
+    public Verdict grade(int wordIndex, String input) {
+        int column = targetLanguage.getColumn();
+        if (((DefaultLanguageManager) languageManager).isCorrectWord(column, wordIndex, input)) {
+            return Verdict.correct(() -> languageManager.getWord(column, wordIndex), "✅ Correct!");
+        }
+        String correctTranslation = languageManager.getWord(column, wordIndex);
+        return Verdict.incorrect(correctTranslation, "❌ Incorrect. The answer was: " + correctTranslation);
+    }
+
+    /**
+     * The right answer plus up to {@code CHOICES - 1} distractors, shuffled. Look-alikes
+     * that would also be accepted (the same word on another row) are left out.
+     */
+    String[] choices(int row) {
+        DefaultLanguageManager mgr = (DefaultLanguageManager) languageManager;
+        int column = targetLanguage.getColumn();
+        String[] candidates = mgr.getDistractors(column, row, CHOICES + 2);
+        String[] options = new String[CHOICES];
+        options[0] = mgr.getWord(column, row);
+        int count = 1;
+        for (String candidate : candidates) {
+            if (count == CHOICES) {
+                break;
+            }
+            if (!mgr.isCorrectWord(column, row, candidate)) {
+                options[count++] = candidate;
+            }
+        }
+        int[] order = sampler.sample(count, count);
+        String[] shuffled = new String[count];
+        for (int i = 0; i < count; i++) {
+            shuffled[i] = options[order[i]];
+        }
+        return shuffled;
+    }
+
+    private class Session extends AbstractQuizSession {
+        private final int[] indices;
+        private String[] choices = new String[0];
+
+        Session(int[] indices) {
+            super(MultipleChoiceLevelHandler.this, 5);
+            this.indices = indices;
+        }
+
+        @Override
+        public List<String> getIntro() {
+            return List.of("\n=== LEVEL 5: Quick Pick ===",
+                    "Pick the " + targetLanguage.getDisplayName() + " word: type its number or the word itself.",
+                    "Type 'EXIT' to return to the menu early.\n");
+        }
+
+        @Override
+        protected int nextRow(int asked) {
+            return asked < indices.length ? indices[asked] : -1;
+        }
+
+        /** The English word followed by the numbered choices, so remote clients see them too. */
+        @Override
+        protected String question(int row) {
+            choices = choices(row);
+            StringBuilder question = new StringBuilder(((DefaultLanguageManager) languageManager).getEnglishWord(row));
+            for (int i = 0; i < choices.length; i++) {
+                question.append("   ").append(i + 1).append(") ").append(choices[i]);
+            }
+            return question.toString();
+        }
+
+        @Override
+        protected String promptText(int number, String question) {
+            return String.format("Q%d: %s%n -> ", number, question);
+        }
+
+        @Override
+        protected String resolveAnswer(int row, String input) {
+            if (input.length() == 1 && input.charAt(0) >= '1' && input.charAt(0) < '1' + choices.length) {
+                return choices[input.charAt(0) - '1'];
+            }
+            return input;
+        }
+
+        @Override
+        protected List<String> exitFeedback() {
+            return List.of("Exiting level...");
+        }
+
+        @Override
+        protected List<String> summaryLines(int asked, int score) {
+            return List.of("\n------------------------------------------------",
+                    String.format("Quick Pick Complete! Final Score: %d / %d", score, indices.length),
+                    "------------------------------------------------");
+        }
+    }
+}
\ No newline at end of file
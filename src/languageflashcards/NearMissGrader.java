@@ -0,0 +1,55 @@
+package languageflashcards;
+
+/**
+ * Accepts answers that are only a typo or two away from the expected translation.
+ *
+ * The number of edits allowed grows with the length of the expected answer, so a
+ * two-letter word still has to be exact while a long phrase forgives a few slips.
+ * Distances are computed with {@link EditDistance}, which gives up as soon as the
+ * allowance is exceeded. Not thread-safe; each handler owns its own grader.
+ */
+public class NearMissGrader {
+
+    private final EditDistance distance = new EditDistance();
+    private final TextNormalizer expectedText = new TextNormalizer();
+    private final TextNormalizer answerText = new TextNormalizer();
+
+    /**
+     * Edits allowed for an expected answer of {@code length} chars: none up to 3,
+     * one up to 7, two up to 15 and three beyond that.
+     */
+    public static int allowedEdits(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        if (length <= 7) {
+            return 1;
+        }
+        return length <= 15 ? 2 : 3;
+    }
+
+    /** Level 2: the whole phrase, ignoring case. */
+    public boolean isNearMiss(String expected, String answer) {
+        String target = expected.trim();
+        int max = allowedEdits(target.length());
+        return max > 0 && distance.bounded(target, answer.trim(), max) <= max;
+    }
+
+    /** Level 1: any of the "/"-separated alternatives. */
+    public boolean isNearMissAlternatives(String expected, String answer) {
+        for (String alternative : expected.split("/")) {
+            if (isNearMiss(alternative, answer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Level 3: only the characters the grammar check compares, accents folded. */
+    public boolean isNearMissNormalized(String expected, String answer) {
+        CharSequence target = expectedText.normalize(expected, TextNormalizer.Mode.GRAMMAR);
+        int max = allowedEdits(target.length());
+        return max > 0
+                && distance.bounded(target, answerText.normalize(answer, TextNormalizer.Mode.GRAMMAR), max) <= max;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package languageflashcards;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one timed operation, committed by {@link Metrics#stop} while a
+ * flight recording is running (e.g. {@code -XX:StartFlightRecording}).
+ */
+@Name("languageflashcards.Operation")
+@Label("Flashcards Operation")
+@Category("Language Learning Flashcards")
+@Description("A deck load, handler creation, graded answer or screen render")
+@StackTrace(false)
+class OperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Detail")
+    String detail;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
\ No newline at end of file
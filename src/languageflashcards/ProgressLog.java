@@ -0,0 +1,452 @@
+package languageflashcards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, crash-safe record of every graded answer.
+ *
+ * Events are queued by the grading threads and written by one writer thread in
+ * batches: everything queued at the time is encoded into one buffer, written,
+ * and forced to disk with a single fsync (group commit). Each record carries its
+ * own length and CRC32C, so a torn tail after a crash is detected and cut off.
+ *
+ * The log is split into segments. When a segment is full the writer starts a new
+ * one and a background thread writes a snapshot of the per-learner totals as of
+ * that point, then deletes the segments the snapshot covers. Opening the log
+ * loads the snapshot and replays only the segments written after it.
+ *
+ * Files in the log directory:
+ * <pre>
+ *   segment-0000000042.log   records: int length, int crc32c, body
+ *   progress.snapshot        totals + the first segment not included in them
+ * </pre>
+ */
+public class ProgressLog implements GradeListener, AutoCloseable {
+
+    private static final int SNAPSHOT_MAGIC = 0x4C4C4653; // "LLFS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String SNAPSHOT_FILE = "progress.snapshot";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long DEFAULT_SEGMENT_BYTES = 8L << 20;
+    private static final int QUEUE_CAPACITY = 1 << 16;
+    private static final int MAX_BATCH = 4096;
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final ProgressStats stats = new ProgressStats();
+    private final BlockingQueue<GradeEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong enqueued = new AtomicLong();
+    private final Object durableLock = new Object();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "progress-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Thread writer;
+
+    private long durable;             // guarded by durableLock
+    private FileChannel segment;      // writer thread only after open
+    private long segmentSeq;
+    private ByteBuffer batchBuffer = ByteBuffer.allocate(64 << 10);
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private long recoveredEvents;
+    private long recoveryNanos;
+
+    private ProgressLog(Path dir, long segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.writer = new Thread(this::writeLoop, "progress-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /** Opens (or creates) the log in {@code dir} and rebuilds the totals from it. */
+    public static ProgressLog open(Path dir) throws IOException {
+        return open(dir, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /** Same as {@link #open(Path)} with a custom segment size, which sets how often compaction runs. */
+    public static ProgressLog open(Path dir, long segmentBytes) throws IOException {
+        ProgressLog log = new ProgressLog(dir, segmentBytes);
+        log.recover();
+        log.writer.start();
+        return log;
+    }
+
+    /**
+     * Queues {@code event} for writing. Blocks if the writer has fallen far behind.
+     *
+     * @throws IllegalStateException if the log is closed or the writer failed
+     */
+    @Override
+    public void onGrade(GradeEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Progress log is closed");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Progress log failed: " + failure.getMessage(), failure);
+        }
+        try {
+            queue.put(event);
+            enqueued.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recording progress", e);
+        }
+    }
+
+    /** Waits until every event queued before this call is on disk. */
+    public void flush() throws InterruptedException {
+        long target = enqueued.get();
+        synchronized (durableLock) {
+            while (durable < target && failure == null && writer.isAlive()) {
+                durableLock.wait(100);
+            }
+        }
+    }
+
+    /** Totals of every durable event, including those restored at startup. */
+    public ProgressStats getStats() {
+        return stats;
+    }
+
+    /** How many events had to be replayed from segments when the log was opened. */
+    public long getRecoveredEvents() {
+        return recoveredEvents;
+    }
+
+    /** How long opening the log (snapshot + replay) took. */
+    public long getRecoveryNanos() {
+        return recoveryNanos;
+    }
+
+    /** Drains the queue, waits for a pending compaction and closes the files. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join();
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (segment != null) {
+            segment.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // ---------------- Writing ----------------
+
+    private void writeLoop() {
+        List<GradeEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                GradeEvent first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+                for (GradeEvent event : batch) {
+                    stats.add(event);
+                }
+                synchronized (durableLock) {
+                    durable += batch.size();
+                    durableLock.notifyAll();
+                }
+                batch.clear();
+                if (segment.position() >= segmentBytes) {
+                    rotate();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                failure = e;
+                synchronized (durableLock) {
+                    durableLock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<GradeEvent> batch) throws IOException {
+        batchBuffer.clear();
+        for (GradeEvent event : batch) {
+            byte[] learner = utf8(event.getLearner(), 0xFFFF);
+            byte[] language = utf8(event.getLanguageCode(), 0xFF);
+            int bodyLength = 8 + 4 + 4 + 1 + 1 + 2 + learner.length + 1 + language.length;
+            ensureCapacity(8 + bodyLength);
+
+            int start = batchBuffer.position();
+            batchBuffer.putInt(bodyLength).putInt(0);
+            batchBuffer.putLong(event.getTimestampMillis())
+                    .putInt(event.getRow())
+                    .putInt(event.getLatencyMillis())
+                    .put((byte) event.getLevel())
+                    .put((byte) (event.isCorrect() ? 1 : 0))
+                    .putShort((short) learner.length).put(learner)
+                    .put((byte) language.length).put(language);
+
+            CRC32C crc = new CRC32C();
+            crc.update(batchBuffer.array(), start + 8, bodyLength);
+            batchBuffer.putInt(start + 4, (int) crc.getValue());
+        }
+        batchBuffer.flip();
+        while (batchBuffer.hasRemaining()) {
+            segment.write(batchBuffer);
+        }
+        segment.force(false);
+    }
+
+    /** The UTF-8 bytes of {@code text}, cut to at most {@code maxBytes} at a character boundary. */
+    private static byte[] utf8(String text, int maxBytes) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return bytes;
+        }
+        int end = maxBytes;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--; // bytes[end] continues the character that started before it
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (batchBuffer.remaining() < needed) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(batchBuffer.capacity() * 2, batchBuffer.position() + needed));
+            batchBuffer.flip();
+            bigger.put(batchBuffer);
+            batchBuffer = bigger;
+        }
+    }
+
+    /** Starts the next segment and compacts everything before it in the background. */
+    private void rotate() throws IOException {
+        segment.close();
+        segmentSeq++;
+        segment = openSegment(segmentSeq);
+        scheduleSnapshot(segmentSeq);
+    }
+
+    private void scheduleSnapshot(long firstUncoveredSeq) {
+        List<ProgressStats.Entry> totals = stats.all();
+        compactor.execute(() -> {
+            try {
+                writeSnapshot(totals, firstUncoveredSeq);
+                for (long seq : listSegments()) {
+                    if (seq < firstUncoveredSeq) {
+                        Files.deleteIfExists(segmentPath(seq));
+                    }
+                }
+            } catch (IOException e) {
+                // Compaction is an optimisation; the segments are still there to replay.
+            }
+        });
+    }
+
+    private FileChannel openSegment(long seq) throws IOException {
+        return FileChannel.open(segmentPath(seq), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long seq) {
+        return dir.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+    }
+
+    // ---------------- Snapshot ----------------
+
+    private void writeSnapshot(List<ProgressStats.Entry> totals, long firstUncoveredSeq) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(32 + totals.size() * 64);
+        out.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(firstUncoveredSeq).putInt(totals.size());
+        for (ProgressStats.Entry entry : totals) {
+            byte[] learner = utf8(entry.getLearner(), 0xFFFF);
+            byte[] language = utf8(entry.getLanguageCode(), 0xFF);
+            if (out.remaining() < 2 + learner.length + 1 + language.length + 4 + 24 + 8) {
+                ByteBuffer bigger = ByteBuffer.allocate(out.capacity() * 2 + learner.length + language.length);
+                out.flip();
+                bigger.put(out);
+                out = bigger;
+            }
+            out.putShort((short) learner.length).put(learner)
+                    .put((byte) language.length).put(language)
+                    .putInt(entry.getLevel())
+                    .putLong(entry.getAttempts())
+                    .putLong(entry.getCorrect())
+                    .putLong(entry.getTotalLatencyMillis());
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), 0, out.position());
+        out.putLong(crc.getValue());
+        out.flip();
+
+        Path tmp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Loads the snapshot into {@link #stats}; returns the first segment it does not cover. */
+    private long readSnapshot() throws IOException {
+        Path file = dir.resolve(SNAPSHOT_FILE);
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.remaining() < 28 || in.getInt(0) != SNAPSHOT_MAGIC || in.getInt(4) != SNAPSHOT_VERSION) {
+            return 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(in.array(), 0, in.limit() - 8);
+        if (crc.getValue() != in.getLong(in.limit() - 8)) {
+            return 0; // damaged snapshot: replay every segment instead
+        }
+        in.position(8);
+        long firstUncoveredSeq = in.getLong();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] learner = new byte[in.getShort() & 0xFFFF];
+            in.get(learner);
+            byte[] language = new byte[in.get() & 0xFF];
+            in.get(language);
+            ProgressStats.Entry entry = new ProgressStats.Entry(
+                    new String(learner, StandardCharsets.UTF_8), new String(language, StandardCharsets.UTF_8), in.getInt());
+            entry.attempts = in.getLong();
+            entry.correct = in.getLong();
+            entry.totalLatencyMillis = in.getLong();
+            stats.restore(entry);
+        }
+        return firstUncoveredSeq;
+    }
+
+    // ---------------- Recovery ----------------
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(dir);
+        long firstUncoveredSeq = readSnapshot();
+
+        long lastSeq = firstUncoveredSeq - 1;
+        boolean replayed = false;
+        for (long seq : listSegments()) {
+            if (seq < firstUncoveredSeq) {
+                Files.deleteIfExists(segmentPath(seq)); // compaction finished but cleanup did not
+                continue;
+            }
+            recoveredEvents += replay(segmentPath(seq));
+            replayed = true;
+            lastSeq = seq;
+        }
+
+        segmentSeq = lastSeq + 1;
+        segment = openSegment(segmentSeq);
+        if (replayed) {
+            scheduleSnapshot(segmentSeq);
+        }
+        recoveryNanos = System.nanoTime() - start;
+    }
+
+    /** Replays one segment; a torn or corrupt tail is truncated away. */
+    private long replay(Path file) throws IOException {
+        long events = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+            int position = 0;
+            while (position + 8 <= size) {
+                int bodyLength = in.getInt(position);
+                int storedCrc = in.getInt(position + 4);
+                if (bodyLength < 21 || position + 8L + bodyLength > size) {
+                    break;
+                }
+                ByteBuffer body = in.duplicate();
+                body.position(position + 8).limit(position + 8 + bodyLength);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != storedCrc) {
+                    break;
+                }
+                stats.add(decode(body));
+                events++;
+                position += 8 + bodyLength;
+            }
+            if (position < size) {
+                channel.truncate(position);
+            }
+        }
+        return events;
+    }
+
+    private static GradeEvent decode(ByteBuffer body) {
+        long timestamp = body.getLong();
+        int row = body.getInt();
+        int latency = body.getInt();
+        int level = body.get();
+        boolean correct = body.get() == 1;
+        byte[] learner = new byte[body.getShort() & 0xFFFF];
+        body.get(learner);
+        byte[] language = new byte[body.get() & 0xFF];
+        body.get(language);
+        return new GradeEvent(timestamp, new String(learner, StandardCharsets.UTF_8),
+                new String(language, StandardCharsets.UTF_8), level, row, correct, latency);
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String digits = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    seqs.add(Long.parseLong(digits));
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        Collections.sort(seqs);
+        return seqs;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package languageflashcards;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-learner totals rebuilt from the {@link ProgressLog}: attempts, correct answers
+ * and summed answer latency for each (learner, language, level).
+ */
+public class ProgressStats {
+
+    /** Totals for one (learner, language, level). */
+    public static class Entry {
+        private final String learner;
+        private final String languageCode;
+        private final int level;
+        long attempts;
+        long correct;
+        long totalLatencyMillis;
+
+        Entry(String learner, String languageCode, int level) {
+            this.learner = learner;
+            this.languageCode = languageCode;
+            this.level = level;
+        }
+
+        Entry copy() {
+            Entry copy = new Entry(learner, languageCode, level);
+            copy.attempts = attempts;
+            copy.correct = correct;
+            copy.totalLatencyMillis = totalLatencyMillis;
+            return copy;
+        }
+
+        public String getLearner() {
+            return learner;
+        }
+
+        public String getLanguageCode() {
+            return languageCode;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getCorrect() {
+            return correct;
+        }
+
+        public long getTotalLatencyMillis() {
+            return totalLatencyMillis;
+        }
+
+        /** Share of correct answers, 0 when nothing was attempted. */
+        public double getAccuracy() {
+            return attempts == 0 ? 0 : (double) correct / attempts;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    synchronized void add(GradeEvent event) {
+        Entry entry = entry(event.getLearner(), event.getLanguageCode(), event.getLevel());
+        entry.attempts++;
+        if (event.isCorrect()) {
+            entry.correct++;
+        }
+        entry.totalLatencyMillis += event.getLatencyMillis();
+    }
+
+    synchronized void restore(Entry saved) {
+        entries.put(key(saved.learner, saved.languageCode, saved.level), saved.copy());
+    }
+
+    /** Returns the totals for one (learner, language, level), or null if there are none. */
+    public synchronized Entry get(String learner, String languageCode, int level) {
+        Entry entry = entries.get(key(learner, languageCode, level));
+        return entry == null ? null : entry.copy();
+    }
+
+    /** Returns copies of every entry for {@code learner}. */
+    public synchronized List<Entry> forLearner(String learner) {
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.learner.equals(learner)) {
+                result.add(entry.copy());
+            }
+        }
+        return result;
+    }
+
+    /** Returns copies of every entry. */
+    public synchronized List<Entry> all() {
+        List<Entry> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            result.add(entry.copy());
+        }
+        return result;
+    }
+
+    private Entry entry(String learner, String languageCode, int level) {
+        return entries.computeIfAbsent(key(learner, languageCode, level),
+                k -> new Entry(learner, languageCode, level));
+    }
+
+    private static String key(String learner, String languageCode, int level) {
+        return learner + '\u0000' + languageCode + '\u0000' + level;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package languageflashcards;
+
+/**
+ * A question handed out by a {@link QuizSession}.
+ */
+public class Prompt {
+
+    private final int number;
+    private final int row;
+    private final String question;
+    private final String text;
+
+    public Prompt(int number, int row, String question, String text) {
+        this.number = number;
+        this.row = row;
+        this.question = question;
+        this.text = text;
+    }
+
+    /** 1-based position within the session. */
+    public int getNumber() {
+        return number;
+    }
+
+    /** Deck row being asked. */
+    public int getRow() {
+        return row;
+    }
+
+    /** The English word or phrase to translate. */
+    public String getQuestion() {
+        return question;
+    }
+
+    /** The prompt as the console prints it, without a trailing newline. */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "Prompt{" + number + ", row=" + row + ", " + question + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,462 @@
+package languageflashcards;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Line-based TCP front end that lets many learners take quizzes at once.
+ *
+ * Every connection runs on its own thread (a virtual thread when the JDK has them).
+ * Connections share a small pool of {@link LevelFactory} instances, two per CPU,
+ * assigned round-robin. Nothing a session changes lives in the factory: each
+ * connection has its own {@link SessionSampler} for the draws, and its own handlers
+ * and so near-miss scratch space, so connections never wait on each other. The
+ * {@link LanguageManager} and its
+ * decks are read-only and shared by all connections, as are the
+ * {@link ReviewScheduler} and the {@link CardStatistics}.
+ *
+ * Protocol, one command per line, replies are tab-separated:
+ * <pre>
+ *   LOGIN name          -> OK  name
+ *   LANGUAGES           -> LANGUAGES  code:Name  code:Name ...
+ *   START code level    -> PROMPT  number  row  question
+ *   ANSWER text         -> VERDICT  outcome  expected
+ *                          then PROMPT ... or END  score  asked
+ *   HINT [prefix]       -> HINT  suggestions, then the same PROMPT again
+ *   METRICS             -> OK  directory the metrics were exported to
+ *   ANALYTICS           -> OK  directory the learning analytics were exported to
+ *   PROGRESS            -> PROGRESS  code:level:correct:attempts ...  for the learner
+ *   QUIT                -> BYE
+ * </pre>
+ * Answering "EXIT" ends the session early. Errors are reported as {@code ERR message}
+ * and leave the connection open (a command that fails unexpectedly also drops the
+ * session it was part of), except for a line longer than
+ * {@value #MAX_LINE_LENGTH} characters or no command within the idle timeout: those
+ * get an ERR and the connection is closed.
+ */
+public class QuizServer implements AutoCloseable {
+
+    private static final int BACKLOG = 16_384;
+    static final int MAX_LINE_LENGTH = 4_096;
+    private static final int BUFFER_SIZE = 1_024; // replies and commands are short
+
+    private final LanguageManager languageManager;
+    private final ReviewScheduler reviewScheduler;
+    private final GradingMode gradingMode;
+    private final List<GradeListener> gradeListeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService connections = newThreadPerTaskExecutor();
+    private final AtomicLong sessionsCompleted = new AtomicLong();
+    private final AtomicLong connectionsAccepted = new AtomicLong();
+    private LevelFactory[] factories;
+    private int idleTimeoutMillis = 5 * 60 * 1000;
+    private ServerSocket serverSocket;
+    private Path metricsDirectory;
+    private LearningAnalytics analytics;
+    private Path analyticsDirectory;
+    private CardStatistics cardStatistics;
+    private ProgressStats progressStats;
+    private boolean adaptive;
+    private boolean strictAccents;
+
+    public QuizServer(LanguageManager languageManager, GradingMode gradingMode) {
+        this(languageManager, new ReviewScheduler(), gradingMode);
+    }
+
+    public QuizServer(LanguageManager languageManager, ReviewScheduler reviewScheduler, GradingMode gradingMode) {
+        this.languageManager = languageManager;
+        this.reviewScheduler = reviewScheduler;
+        this.gradingMode = gradingMode;
+    }
+
+    /** Every graded answer on every connection is reported to {@code listener}. */
+    public void addGradeListener(GradeListener listener) {
+        gradeListeners.add(listener);
+    }
+
+    /**
+     * Every connection counts its graded answers in {@code cardStatistics}, and in
+     * adaptive mode draws its questions toward the cards all learners find hardest.
+     */
+    public void setCardStatistics(CardStatistics cardStatistics, boolean adaptive) {
+        this.cardStatistics = cardStatistics;
+        this.adaptive = adaptive;
+    }
+
+    /** Level 3 on every connection counts accents; see {@link LevelThreeHandler#setStrictAccents}. */
+    public void setStrictAccents(boolean strictAccents) {
+        this.strictAccents = strictAccents;
+    }
+
+    /**
+     * The PROGRESS command reports the learner's totals from {@code progressStats},
+     * usually {@link ProgressLog#getStats()}; null (the default) disables the command.
+     */
+    public void setProgressStats(ProgressStats progressStats) {
+        this.progressStats = progressStats;
+    }
+
+    /** Where the METRICS command exports to; null (the default) disables the command. */
+    public void setMetricsDirectory(Path metricsDirectory) {
+        this.metricsDirectory = metricsDirectory;
+    }
+
+    /**
+     * Every graded answer is also fed to {@code analytics}, and the ANALYTICS command
+     * exports it to {@code directory}. Null (the default) disables the command.
+     */
+    public void setAnalytics(LearningAnalytics analytics, Path directory) {
+        if (this.analytics != null) {
+            gradeListeners.remove(this.analytics);
+        }
+        this.analytics = analytics;
+        this.analyticsDirectory = directory;
+        if (analytics != null) {
+            gradeListeners.add(analytics);
+        }
+    }
+
+    /** Connections that send no command for this long are closed; 0 waits forever. */
+    public void setIdleTimeoutMillis(int idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Binds to {@code port}; 0 picks a free one.
+     *
+     * @return the port actually bound
+     */
+    public int bind(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port), BACKLOG);
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until {@link #close()} is called. Settings and listeners
+     * must be in place before this is called.
+     */
+    public void serve() throws IOException {
+        if (serverSocket == null) {
+            throw new IllegalStateException("Server is not bound");
+        }
+        factories = createFactories(2 * Runtime.getRuntime().availableProcessors());
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            connections.execute(() -> handle(socket));
+        }
+    }
+
+    private LevelFactory[] createFactories(int count) {
+        LevelFactory[] created = new LevelFactory[count];
+        for (int i = 0; i < count; i++) {
+            LevelFactory factory = new LevelFactory(languageManager, new SessionSampler(), reviewScheduler);
+            factory.setGradingMode(gradingMode);
+            factory.setCardStatistics(cardStatistics);
+            factory.setAdaptive(adaptive);
+            factory.setStrictAccents(strictAccents);
+            for (GradeListener listener : gradeListeners) {
+                factory.addGradeListener(listener);
+            }
+            created[i] = factory;
+        }
+        return created;
+    }
+
+    public long getSessionsCompleted() {
+        return sessionsCompleted.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        connections.shutdownNow();
+        try {
+            connections.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One thread per task: virtual threads on JDKs that have them, otherwise a cached
+     * pool of platform threads. Looked up reflectively so the code still builds on 17.
+     */
+    static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "quiz-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // ---------------- Connections ----------------
+
+    private void handle(Socket socket) {
+        LevelFactory factory = factories[(int) (connectionsAccepted.getAndIncrement() % factories.length)];
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            s.setTcpNoDelay(true);
+            s.setSoTimeout(idleTimeoutMillis);
+            new Connection(out, factory).run(in);
+        } catch (IOException e) {
+            // the client went away; its graded answers are already recorded
+        }
+    }
+
+    private class Connection {
+        private final Writer out;
+        private final LevelFactory factory;
+        private final SessionSampler sampler = new SessionSampler();
+        private final StringBuilder lineBuffer = new StringBuilder();
+        private String learner = "Guest";
+        private QuizSession session;
+
+        Connection(Writer out, LevelFactory factory) {
+            this.out = out;
+            this.factory = factory;
+        }
+
+        void run(BufferedReader in) throws IOException {
+            String line;
+            while ((line = readLine(in)) != null) {
+                int space = line.indexOf(' ');
+                String command = (space < 0 ? line : line.substring(0, space)).trim().toUpperCase();
+                String argument = space < 0 ? "" : line.substring(space + 1).trim();
+                if (command.equals("QUIT")) {
+                    send("BYE");
+                    out.flush();
+                    return;
+                }
+                try {
+                    execute(command, argument);
+                } catch (RuntimeException e) {
+                    session = null;
+                    send("ERR", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                }
+                out.flush();
+            }
+        }
+
+        private void execute(String command, String argument) throws IOException {
+            switch (command) {
+                case "LOGIN":
+                    login(argument);
+                    break;
+                case "LANGUAGES":
+                    languages();
+                    break;
+                case "START":
+                    start(argument);
+                    break;
+                case "ANSWER":
+                    answer(argument);
+                    break;
+                case "HINT":
+                    answer(argument.isEmpty() ? "HINT" : "HINT " + argument);
+                    break;
+                case "METRICS":
+                    exportMetrics();
+                    break;
+                case "ANALYTICS":
+                    exportAnalytics();
+                    break;
+                case "PROGRESS":
+                    progress();
+                    break;
+                default:
+                    send("ERR", "Unknown command: " + command);
+                    break;
+            }
+        }
+
+        /**
+         * The next line without its terminator, or null at the end of the stream. A
+         * line that is too long or does not arrive in time is answered with an ERR and
+         * ends the connection, like the end of the stream.
+         */
+        private String readLine(BufferedReader in) throws IOException {
+            lineBuffer.setLength(0);
+            try {
+                int c;
+                while ((c = in.read()) >= 0 && c != '\n') {
+                    if (lineBuffer.length() == MAX_LINE_LENGTH) {
+                        send("ERR", "Line longer than " + MAX_LINE_LENGTH + " characters");
+                        out.flush();
+                        return null;
+                    }
+                    lineBuffer.append((char) c);
+                }
+                if (c < 0 && lineBuffer.length() == 0) {
+                    return null;
+                }
+            } catch (SocketTimeoutException e) {
+                send("ERR", "Idle for too long");
+                out.flush();
+                return null;
+            }
+            int end = lineBuffer.length();
+            if (end > 0 && lineBuffer.charAt(end - 1) == '\r') {
+                end--;
+            }
+            return lineBuffer.substring(0, end);
+        }
+
+        private void login(String name) throws IOException {
+            if (name.isEmpty()) {
+                send("ERR", "LOGIN needs a name");
+                return;
+            }
+            learner = name;
+            send("OK", learner);
+        }
+
+        private void exportMetrics() throws IOException {
+            if (metricsDirectory == null || !Metrics.isEnabled()) {
+                send("ERR", "Metrics are off; start the server with --metrics");
+                return;
+            }
+            Metrics.export(metricsDirectory);
+            send("OK", metricsDirectory.toAbsolutePath().toString());
+        }
+
+        private void exportAnalytics() throws IOException {
+            if (analytics == null) {
+                send("ERR", "Analytics are off; start the server with --analytics");
+                return;
+            }
+            analytics.export(analyticsDirectory);
+            send("OK", analyticsDirectory.toAbsolutePath().toString());
+        }
+
+        private void progress() throws IOException {
+            if (progressStats == null) {
+                send("ERR", "Progress is not being recorded");
+                return;
+            }
+            List<ProgressStats.Entry> entries = progressStats.forLearner(learner);
+            entries.sort(Comparator.comparing(ProgressStats.Entry::getLanguageCode)
+                    .thenComparingInt(ProgressStats.Entry::getLevel));
+            String[] fields = new String[entries.size() + 1];
+            fields[0] = "PROGRESS";
+            for (int i = 0; i < entries.size(); i++) {
+                ProgressStats.Entry entry = entries.get(i);
+                fields[i + 1] = entry.getLanguageCode() + ":" + entry.getLevel() + ":" + entry.getCorrect()
+                        + ":" + entry.getAttempts();
+            }
+            send(fields);
+        }
+
+        private void languages() throws IOException {
+            Language[] languages = languageManager.getAvailableLanguages();
+            String[] fields = new String[languages.length + 1];
+            fields[0] = "LANGUAGES";
+            for (int i = 0; i < languages.length; i++) {
+                fields[i + 1] = languages[i].getCode() + ":" + languages[i].getDisplayName();
+            }
+            send(fields);
+        }
+
+        private void start(String argument) throws IOException {
+            String[] parts = argument.split("\\s+");
+            if (parts.length != 2) {
+                send("ERR", "Usage: START <language code> <level>");
+                return;
+            }
+            Language language = null;
+            for (Language candidate : languageManager.getAvailableLanguages()) {
+                if (candidate.getCode().equalsIgnoreCase(parts[0])) {
+                    language = candidate;
+                }
+            }
+            if (language == null) {
+                send("ERR", "Unknown language: " + parts[0]);
+                return;
+            }
+            LevelHandler handler;
+            try {
+                handler = factory.createLevelHandler(Integer.parseInt(parts[1]), language, learner, sampler);
+            } catch (NumberFormatException e) {
+                handler = null;
+            }
+            if (handler == null) {
+                send("ERR", "Unknown level: " + parts[1]);
+                return;
+            }
+            session = handler.startSession();
+            promptOrEnd();
+        }
+
+        private void answer(String answer) throws IOException {
+            if (session == null) {
+                send("ERR", "No session; use START first");
+                return;
+            }
+            Verdict verdict = session.submit(answer);
+            if (verdict.getOutcome() == Verdict.Outcome.HINT) {
+                send("HINT", String.join(" ", verdict.getFeedback()));
+                promptOrEnd(); // same question again
+                return;
+            }
+            send("VERDICT", verdict.getOutcome().name(), verdict.getExpected() == null ? "" : verdict.getExpected());
+            promptOrEnd();
+        }
+
+        private void promptOrEnd() throws IOException {
+            Prompt prompt = session.nextPrompt();
+            if (prompt != null) {
+                send("PROMPT", String.valueOf(prompt.getNumber()), String.valueOf(prompt.getRow()), prompt.getQuestion());
+                return;
+            }
+            SessionSummary summary = session.getSummary();
+            session = null;
+            sessionsCompleted.incrementAndGet();
+            send("END", String.valueOf(summary.getScore()), String.valueOf(summary.getAsked()));
+        }
+
+        private void send(String... fields) throws IOException {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    out.write('\t');
+                }
+                out.write(fields[i].replace('\t', ' ').replace('\n', ' '));
+            }
+            out.write('\n');
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package languageflashcards;
+
+import java.util.List;
+
+/**
+ * One run through a level, driven by whoever holds it: the console, a network
+ * client or a benchmark. Nothing here blocks or touches the terminal.
+ *
+ * The protocol is: show {@link #getIntro()}, then repeat {@link #nextPrompt()} and
+ * {@link #submit(String)} until {@code nextPrompt()} returns null, then read
+ * {@link #getSummary()}. Submitting "EXIT" ends the session early.
+ *
+ * Sessions are not thread-safe; one caller drives one session at a time.
+ */
+public interface QuizSession {
+
+    /** Lines to show before the first prompt. */
+    List<String> getIntro();
+
+    /**
+     * Returns the pending question, or null once the session is over. Calling it again
+     * before submitting returns the same prompt.
+     */
+    Prompt nextPrompt();
+
+    /**
+     * Grades {@code answer} against the pending prompt.
+     *
+     * @throws IllegalStateException if no prompt is pending
+     */
+    Verdict submit(String answer);
+
+    /** Score so far; final once {@link #nextPrompt()} has returned null. */
+    SessionSummary getSummary();
+}
\ No newline at end of file
@@ -0,0 +1,217 @@
+package languageflashcards;
+
+import java.util.Arrays;
+
+/**
+ * SM-2 spaced-repetition state for one learner in one language.
+ *
+ * Card state is held column-wise in primitive arrays indexed by deck row (about
+ * 19 bytes per card), not as one object per card, so millions of cards per learner
+ * stay cheap. Cards are ordered by due time in an indexed binary min-heap: the
+ * next card is read in O(1) and re-scheduling after an answer is O(log n).
+ *
+ * Times are whole minutes since the epoch. New cards start due at minute 0 and
+ * therefore come before any card that has already been seen, in row order.
+ *
+ * Rows are those of one deck generation ({@link DefaultLanguageManager#getGeneration()},
+ * 0 when unknown). After a reload the deck is {@link #remapped} so each card keeps
+ * its schedule under its new row.
+ */
+public class ReviewDeck {
+
+    /** Quality of an answer on the SM-2 0..5 scale. */
+    public static final int QUALITY_WRONG = 1;
+    public static final int QUALITY_HARD = 3;
+    public static final int QUALITY_GOOD = 4;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int RELEARN_MINUTES = 10;
+    private static final short INITIAL_EASE = 250; // ease factor x 100
+    private static final short MIN_EASE = 130;
+
+    private final int[] due;
+    private final int[] intervalDays;
+    private final short[] ease;
+    private final byte[] repetitions;
+
+    private final int[] heap;      // heap slot -> card
+    private final int[] position;  // card -> heap slot
+    private final long generation;
+
+    public ReviewDeck(int cardCount) {
+        this(cardCount, 0);
+    }
+
+    public ReviewDeck(int cardCount, long generation) {
+        this.generation = generation;
+        due = new int[cardCount];
+        intervalDays = new int[cardCount];
+        ease = new short[cardCount];
+        Arrays.fill(ease, INITIAL_EASE);
+        repetitions = new byte[cardCount];
+        heap = new int[cardCount];
+        position = new int[cardCount];
+        for (int card = 0; card < cardCount; card++) {
+            heap[card] = card;
+            position[card] = card;
+        }
+        // all due times are 0, so identity order is already a valid heap
+    }
+
+    public int getCardCount() {
+        return heap.length;
+    }
+
+    /** The deck generation whose rows the cards are. */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns a copy sized for a deck that now has {@code cardCount} rows, e.g. after
+     * the vocabulary was reloaded. Cards keep their state by row; new rows start as
+     * new cards and rows past the end are dropped.
+     */
+    public synchronized ReviewDeck resized(int cardCount) {
+        ReviewDeck copy = new ReviewDeck(cardCount, generation);
+        int kept = Math.min(cardCount, heap.length);
+        System.arraycopy(due, 0, copy.due, 0, kept);
+        System.arraycopy(intervalDays, 0, copy.intervalDays, 0, kept);
+        System.arraycopy(ease, 0, copy.ease, 0, kept);
+        System.arraycopy(repetitions, 0, copy.repetitions, 0, kept);
+        copy.heapify();
+        return copy;
+    }
+
+    /**
+     * Returns a copy for generation {@code generation}, whose rows moved as
+     * {@code moves} says. Each card keeps its state under its new row; cards that
+     * are gone are dropped and new rows start as new cards.
+     */
+    public synchronized ReviewDeck remapped(RowMoves moves, long generation) {
+        ReviewDeck copy = new ReviewDeck(moves.getNewCount(), generation);
+        for (int card = 0; card < heap.length; card++) {
+            int row = moves.newRow(card);
+            if (row >= 0) {
+                copy.due[row] = due[card];
+                copy.intervalDays[row] = intervalDays[card];
+                copy.ease[row] = ease[card];
+                copy.repetitions[row] = repetitions[card];
+            }
+        }
+        copy.heapify();
+        return copy;
+    }
+
+    /** Returns the card due soonest, or -1 if the deck is empty. */
+    public synchronized int peek() {
+        return heap.length == 0 ? -1 : heap[0];
+    }
+
+    /** Returns the card due soonest if it is due at {@code nowMinutes}, otherwise -1. */
+    public synchronized int nextDue(int nowMinutes) {
+        return heap.length > 0 && due[heap[0]] <= nowMinutes ? heap[0] : -1;
+    }
+
+    /**
+     * Returns how many cards are due at {@code nowMinutes}, counting no further than
+     * {@code limit}. O(min(due cards, limit)).
+     */
+    public synchronized int countDue(int nowMinutes, int limit) {
+        return countDue(0, nowMinutes, limit);
+    }
+
+    private int countDue(int slot, int nowMinutes, int limit) {
+        if (limit <= 0 || slot >= heap.length || due[heap[slot]] > nowMinutes) {
+            return 0;
+        }
+        int count = 1 + countDue(2 * slot + 1, nowMinutes, limit - 1);
+        return count + countDue(2 * slot + 2, nowMinutes, limit - count);
+    }
+
+    public synchronized int getDue(int card) {
+        return due[card];
+    }
+
+    /**
+     * Applies SM-2 for an answer of the given quality (0..5) and re-queues the card.
+     * A quality below 3 resets the card and brings it back in a few minutes.
+     */
+    public synchronized void grade(int card, int quality, int nowMinutes) {
+        if (quality < 3) {
+            repetitions[card] = 0;
+            intervalDays[card] = 0;
+            due[card] = nowMinutes + RELEARN_MINUTES;
+        } else {
+            int reps = repetitions[card] + 1;
+            int interval;
+            if (reps == 1) {
+                interval = 1;
+            } else if (reps == 2) {
+                interval = 6;
+            } else {
+                interval = (int) Math.min(36500, Math.round(intervalDays[card] * (ease[card] / 100.0)));
+            }
+            repetitions[card] = (byte) Math.min(reps, Byte.MAX_VALUE);
+            intervalDays[card] = interval;
+            due[card] = nowMinutes + interval * MINUTES_PER_DAY;
+        }
+        int miss = 5 - quality;
+        int updated = ease[card] + (10 - miss * (8 + miss * 2));
+        ease[card] = (short) Math.max(MIN_EASE, updated);
+
+        int slot = position[card];
+        siftUp(slot);
+        siftDown(position[card]);
+    }
+
+    // ---------------- Indexed min-heap on due ----------------
+
+    private void heapify() {
+        for (int slot = heap.length / 2 - 1; slot >= 0; slot--) {
+            siftDown(slot);
+        }
+    }
+
+    private boolean before(int a, int b) {
+        return due[a] < due[b] || (due[a] == due[b] && a < b);
+    }
+
+    private void siftUp(int slot) {
+        int card = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!before(card, heap[parent])) {
+                break;
+            }
+            place(heap[parent], slot);
+            slot = parent;
+        }
+        place(card, slot);
+    }
+
+    private void siftDown(int slot) {
+        int card = heap[slot];
+        int size = heap.length;
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], card)) {
+                break;
+            }
+            place(heap[child], slot);
+            slot = child;
+        }
+        place(card, slot);
+    }
+
+    private void place(int card, int slot) {
+        heap[slot] = card;
+        position[card] = slot;
+    }
+}
\ No newline at end of file
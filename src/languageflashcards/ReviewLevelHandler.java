@@ -0,0 +1,114 @@
+package languageflashcards;
+
+import java.util.List;
+
+/**
+ * Level 4: spaced-repetition review of the vocabulary.
+ *
+ * Instead of sampling uniformly, cards come from the learner's {@link ReviewDeck}
+ * in due order: cards that were missed come back within minutes, cards that were
+ * known are pushed days or weeks out.
+ */
+public class ReviewLevelHandler extends LevelHandler {
+
+    private static final int QUESTIONS_PER_SESSION = 10;
+    private static final int MAX_DUE_SHOWN = 999; // "999+" beyond this
+
+    private final ReviewDeck reviewDeck;
+
+    public ReviewLevelHandler(LanguageManager languageManager, Language targetLanguage, ReviewDeck reviewDeck) {
+        super(languageManager, targetLanguage);
+        this.reviewDeck = reviewDeck;
+    }
+
+    @Override
+    public QuizSession startSession() {
+        return new Session();
+    }
+
+    /** Grades like Level 1; scheduling the card is up to the session. */
+    @Override
+    public Verdict grade(int card, String input) {
+        DefaultLanguageManager mgr = (DefaultLanguageManager) languageManager;
+        int column = targetLanguage.getColumn();
+
+        if (mgr.isCorrectWord(column, card, input)) {
+            return Verdict.correct(() -> mgr.getWord(column, card), "✅ Correct!");
+        }
+        String correctTranslation = mgr.getWord(column, card);
+        NearMissGrader nearMiss = nearMissGrader();
+        if (nearMiss != null && nearMiss.isNearMissAlternatives(correctTranslation, input)) {
+            return Verdict.nearMiss(correctTranslation, "✅ Close enough! Mind the spelling: " + correctTranslation);
+        }
+        return Verdict.incorrect(correctTranslation, "❌ Incorrect. The answer was: " + correctTranslation);
+    }
+
+    private class Session extends AbstractQuizSession {
+        private int now;
+
+        Session() {
+            super(ReviewLevelHandler.this, 4);
+        }
+
+        @Override
+        public List<String> getIntro() {
+            return List.of("\n=== LEVEL 4: Review ===",
+                    "Cards you missed come back sooner; cards you know wait longer.",
+                    "Type 'HINT' (or 'HINT <first letters>') for suggestions.",
+                    "Type 'EXIT' to return to the menu early.\n");
+        }
+
+        @Override
+        protected int nextRow(int asked) {
+            if (asked >= QUESTIONS_PER_SESSION) {
+                return -1;
+            }
+            now = ReviewScheduler.nowMinutes();
+            return reviewDeck.nextDue(now);
+        }
+
+        @Override
+        protected String question(int row) {
+            return ((DefaultLanguageManager) languageManager).getEnglishWord(row);
+        }
+
+        @Override
+        protected String promptText(int number, String englishWord) {
+            return String.format("R%d: %s -> ", number, englishWord);
+        }
+
+        @Override
+        protected List<String> exitFeedback() {
+            return List.of("Exiting review...");
+        }
+
+        @Override
+        protected void graded(int card, Verdict verdict) {
+            int quality;
+            switch (verdict.getOutcome()) {
+                case CORRECT:
+                    quality = ReviewDeck.QUALITY_GOOD;
+                    break;
+                case NEAR_MISS:
+                    quality = ReviewDeck.QUALITY_HARD;
+                    break;
+                default:
+                    quality = ReviewDeck.QUALITY_WRONG;
+                    break;
+            }
+            reviewDeck.grade(card, quality, now);
+        }
+
+        @Override
+        protected List<String> summaryLines(int asked, int score) {
+            if (asked == 0) {
+                return List.of("Nothing is due for review right now. Come back later!");
+            }
+            int due = reviewDeck.countDue(ReviewScheduler.nowMinutes(), MAX_DUE_SHOWN + 1);
+            return List.of("\n------------------------------------------------",
+                    String.format("Review Complete! Score: %d / %d", score, asked),
+                    "Cards still due now: " + (due > MAX_DUE_SHOWN ? MAX_DUE_SHOWN + "+" : String.valueOf(due)),
+                    "------------------------------------------------");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package languageflashcards;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link ReviewDeck} of every (learner, language) pair.
+ * Decks are created on first use, sized to the vocabulary, and resized when the
+ * vocabulary has been reloaded with a different number of rows.
+ *
+ * Registered as a {@link DeckReloadListener}, it moves every schedule to the rows
+ * its cards have after a reload (matched by English headword). A handler still on
+ * the rows from before the reload gets a scratch deck that is not kept, so its
+ * answers never land on whatever card now has that row number. Without the
+ * listener, a deck from an older generation is started afresh.
+ */
+public class ReviewScheduler implements DeckReloadListener {
+
+    private final Map<String, ReviewDeck> decks = new ConcurrentHashMap<>();
+
+    /** Returns the learner's deck for {@code languageCode}, creating or resizing it if needed. */
+    public ReviewDeck deckFor(String learner, String languageCode, int cardCount) {
+        return deckFor(learner, languageCode, cardCount, 0);
+    }
+
+    /**
+     * Same as {@link #deckFor(String, String, int)} for rows of deck generation
+     * {@code generation}; 0 skips the generation check.
+     */
+    public ReviewDeck deckFor(String learner, String languageCode, int cardCount, long generation) {
+        ReviewDeck deck = decks.computeIfAbsent(key(learner, languageCode), k -> new ReviewDeck(cardCount, generation));
+        if (generation != 0 && deck.getGeneration() > generation) {
+            return new ReviewDeck(cardCount, generation);
+        }
+        if (deck.getCardCount() == cardCount && (generation == 0 || deck.getGeneration() == generation)) {
+            return deck;
+        }
+        return decks.compute(key(learner, languageCode),
+                (k, old) -> old == null || (generation != 0 && old.getGeneration() < generation)
+                        ? new ReviewDeck(cardCount, generation)
+                        : old.getCardCount() == cardCount ? old : old.resized(cardCount));
+    }
+
+    @Override
+    public void onReload(long generation, RowMoves vocab, RowMoves phrases) {
+        decks.replaceAll((key, deck) -> deck.remapped(vocab, generation));
+    }
+
+    /** Current time in the minutes-since-epoch unit {@link ReviewDeck} uses. */
+    public static int nowMinutes() {
+        return (int) (System.currentTimeMillis() / 60_000L);
+    }
+
+    private static String key(String learner, String languageCode) {
+        return learner + '\u0000' + languageCode;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package languageflashcards;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where the rows of one deck went in a reload. Rows are matched by their English
+ * headword (column 0): the n-th old row with a headword goes to the n-th new row
+ * with the same headword, and an old row whose headword is gone maps to -1.
+ */
+public final class RowMoves {
+
+    private final int[] newRows; // old row -> new row, or -1
+    private final int newCount;
+
+    private RowMoves(int[] newRows, int newCount) {
+        this.newRows = newRows;
+        this.newCount = newCount;
+    }
+
+    /** Matches the rows of {@code before} to the rows of {@code after}. */
+    static RowMoves between(ColumnarDeck before, ColumnarDeck after) {
+        int count = after.getRowCount();
+        Map<String, Integer> firstRow = new HashMap<>();
+        int[] nextSame = new int[count]; // new row -> next new row with its headword, or -1
+        for (int row = count - 1; row >= 0; row--) {
+            Integer next = firstRow.put(after.get(0, row), row);
+            nextSame[row] = next == null ? -1 : next;
+        }
+        int[] newRows = new int[before.getRowCount()];
+        for (int row = 0; row < newRows.length; row++) {
+            String headword = before.get(0, row);
+            Integer match = firstRow.get(headword);
+            if (match == null) {
+                newRows[row] = -1;
+                continue;
+            }
+            newRows[row] = match;
+            if (nextSame[match] < 0) {
+                firstRow.remove(headword);
+            } else {
+                firstRow.put(headword, nextSame[match]);
+            }
+        }
+        return new RowMoves(newRows, count);
+    }
+
+    public int getOldCount() {
+        return newRows.length;
+    }
+
+    public int getNewCount() {
+        return newCount;
+    }
+
+    /** The row {@code oldRow} moved to, or -1 if its card is gone. */
+    public int newRow(int oldRow) {
+        return oldRow >= 0 && oldRow < newRows.length ? newRows[oldRow] : -1;
+    }
+}
\ No newline at end of file
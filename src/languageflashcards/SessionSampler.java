@@ -0,0 +1,201 @@
+package languageflashcards;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws the question rows for a session.
+ *
+ * Uniform draws are a partial Fisher-Yates shuffle over the virtual array
+ * [0, n): only the positions that were swapped are remembered, in a small
+ * open-addressing int map, so picking k of n rows costs O(k) time and memory no
+ * matter how large the deck is, and nothing is boxed. The map's slots are reused
+ * between draws; a generation stamp marks which slots are live instead of
+ * clearing them.
+ *
+ * Weighted draws (without replacement) use the Efraimidis-Spirakis method: each
+ * row gets the key log(u) / weight and the k largest keys win, kept in a k-sized
+ * min-heap.
+ *
+ * A sampler is not thread-safe; give each thread its own.
+ */
+public class SessionSampler {
+
+    private final SplittableRandom random;
+
+    // sparse swap map: position -> value currently stored at that position
+    private int[] keys = new int[0];
+    private int[] values = new int[0];
+    private int[] stamps = new int[0];
+    private int generation;
+
+    // weighted draw heap
+    private double[] heapKeys = new double[0];
+    private int[] heapRows = new int[0];
+
+    /** Creates a sampler with an unpredictable seed. */
+    public SessionSampler() {
+        this(new SplittableRandom());
+    }
+
+    /** Creates a sampler whose draws are reproducible for the given seed. */
+    public SessionSampler(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SessionSampler(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns {@code min(k, n)} distinct rows from [0, n), in random order.
+     */
+    public int[] sample(int n, int k) {
+        int[] out = new int[Math.max(0, Math.min(k, n))];
+        sample(n, k, out);
+        return out;
+    }
+
+    /**
+     * Writes {@code min(k, n, out.length)} distinct rows from [0, n) into {@code out}
+     * and returns how many were written.
+     */
+    public int sample(int n, int k, int[] out) {
+        int count = Math.max(0, Math.min(Math.min(k, n), out.length));
+        if (count == 0) {
+            return 0;
+        }
+        prepareMap(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(n - i);
+            int atJ = lookup(j);
+            put(j, lookup(i));
+            out[i] = atJ;
+        }
+        return count;
+    }
+
+    /**
+     * Writes up to {@code k} distinct rows into {@code out}, each row chosen with
+     * probability proportional to {@code weights[row]}. Rows with a weight of zero
+     * or less are never chosen, so fewer than {@code k} rows may come back.
+     *
+     * @return how many rows were written
+     */
+    public int sampleWeighted(double[] weights, int k, int[] out) {
+        int capacity = Math.min(k, out.length);
+        if (capacity <= 0) {
+            return 0;
+        }
+        if (heapKeys.length < capacity) {
+            heapKeys = new double[capacity];
+            heapRows = new int[capacity];
+        }
+        int size = 0;
+        for (int row = 0; row < weights.length; row++) {
+            double weight = weights[row];
+            if (!(weight > 0)) {
+                continue;
+            }
+            // log(u) / w is a monotone transform of u^(1/w); it avoids underflow for small weights
+            double key = Math.log(1.0 - random.nextDouble()) / weight;
+            if (size < capacity) {
+                heapKeys[size] = key;
+                heapRows[size] = row;
+                siftUp(size++);
+            } else if (key > heapKeys[0]) {
+                heapKeys[0] = key;
+                heapRows[0] = row;
+                siftDown(0, size);
+            }
+        }
+        // largest keys first
+        for (int end = size - 1; end >= 0; end--) {
+            out[end] = heapRows[0];
+            heapKeys[0] = heapKeys[end];
+            heapRows[0] = heapRows[end];
+            siftDown(0, end);
+        }
+        return size;
+    }
+
+    // ---------------- Swap map ----------------
+
+    private void prepareMap(int count) {
+        int capacity = Integer.highestOneBit(Math.max(8, count * 4) - 1) << 1;
+        if (keys.length < capacity) {
+            keys = new int[capacity];
+            values = new int[capacity];
+            stamps = new int[capacity];
+            generation = 0;
+        }
+        generation++;
+        if (generation == 0) { // wrapped around: stale stamps could look live
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    private int lookup(int position) {
+        int mask = keys.length - 1;
+        for (int slot = mix(position) & mask; stamps[slot] == generation; slot = (slot + 1) & mask) {
+            if (keys[slot] == position) {
+                return values[slot];
+            }
+        }
+        return position;
+    }
+
+    private void put(int position, int value) {
+        int mask = keys.length - 1;
+        int slot = mix(position) & mask;
+        while (stamps[slot] == generation && keys[slot] != position) {
+            slot = (slot + 1) & mask;
+        }
+        stamps[slot] = generation;
+        keys[slot] = position;
+        values[slot] = value;
+    }
+
+    private static int mix(int x) {
+        x *= 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    // ---------------- Min-heap on heapKeys ----------------
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapKeys[parent] <= heapKeys[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int size) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && heapKeys[left + 1] < heapKeys[left] ? left + 1 : left;
+            if (heapKeys[i] <= heapKeys[smallest]) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double key = heapKeys[a];
+        heapKeys[a] = heapKeys[b];
+        heapKeys[b] = key;
+        int row = heapRows[a];
+        heapRows[a] = heapRows[b];
+        heapRows[b] = row;
+    }
+}
\ No newline at end of file
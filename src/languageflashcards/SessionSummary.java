@@ -0,0 +1,38 @@
+package languageflashcards;
+
+import java.util.List;
+
+/**
+ * Score of a {@link QuizSession}.
+ */
+public class SessionSummary {
+
+    private final int asked;
+    private final int score;
+    private final List<String> lines;
+
+    public SessionSummary(int asked, int score, List<String> lines) {
+        this.asked = asked;
+        this.score = score;
+        this.lines = List.copyOf(lines);
+    }
+
+    /** Questions graded, not counting an EXIT. */
+    public int getAsked() {
+        return asked;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /** Lines the console prints when the session ends. */
+    public List<String> getLines() {
+        return lines;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionSummary{" + score + "/" + asked + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+package languageflashcards;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All terminal output of the UI goes through here, into one large buffer that is
+ * flushed only when the user is about to type or an animation needs to show.
+ *
+ * Menus are composed as {@link Frame}s. A frame replaces the screen; when the
+ * previous frame is still on screen only the lines that differ are rewritten (by
+ * cursor addressing), the rest of the screen below the frame is erased and the
+ * prompt redrawn. Anything written outside a frame (session output, animations,
+ * errors) makes the next frame a full redraw.
+ *
+ * Modes:
+ * <ul>
+ *   <li>{@link Mode#ANIMATED} - the default: frames, plus the typing animation,
+ *       progress bar and pauses</li>
+ *   <li>{@link Mode#FAST} ({@code --fast}) - frames without any animation or pause</li>
+ *   <li>{@link Mode#HEADLESS} ({@code --headless}) - no animation and no cursor
+ *       control: frames are printed one after another, for scripts, pipes and IDE
+ *       consoles</li>
+ * </ul>
+ */
+public class TerminalRenderer {
+
+    public enum Mode {
+        ANIMATED,
+        FAST,
+        HEADLESS
+    }
+
+    private static final String CLEAR = "\033[H\033[2J";
+    private static final String ERASE_LINE = "\033[K";
+    private static final String ERASE_BELOW = "\033[J";
+    private static final int PROGRESS_BAR_WIDTH = 25;
+
+    private static final Metrics.Timer FIRST_PROMPT = Metrics.timer("startup_to_first_prompt");
+
+    private final Mode mode;
+    private final PrintStream out;
+    private final long createdAt = System.nanoTime();
+    private final long metricsStart = Metrics.start();
+    private long firstPromptAt = -1;
+    private List<String> screen; // lines of the frame currently on screen, null if unknown
+
+    /** Renders to standard output through a 64 KiB buffer. */
+    public TerminalRenderer(Mode mode) {
+        this(mode, new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16),
+                false, stdoutCharset()));
+    }
+
+    public TerminalRenderer(Mode mode, PrintStream out) {
+        this.mode = mode;
+        this.out = out;
+    }
+
+    /** Same charset System.out would use. */
+    private static Charset stdoutCharset() {
+        String name = System.getProperty("sun.stdout.encoding");
+        try {
+            return name != null ? Charset.forName(name) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** Nanoseconds from construction to the first prompt, or -1 if none was shown yet. */
+    public long getStartupToFirstPromptNanos() {
+        return firstPromptAt < 0 ? -1 : firstPromptAt - createdAt;
+    }
+
+    /**
+     * The buffered stream, for output that is not a frame. Writing to it directly is
+     * fine but, like {@link #println}, makes the next frame a full redraw.
+     */
+    public PrintStream stream() {
+        screen = null;
+        return out;
+    }
+
+    // ---------------- Frames ----------------
+
+    /** One screenful, built line by line. */
+    public static class Frame {
+        private final List<String> lines = new ArrayList<>();
+
+        public Frame line(String text) {
+            lines.add(text);
+            return this;
+        }
+
+        public Frame format(String format, Object... args) {
+            String text = String.format(format, args);
+            for (String line : text.split("\\R", -1)) {
+                lines.add(line);
+            }
+            if (text.endsWith("\n")) {
+                lines.remove(lines.size() - 1);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Puts {@code frame} on screen followed by {@code prompt} (no newline) and flushes,
+     * so the cursor waits right after the prompt.
+     */
+    public void present(Frame frame, String prompt) {
+        List<String> lines = frame.lines;
+        StringBuilder buffer = new StringBuilder(4096);
+        if (mode == Mode.HEADLESS) {
+            buffer.append('\n');
+            for (String line : lines) {
+                buffer.append(line).append('\n');
+            }
+        } else if (screen == null) {
+            buffer.append(CLEAR);
+            for (String line : lines) {
+                buffer.append(line).append('\n');
+            }
+        } else {
+            for (int i = 0; i < lines.size(); i++) {
+                if (i >= screen.size() || !lines.get(i).equals(screen.get(i))) {
+                    moveTo(buffer, i + 1).append(lines.get(i)).append(ERASE_LINE);
+                }
+            }
+            // whatever followed the old frame (the typed answer, an error) goes away
+            moveTo(buffer, lines.size() + 1).append(ERASE_BELOW);
+        }
+        buffer.append(prompt);
+        out.print(buffer);
+        screen = mode == Mode.HEADLESS ? null : new ArrayList<>(lines);
+        promptShown();
+    }
+
+    private static StringBuilder moveTo(StringBuilder buffer, int row) {
+        return buffer.append("\033[").append(row).append(";1H");
+    }
+
+    // ---------------- Flowing output ----------------
+
+    public void println(String text) {
+        screen = null;
+        out.println(text);
+    }
+
+    /** Prints {@code prompt} and flushes, ready for input. */
+    public void prompt(String prompt) {
+        screen = null;
+        out.print(prompt);
+        promptShown();
+    }
+
+    /** Starts a fresh screen for flowing output. */
+    public void clear() {
+        screen = null;
+        out.print(mode == Mode.HEADLESS ? "\n" : CLEAR);
+    }
+
+    /**
+     * Types {@code text} out at {@code millisPerChar}, or prints it at once unless
+     * {@link Mode#ANIMATED}.
+     */
+    public void animate(String text, int millisPerChar) {
+        screen = null;
+        if (mode != Mode.ANIMATED || text.isEmpty()) {
+            out.println(text);
+            return;
+        }
+        int i = 0;
+        while (i < text.length()) {
+            int end = text.offsetByCodePoints(i, 1); // never split a surrogate pair
+            out.print(text.substring(i, end));
+            out.flush();
+            sleep(millisPerChar);
+            i = end;
+        }
+        out.println();
+    }
+
+    /** {@code prefix[▓▓▓...] suffix}, filled over {@code millisPerStep} per block when animated. */
+    public void progressBar(String prefix, String block, String suffix, int millisPerStep) {
+        screen = null;
+        out.print(prefix);
+        if (mode == Mode.ANIMATED) {
+            for (int i = 0; i < PROGRESS_BAR_WIDTH; i++) {
+                out.print(block);
+                out.flush();
+                sleep(millisPerStep);
+            }
+        } else {
+            out.print(block.repeat(PROGRESS_BAR_WIDTH));
+        }
+        out.println(suffix);
+    }
+
+    /** Sleeps, but only when {@link Mode#ANIMATED}. */
+    public void pause(int millis) {
+        if (mode == Mode.ANIMATED) {
+            out.flush();
+            sleep(millis);
+        }
+    }
+
+    public void flush() {
+        out.flush();
+    }
+
+    private void promptShown() {
+        out.flush();
+        if (firstPromptAt < 0) {
+            firstPromptAt = System.nanoTime();
+            Metrics.stop(FIRST_PROMPT, metricsStart);
+        }
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+package languageflashcards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse lookup and prefix autocomplete over every column of a deck, built once
+ * when the deck is loaded.
+ *
+ * Each column keeps its keys in one sorted String array, with the rows of each key
+ * stored back to back in an int array (and, for autocomplete, the deck's distinct
+ * cells of each key the same way). An exact lookup is one binary search; a prefix
+ * lookup is a binary search for the first key not below the prefix followed by a
+ * walk over the keys that start with it.
+ *
+ * Keys are trimmed and case-folded like Level 1 answers. A cell contributes each
+ * of its "/"-separated alternatives and, for alternatives such as "いえ (ie)",
+ * also the text outside the parentheses and the romanization inside them, so the
+ * row is found by "いえ (ie)", "いえ" and "ie" alike.
+ */
+public class TextIndex {
+
+    private final ColumnarDeck deck;
+    private final String[][] keys;      // column -> sorted distinct keys
+    private final int[][] rowStarts;    // column -> key -> first entry in rows[column]
+    private final int[][] rows;         // column -> rows, grouped by key, ascending within a key
+    private final int[][] cellStarts;   // column -> key -> first entry in cells[column]
+    private final int[][] cells;        // column -> distinct cell ids, grouped by key
+
+    /** Rough retained-heap size of the index, not counting the deck. */
+    public long estimateFootprintBytes() {
+        return Footprint.of(keys) + Footprint.of(rowStarts) + Footprint.of(rows)
+                + Footprint.of(cellStarts) + Footprint.of(cells);
+    }
+
+    private TextIndex(ColumnarDeck deck, String[][] keys, int[][] rowStarts, int[][] rows,
+                      int[][] cellStarts, int[][] cells) {
+        this.deck = deck;
+        this.keys = keys;
+        this.rowStarts = rowStarts;
+        this.rows = rows;
+        this.cellStarts = cellStarts;
+        this.cells = cells;
+    }
+
+    /** Indexes every column of {@code deck}, the English source included. */
+    public static TextIndex build(ColumnarDeck deck) {
+        int columnCount = deck.getColumnCount();
+        String[][] keys = new String[columnCount][];
+        int[][] rowStarts = new int[columnCount][];
+        int[][] rows = new int[columnCount][];
+        int[][] cellStarts = new int[columnCount][];
+        int[][] cellIds = new int[columnCount][];
+        for (int column = 0; column < columnCount; column++) {
+            // keys of each distinct cell, as ids into a table of distinct keys
+            int cells = deck.getDistinctCellCount(column);
+            Map<String, Integer> keyIds = new HashMap<>();
+            List<String> distinct = new ArrayList<>();
+            int[][] cellKeys = new int[cells][];
+            for (int cell = 0; cell < cells; cell++) {
+                List<String> cellKeyList = keysOf(deck.decodeCell(column, cell));
+                int[] ids = new int[cellKeyList.size()];
+                for (int k = 0; k < ids.length; k++) {
+                    String key = cellKeyList.get(k);
+                    Integer id = keyIds.get(key);
+                    if (id == null) {
+                        id = distinct.size();
+                        keyIds.put(key, id);
+                        distinct.add(key);
+                    }
+                    ids[k] = id;
+                }
+                cellKeys[cell] = ids;
+            }
+
+            String[] sorted = distinct.toArray(new String[0]);
+            Arrays.sort(sorted);
+            int[] rank = new int[sorted.length];
+            for (int r = 0; r < sorted.length; r++) {
+                rank[keyIds.get(sorted[r])] = r;
+            }
+
+            // counting sort of (key, row) pairs by key rank; rows stay ascending
+            int rowCount = deck.getRowCount();
+            int[] start = new int[sorted.length + 1];
+            for (int row = 0; row < rowCount; row++) {
+                for (int id : cellKeys[deck.cellId(column, row)]) {
+                    start[rank[id] + 1]++;
+                }
+            }
+            for (int r = 0; r < sorted.length; r++) {
+                start[r + 1] += start[r];
+            }
+            int[] fill = Arrays.copyOf(start, sorted.length);
+            int[] postings = new int[start[sorted.length]];
+            for (int row = 0; row < rowCount; row++) {
+                for (int id : cellKeys[deck.cellId(column, row)]) {
+                    postings[fill[rank[id]]++] = row;
+                }
+            }
+
+            // the same for (key, cell) pairs
+            int[] cellStart = new int[sorted.length + 1];
+            for (int[] ids : cellKeys) {
+                for (int id : ids) {
+                    cellStart[rank[id] + 1]++;
+                }
+            }
+            for (int r = 0; r < sorted.length; r++) {
+                cellStart[r + 1] += cellStart[r];
+            }
+            fill = Arrays.copyOf(cellStart, sorted.length);
+            int[] cellPostings = new int[cellStart[sorted.length]];
+            for (int cell = 0; cell < cells; cell++) {
+                for (int id : cellKeys[cell]) {
+                    cellPostings[fill[rank[id]]++] = cell;
+                }
+            }
+
+            keys[column] = sorted;
+            rowStarts[column] = start;
+            rows[column] = postings;
+            cellStarts[column] = cellStart;
+            cellIds[column] = cellPostings;
+        }
+        return new TextIndex(deck, keys, rowStarts, rows, cellStarts, cellIds);
+    }
+
+    /** Trimmed, case-folded form of {@code text}, as stored in the index. */
+    static String normalize(String text) {
+        return TextNormalizer.normalized(text, TextNormalizer.Mode.CASE);
+    }
+
+    /** The distinct, non-empty keys a cell is found by. */
+    static List<String> keysOf(String cell) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String alternative : cell.split("/")) {
+            add(keys, alternative);
+            int open = alternative.indexOf('(');
+            if (open < 0) {
+                continue;
+            }
+            StringBuilder outside = new StringBuilder(alternative.length());
+            int from = 0;
+            while (open >= 0) {
+                int close = alternative.indexOf(')', open + 1);
+                if (close < 0) {
+                    break;
+                }
+                outside.append(alternative, from, open);
+                add(keys, alternative.substring(open + 1, close));
+                from = close + 1;
+                open = alternative.indexOf('(', from);
+            }
+            outside.append(alternative, from, alternative.length());
+            add(keys, outside.toString());
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static void add(Set<String> keys, String text) {
+        String key = normalize(text);
+        if (!key.isEmpty()) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Returns the rows whose cell in {@code column} is found by {@code text}, in
+     * ascending order; empty if there are none.
+     */
+    public int[] find(int column, String text) {
+        String[] columnKeys = keys[column];
+        int k = Arrays.binarySearch(columnKeys, normalize(text));
+        if (k < 0) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(rows[column], rowStarts[column][k], rowStarts[column][k + 1]);
+    }
+
+    /**
+     * Returns up to {@code limit} distinct cells of {@code column} that have a key
+     * starting with {@code prefix}, ordered by that key. An empty prefix matches
+     * every cell.
+     */
+    public List<String> complete(int column, String prefix, int limit) {
+        String[] columnKeys = keys[column];
+        String normalized = normalize(prefix);
+        Set<String> matches = new LinkedHashSet<>();
+        for (int k = lowerBound(columnKeys, normalized);
+             k < columnKeys.length && matches.size() < limit && columnKeys[k].startsWith(normalized); k++) {
+            for (int i = cellStarts[column][k]; i < cellStarts[column][k + 1] && matches.size() < limit; i++) {
+                matches.add(deck.decodeCell(column, cells[column][i]));
+            }
+        }
+        return new ArrayList<>(matches);
+    }
+
+    /** First index whose key is not below {@code key}. */
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
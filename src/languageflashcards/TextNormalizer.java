@@ -0,0 +1,301 @@
+package languageflashcards;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+
+/**
+ * The one place answer text is normalised before it is compared, hashed or
+ * indexed.
+ *
+ * There are two forms. {@link Mode#CASE} trims the text and case-folds it char
+ * by char, the same folding {@link String#equalsIgnoreCase} applies. {@link
+ * Mode#GRAMMAR} keeps only letters, digits and combining marks of any script,
+ * case-folds them and folds away diacritics, so "Buenos días", "buenos dias" and
+ * "BUENOS DÍAS!" are the same answer, and full-width "ＡＢＣ１" reads as "abc1".
+ * {@link Mode#ACCENTED} is GRAMMAR without the diacritic folding: "días" and
+ * "dias" differ, while "DÍAS!" and a decomposed "di\u0301as" still match "días".
+ *
+ * Both forms are produced in one pass over the text with a per-char lookup. The
+ * CASE table is filled when the class loads. The GRAMMAR table is filled lazily:
+ * the first time a char is seen its NFKD decomposition is worked out once, with
+ * the accent marks dropped, and the result is cached for every later lookup.
+ * Only the Latin/Greek/Cyrillic accent blocks are dropped, so kana voicing marks
+ * and Hangul jamo never fold: が stays distinct from か. Characters outside the
+ * BMP are classified directly by code point. ACCENTED keeps the marks, so it
+ * cannot work per char that way; text that is not already in NFKC (decomposed
+ * accents, full-width forms) is composed first, and only that text is copied.
+ *
+ * The static methods build nothing. An instance owns a reusable buffer for
+ * callers that need the normalised text itself, such as the edit-distance check;
+ * instances are not thread-safe.
+ */
+public final class TextNormalizer {
+
+    /** Which normalised form to compare. */
+    public enum Mode {
+        /** Trimmed and case-folded; everything else counts. */
+        CASE,
+        /** Letters, digits and marks of any script, case- and accent-folded. */
+        GRAMMAR,
+        /** Letters, digits and marks of any script, case-folded; accents count. */
+        ACCENTED
+    }
+
+    private static final char[] CASE_FOLD = new char[Character.MAX_VALUE + 1];
+    /** GRAMMAR form per char: 0 until first seen, DROP if the char is ignored. */
+    private static final char[] GRAMMAR_FOLD = new char[Character.MAX_VALUE + 1];
+    /** ACCENTED form per char of NFKC text, DROP if the char is ignored. */
+    private static final char[] ACCENTED_FOLD = new char[Character.MAX_VALUE + 1];
+    private static final char DROP = '\uFFFF';
+    private static final int END = -1;
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            CASE_FOLD[c] = Character.toLowerCase(Character.toUpperCase((char) c));
+        }
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            ACCENTED_FOLD[c] = !Character.isSurrogate((char) c) && isKeptWithAccents(c) ? CASE_FOLD[c] : DROP;
+        }
+        for (char c = 0; c < 128; c++) {
+            GRAMMAR_FOLD[c] = classify(c);
+        }
+    }
+
+    private char[] buffer = new char[64];
+    private CharBuffer view = CharBuffer.wrap(buffer);
+
+    /** Same folding String.equalsIgnoreCase applies per char. */
+    public static char fold(char c) {
+        return CASE_FOLD[c];
+    }
+
+    /**
+     * Hashes text[from, to) in {@code mode}'s form; equal forms hash alike
+     * whatever the spelling of the original.
+     */
+    public static int hash(CharSequence text, int from, int to, Mode mode) {
+        int h = 0;
+        if (mode == Mode.CASE) {
+            to = trimEnd(text, from, to);
+            for (int i = trimStart(text, from, to); i < to; i++) {
+                h = 31 * h + CASE_FOLD[text.charAt(i)];
+            }
+            return h;
+        }
+        if (mode == Mode.ACCENTED && !Normalizer.isNormalized(text, Normalizer.Form.NFKC)) {
+            text = composed(text, from, to);
+            from = 0;
+            to = text.length();
+        }
+        for (long next = next(text, from, to, mode); codePoint(next) != END;
+             next = next(text, index(next), to, mode)) {
+            int cp = codePoint(next);
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                h = 31 * h + cp;
+            } else {
+                h = 31 * (31 * h + Character.highSurrogate(cp)) + Character.lowSurrogate(cp);
+            }
+        }
+        return h;
+    }
+
+    /** Returns true if {@code a} and {@code b} have the same form in {@code mode}. */
+    public static boolean equals(CharSequence a, CharSequence b, Mode mode) {
+        return regionEquals(a, 0, a.length(), b, 0, b.length(), mode);
+    }
+
+    /** Compares a[aFrom, aTo) with b[bFrom, bTo) in {@code mode}'s form. */
+    public static boolean regionEquals(CharSequence a, int aFrom, int aTo,
+                                       CharSequence b, int bFrom, int bTo, Mode mode) {
+        if (mode == Mode.CASE) {
+            aTo = trimEnd(a, aFrom, aTo);
+            aFrom = trimStart(a, aFrom, aTo);
+            bTo = trimEnd(b, bFrom, bTo);
+            bFrom = trimStart(b, bFrom, bTo);
+            if (aTo - aFrom != bTo - bFrom) {
+                return false;
+            }
+            for (int i = aFrom, j = bFrom; i < aTo; i++, j++) {
+                if (CASE_FOLD[a.charAt(i)] != CASE_FOLD[b.charAt(j)]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (mode == Mode.ACCENTED) {
+            if (!Normalizer.isNormalized(a, Normalizer.Form.NFKC)) {
+                a = composed(a, aFrom, aTo);
+                aFrom = 0;
+                aTo = a.length();
+            }
+            if (!Normalizer.isNormalized(b, Normalizer.Form.NFKC)) {
+                b = composed(b, bFrom, bTo);
+                bFrom = 0;
+                bTo = b.length();
+            }
+        }
+        long x = next(a, aFrom, aTo, mode);
+        long y = next(b, bFrom, bTo, mode);
+        while (codePoint(x) == codePoint(y)) {
+            if (codePoint(x) == END) {
+                return true;
+            }
+            x = next(a, index(x), aTo, mode);
+            y = next(b, index(y), bTo, mode);
+        }
+        return false;
+    }
+
+    /** {@code text}'s form in {@code mode} as a new string. */
+    public static String normalized(CharSequence text, Mode mode) {
+        return new TextNormalizer().normalize(text, mode).toString();
+    }
+
+    /**
+     * Writes {@code text}'s form in {@code mode} into this instance's buffer and
+     * returns a view of it, valid until the next call.
+     */
+    public CharSequence normalize(CharSequence text, Mode mode) {
+        int length = 0;
+        if (mode == Mode.CASE) {
+            int to = trimEnd(text, 0, text.length());
+            int from = trimStart(text, 0, to);
+            ensureCapacity(to - from);
+            for (int i = from; i < to; i++) {
+                buffer[length++] = CASE_FOLD[text.charAt(i)];
+            }
+        } else {
+            if (mode == Mode.ACCENTED && !Normalizer.isNormalized(text, Normalizer.Form.NFKC)) {
+                text = composed(text, 0, text.length());
+            }
+            int to = text.length();
+            ensureCapacity(to);
+            for (long next = next(text, 0, to, mode); codePoint(next) != END;
+                 next = next(text, index(next), to, mode)) {
+                length += Character.toChars(codePoint(next), buffer, length);
+            }
+        }
+        view.clear();
+        view.limit(length);
+        return view;
+    }
+
+    private void ensureCapacity(int length) {
+        if (length > buffer.length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            view = CharBuffer.wrap(buffer);
+        }
+    }
+
+    // ---------------- GRAMMAR and ACCENTED forms ----------------
+
+    /**
+     * The next kept code point of text[i, to), already folded, packed with the
+     * index just after it; the code point is END once the text runs out. For
+     * ACCENTED the text must already be in NFKC.
+     */
+    private static long next(CharSequence text, int i, int to, Mode mode) {
+        boolean accented = mode == Mode.ACCENTED;
+        while (i < to) {
+            char c = text.charAt(i++);
+            if (!Character.isSurrogate(c)) {
+                char folded = accented ? ACCENTED_FOLD[c] : GRAMMAR_FOLD[c];
+                if (folded == 0) {
+                    folded = classify(c);
+                    GRAMMAR_FOLD[c] = folded;
+                }
+                if (folded != DROP) {
+                    return pack(i, folded);
+                }
+            } else if (Character.isHighSurrogate(c) && i < to && Character.isLowSurrogate(text.charAt(i))) {
+                int cp = Character.toCodePoint(c, text.charAt(i++));
+                if (accented ? isKeptWithAccents(cp) : isKept(cp)) {
+                    return pack(i, Character.toLowerCase(Character.toUpperCase(cp)));
+                }
+            }
+        }
+        return pack(to, END);
+    }
+
+    private static long pack(int index, int codePoint) {
+        return (long) index << 32 | (codePoint & 0xFFFFFFFFL);
+    }
+
+    private static int index(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int codePoint(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Works out the GRAMMAR form of one BMP char: its NFKD decomposition without
+     * accent marks, case-folded, if that is a single kept char; otherwise the char
+     * itself, case-folded, if it is kept at all.
+     */
+    private static char classify(char c) {
+        if (c < 128) {
+            return isKept(c) ? CASE_FOLD[c] : DROP;
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKD);
+        char base = 0;
+        int bases = 0;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char d = decomposed.charAt(i);
+            if (!isAccent(d)) {
+                base = d;
+                bases++;
+            }
+        }
+        if (bases == 0) {
+            return DROP;
+        }
+        if (bases == 1 && !Character.isSurrogate(base) && isKept(base)) {
+            return CASE_FOLD[base];
+        }
+        return isKept(c) ? CASE_FOLD[c] : DROP;
+    }
+
+    private static boolean isKept(int cp) {
+        if (Character.isLetterOrDigit(cp)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK) && !isAccent(cp);
+    }
+
+    private static boolean isKeptWithAccents(int cp) {
+        if (Character.isLetterOrDigit(cp)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /** text[from, to) in NFKC, for ACCENTED text that is not composed yet. */
+    private static String composed(CharSequence text, int from, int to) {
+        return Normalizer.normalize(text.subSequence(from, to), Normalizer.Form.NFKC);
+    }
+
+    /** Combining accents of the Latin, Greek and Cyrillic scripts. */
+    private static boolean isAccent(int cp) {
+        return (cp >= 0x0300 && cp <= 0x036F) || (cp >= 0x1AB0 && cp <= 0x1AFF)
+                || (cp >= 0x1DC0 && cp <= 0x1DFF) || (cp >= 0x20D0 && cp <= 0x20FF)
+                || (cp >= 0xFE20 && cp <= 0xFE2F);
+    }
+
+    private static int trimStart(CharSequence text, int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(CharSequence text, int from, int to) {
+        while (to > from && text.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+}
\ No newline at end of file
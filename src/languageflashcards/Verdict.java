@@ -0,0 +1,111 @@
+package languageflashcards;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The result of grading one answer.
+ */
+public class Verdict {
+
+    public enum Outcome {
+        CORRECT,
+        /** Accepted, but only thanks to {@link GradingMode#NEAR_MISS}. */
+        NEAR_MISS,
+        INCORRECT,
+        /** The learner typed EXIT; nothing was graded. */
+        EXITED,
+        /** The learner asked for a HINT; nothing was graded and the question stays open. */
+        HINT
+    }
+
+    /** What was wrong with an otherwise graded answer (Level 3 checks more than the translation). */
+    public enum Issue {
+        TRANSLATION,
+        CAPITALIZATION,
+        PUNCTUATION,
+        /** Right apart from its accents, with strict accents on. */
+        ACCENTS
+    }
+
+    private final Outcome outcome;
+    private String expected;
+    private final Supplier<String> expectedSource;
+    private final Set<Issue> issues;
+    private final List<String> feedback;
+
+    public Verdict(Outcome outcome, String expected, Set<Issue> issues, List<String> feedback) {
+        this(outcome, expected, null, issues, feedback);
+    }
+
+    private Verdict(Outcome outcome, String expected, Supplier<String> expectedSource, Set<Issue> issues,
+                    List<String> feedback) {
+        this.outcome = outcome;
+        this.expected = expected;
+        this.expectedSource = expectedSource;
+        this.issues = issues.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(issues));
+        this.feedback = List.copyOf(feedback);
+    }
+
+    public static Verdict correct(String expected, String... feedback) {
+        return new Verdict(Outcome.CORRECT, expected, Collections.emptySet(), List.of(feedback));
+    }
+
+    /**
+     * A correct answer whose reference text is only looked up if someone asks for it,
+     * so grading a right answer does not have to decode the deck cell.
+     */
+    public static Verdict correct(Supplier<String> expected, String... feedback) {
+        return new Verdict(Outcome.CORRECT, null, expected, Collections.emptySet(), List.of(feedback));
+    }
+
+    public static Verdict nearMiss(String expected, String... feedback) {
+        return new Verdict(Outcome.NEAR_MISS, expected, Collections.emptySet(), List.of(feedback));
+    }
+
+    public static Verdict incorrect(String expected, String... feedback) {
+        return new Verdict(Outcome.INCORRECT, expected, EnumSet.of(Issue.TRANSLATION), List.of(feedback));
+    }
+
+    public static Verdict exited(String... feedback) {
+        return new Verdict(Outcome.EXITED, null, Collections.emptySet(), List.of(feedback));
+    }
+
+    public static Verdict hint(String... feedback) {
+        return new Verdict(Outcome.HINT, null, Collections.emptySet(), List.of(feedback));
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /** True for {@link Outcome#CORRECT} and {@link Outcome#NEAR_MISS}. */
+    public boolean isCorrect() {
+        return outcome == Outcome.CORRECT || outcome == Outcome.NEAR_MISS;
+    }
+
+    /** The reference answer, or null for {@link Outcome#EXITED} and {@link Outcome#HINT}. */
+    public String getExpected() {
+        if (expected == null && expectedSource != null) {
+            expected = expectedSource.get(); // the same text whichever thread gets here first
+        }
+        return expected;
+    }
+
+    public Set<Issue> getIssues() {
+        return issues;
+    }
+
+    /** Lines the console prints after the answer. */
+    public List<String> getFeedback() {
+        return feedback;
+    }
+
+    @Override
+    public String toString() {
+        return "Verdict{" + outcome + (issues.isEmpty() ? "" : " " + issues) + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * What each {@link AnswerIndex} mode accepts, and that Level 1 accepts every
+ * alternative of every real vocabulary cell.
+ */
+class AnswerIndexTest {
+
+    private static final ColumnarDeck DECK = deck(
+            "House", "Casa / Hogar",
+            "Door", "Puerta",
+            "Home", "Casa / Hogar",
+            "Good morning", "¡Buenos días!");
+
+    @Test
+    void alternatives() {
+        AnswerIndex index = AnswerIndex.build(DECK, AnswerIndex.Mode.ALTERNATIVES);
+        assertTrue(index.matches(1, 0, "casa"));
+        assertTrue(index.matches(1, 0, "HOGAR"));
+        assertTrue(index.matches(1, 0, "  Hogar "));
+        assertTrue(index.matches(1, 2, "hogar"), "repeated cells share their keys");
+        assertFalse(index.matches(1, 0, "casas"));
+        assertFalse(index.matches(1, 0, "Puerta"));
+        assertFalse(index.matches(1, 1, ""));
+    }
+
+    @Test
+    void wholeCell() {
+        AnswerIndex index = AnswerIndex.build(DECK, AnswerIndex.Mode.WHOLE);
+        assertTrue(index.matches(1, 0, "casa / hogar"));
+        assertFalse(index.matches(1, 0, "casa"));
+        assertTrue(index.matches(1, 3, "¡BUENOS DÍAS!"));
+        assertFalse(index.matches(1, 3, "buenos dias"));
+    }
+
+    @Test
+    void normalized() {
+        AnswerIndex index = AnswerIndex.build(DECK, AnswerIndex.Mode.NORMALIZED);
+        assertTrue(index.matches(1, 3, "buenos dias"));
+        assertTrue(index.matches(1, 3, "Buenos días."));
+        assertFalse(index.matches(1, 3, "buenas dias"));
+    }
+
+    @Test
+    void everyVocabularyAlternativeIsAccepted() {
+        DefaultLanguageManager manager = new DefaultLanguageManager();
+        for (Language language : manager.getAvailableLanguages()) {
+            int column = language.getColumn();
+            for (int row = 0; row < manager.getWordCount(); row++) {
+                String label = language.getCode() + " row " + row;
+                for (String alternative : manager.getWord(column, row).split("/")) {
+                    String answer = alternative.trim();
+                    assertTrue(manager.isCorrectWord(column, row, answer), label + " \"" + answer + "\"");
+                    assertTrue(manager.isCorrectWord(column, row, answer.toUpperCase(Locale.ROOT)),
+                            label + " \"" + answer + "\" upper-cased");
+                }
+                assertFalse(manager.isCorrectWord(column, row, manager.getWord(column, row) + "x"), label);
+            }
+        }
+    }
+
+    private static ColumnarDeck deck(String... cells) {
+        ColumnarDeck.Builder builder = new ColumnarDeck.Builder(new String[] {"english", "spanish"});
+        for (int i = 0; i < cells.length; i += 2) {
+            builder.addRow(new String[] {cells[i], cells[i + 1]});
+        }
+        return builder.build();
+    }
+}
\ No newline at end of file
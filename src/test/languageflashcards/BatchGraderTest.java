@@ -0,0 +1,66 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link BatchGrader} parses quoted records, rejects what it cannot grade and
+ * adds up the totals per learner across its worker threads.
+ */
+class BatchGraderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void gradesAndTotalsPerLearner() throws Exception {
+        Path submissions = dir.resolve("submissions.csv");
+        Files.write(submissions, String.join("\r\n",
+                "learner,language,level,row,answer",
+                "ana,es,1,0,Casa",
+                "ana,ES,1,1,\"Puerta\"",
+                "ana,es,1,1,Porta",
+                "\"bo, jr\",fr,2,0,\"bonjour\"",
+                "bo,es,1,0,\"two",
+                "lines\"",
+                "",
+                "ana,es,1,0,Casa,extra",
+                "ana,xx,1,0,Casa",
+                "ana,es,9,0,Casa",
+                "ana,es,1,999999,Casa",
+                "ana,es,one,0,Casa",
+                "").getBytes(StandardCharsets.UTF_8));
+
+        BatchGrader grader = new BatchGrader(new DefaultLanguageManager(), GradingMode.EXACT, 2);
+        AtomicInteger events = new AtomicInteger();
+        grader.addGradeListener(event -> events.incrementAndGet());
+        BatchGrader.Result result = grader.grade(submissions, dir.resolve("reports"));
+
+        assertEquals(5, result.getGraded());
+        assertEquals(3, result.getCorrect());
+        assertEquals(5, result.getRejected());
+        assertEquals(5, events.get());
+        assertEquals(List.of(
+                        "learner,language,level,answered,correct,accuracy",
+                        "ana,es,1,3,2,0.667",
+                        "bo,es,1,1,0,0.000",
+                        "\"bo, jr\",fr,2,1,1,1.000"),
+                Files.readAllLines(dir.resolve("reports").resolve("learners.csv"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void quotesOnlyWhenNeeded() {
+        assertEquals("ana", BatchGrader.quote("ana"));
+        assertEquals("\"a, b\"", BatchGrader.quote("a, b"));
+        assertEquals("\"say \"\"hi\"\"\"", BatchGrader.quote("say \"hi\""));
+        assertEquals("\" ana\"", BatchGrader.quote(" ana"));
+    }
+}
\ No newline at end of file
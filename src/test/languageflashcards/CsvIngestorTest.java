@@ -0,0 +1,89 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * RFC 4180 edge cases in {@link CsvIngestor}: quoted commas and line breaks,
+ * doubled quotes, CRLF, ragged rows, and files large enough to be cut into
+ * chunks, where many cuts land inside a quoted field.
+ */
+class CsvIngestorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotedFields() throws IOException {
+        ColumnarDeck deck = load("english,spanish\n"
+                + "\"Hello, world\",\"Hola, mundo\"\n"
+                + "Quote,\"Dijo \"\"hola\"\"\"\n"
+                + "Lines,\"uno\ndos\"\n"
+                + "  Spaced  ,  \"quoted\"  \n");
+        assertEquals(4, deck.getRowCount());
+        assertArrayEquals(new String[] {"Hello, world", "Hola, mundo"}, deck.getRow(0));
+        assertArrayEquals(new String[] {"Quote", "Dijo \"hola\""}, deck.getRow(1));
+        assertArrayEquals(new String[] {"Lines", "uno\ndos"}, deck.getRow(2));
+        assertArrayEquals(new String[] {"Spaced", "quoted"}, deck.getRow(3));
+    }
+
+    @Test
+    void crlfAndMissingFinalNewline() throws IOException {
+        ColumnarDeck deck = load("﻿english,spanish\r\nHouse,Casa\r\n\"Two\r\nlines\",Dos\r\nDoor,Puerta");
+        assertArrayEquals(new String[] {"english", "spanish"}, deck.getHeader());
+        assertEquals(3, deck.getRowCount());
+        assertArrayEquals(new String[] {"House", "Casa"}, deck.getRow(0));
+        assertArrayEquals(new String[] {"Two\r\nlines", "Dos"}, deck.getRow(1));
+        assertArrayEquals(new String[] {"Door", "Puerta"}, deck.getRow(2));
+    }
+
+    @Test
+    void rowsTakeTheHeadersWidth() throws IOException {
+        ColumnarDeck deck = load("english,spanish,french\nHouse\nDoor,Puerta,Porte,extra\n");
+        assertArrayEquals(new String[] {"House", "", ""}, deck.getRow(0));
+        assertArrayEquals(new String[] {"Door", "Puerta", "Porte"}, deck.getRow(1));
+    }
+
+    /** Over 1 MiB of long quoted multi-line fields, parsed in chunks by several threads. */
+    @Test
+    void chunkBoundariesInsideQuotes() throws IOException {
+        StringBuilder csv = new StringBuilder("english,spanish\n");
+        List<String[]> expected = new ArrayList<>();
+        for (int i = 0; csv.length() < (3 << 20) / 2; i++) {
+            String english = "Word " + i;
+            String spanish = "Línea " + i + ", con \"comillas\"\n" + "x".repeat(i % 97) + "\r\nfin " + i;
+            expected.add(new String[] {english, spanish});
+            csv.append(english).append(",\"").append(spanish.replace("\"", "\"\"")).append("\"\r\n");
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ColumnarDeck deck = load(csv.toString(), new CsvIngestor(pool));
+            assertEquals(expected.size(), deck.getRowCount());
+            for (int row = 0; row < expected.size(); row++) {
+                assertArrayEquals(expected.get(row), deck.getRow(row), "row " + row);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ColumnarDeck load(String csv) throws IOException {
+        return load(csv, new CsvIngestor());
+    }
+
+    private ColumnarDeck load(String csv, CsvIngestor ingestor) throws IOException {
+        Path file = Files.write(dir.resolve("deck.csv"), csv.getBytes(StandardCharsets.UTF_8));
+        return ingestor.load(file);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Per-row state follows its cards through a reload that moves the rows. */
+class DeckReloadTest {
+
+    private static final String HEADER = "english,spanish\n";
+
+    @TempDir
+    Path data;
+
+    @Test
+    void rowsAreMatchedByHeadword() {
+        ColumnarDeck before = deck("House", "Door", "Cat", "Cat");
+        ColumnarDeck after = deck("Dog", "Cat", "House", "Cat");
+        RowMoves moves = RowMoves.between(before, after);
+        assertEquals(2, moves.newRow(0));
+        assertEquals(-1, moves.newRow(1));
+        assertEquals(1, moves.newRow(2));
+        assertEquals(3, moves.newRow(3));
+        assertEquals(4, moves.getNewCount());
+    }
+
+    @Test
+    void schedulesAndStatisticsFollowTheirCards() throws IOException {
+        write("House,Casa\nDoor,Puerta\nCat,Gato\n");
+        DefaultLanguageManager manager = new DefaultLanguageManager(data);
+        ReviewScheduler scheduler = new ReviewScheduler();
+        CardStatistics statistics = new CardStatistics(0);
+        manager.addReloadListener(scheduler);
+        manager.addReloadListener(statistics);
+
+        ReviewDeck deck = scheduler.deckFor("ana", "es", 3, 1);
+        deck.grade(2, ReviewDeck.QUALITY_GOOD, 1_000);
+        statistics.cards("es", 1, 1).record(2, false, 0);
+
+        write("Dog,Perro\nCat,Gato\nHouse,Casa\n");
+        assertEquals(2, manager.reload());
+
+        ReviewDeck moved = scheduler.deckFor("ana", "es", 3, 2);
+        assertEquals(1_000 + 24 * 60, moved.getDue(1));
+        assertEquals(0, moved.getDue(0));
+        CardStatistics.Snapshot snapshot = statistics.cards("es", 1, 2).snapshot();
+        assertEquals(1, snapshot.getMisses(1));
+        assertEquals(0, snapshot.getAttempts(2));
+
+        // a session still on generation 1 writes into state nobody keeps
+        ReviewDeck stale = scheduler.deckFor("ana", "es", 3, 1);
+        assertNotSame(moved, stale);
+        statistics.cards("es", 1, 1).record(1, false, 0);
+        assertEquals(1, statistics.cards("es", 1, 2).snapshot().getMisses(1));
+    }
+
+    private void write(String rows) throws IOException {
+        Files.write(data.resolve("vocab.csv"), (HEADER + rows).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ColumnarDeck deck(String... headwords) {
+        ColumnarDeck.Builder builder = new ColumnarDeck.Builder(new String[] {"english", "spanish"});
+        for (String headword : headwords) {
+            builder.addRow(new String[] {headword, ""});
+        }
+        return builder.build();
+    }
+}
\ No newline at end of file
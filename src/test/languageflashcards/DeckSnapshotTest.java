@@ -0,0 +1,81 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * When a {@link DeckSnapshot} may be trusted: a CSV that was only touched keeps
+ * its snapshot, while a changed CSV or a damaged snapshot falls back to the CSV.
+ */
+class DeckSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private Path csv;
+    private Path snapshot;
+    private final CsvIngestor ingestor = new CsvIngestor();
+
+    @BeforeEach
+    void buildSnapshot() throws IOException {
+        csv = dir.resolve("vocab.csv");
+        Files.write(csv, "english,spanish\nHouse,Casa\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(1_000_000));
+        snapshot = DeckSnapshot.defaultLocation(csv);
+        assertEquals("Casa", DeckSnapshot.loadOrBuild(csv, ingestor).get(1, 0));
+        assertNotNull(DeckSnapshot.tryLoad(snapshot, csv));
+    }
+
+    @Test
+    void touchedCsvKeepsItsSnapshot() throws IOException {
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(2_000_000));
+        assertNotNull(DeckSnapshot.tryLoad(snapshot, csv));
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.toFile(), "r")) {
+            file.seek(8);
+            assertEquals(2_000_000, file.readLong(), "stored mtime brought up to date");
+        }
+    }
+
+    @Test
+    void changedCsvOfTheSameSizeIsParsedAgain() throws IOException {
+        Files.write(csv, "english,spanish\nHouse,Cosa\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(2_000_000));
+        assertNull(DeckSnapshot.tryLoad(snapshot, csv));
+        assertEquals("Cosa", DeckSnapshot.loadOrBuild(csv, ingestor).get(1, 0));
+        assertEquals("Cosa", DeckSnapshot.tryLoad(snapshot, csv).get(1, 0));
+    }
+
+    @Test
+    void corruptPayloadFallsBackToTheCsv() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        }
+        assertNull(DeckSnapshot.tryLoad(snapshot, csv));
+        assertEquals("Casa", DeckSnapshot.loadOrBuild(csv, ingestor).get(1, 0));
+        assertNotNull(DeckSnapshot.tryLoad(snapshot, csv));
+    }
+
+    @Test
+    void truncatedSnapshotFallsBackToTheCsv() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.toFile(), "rw")) {
+            file.setLength(20);
+        }
+        assertNull(DeckSnapshot.tryLoad(snapshot, csv));
+        assertEquals("Casa", DeckSnapshot.loadOrBuild(csv, ingestor).get(1, 0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link EditDistance} against the textbook dynamic programme, on both sides of
+ * the 64-character switch from the bit-parallel to the banded algorithm.
+ */
+class EditDistanceTest {
+
+    private static final String ALPHABET = "abcABCñÑ가나 ";
+
+    @Test
+    void examples() {
+        EditDistance distance = new EditDistance();
+        assertEquals(0, distance.bounded("Casa", "cASA", 2));
+        assertEquals(1, distance.bounded("Casa", "Cas", 2));
+        assertEquals(3, distance.bounded("kitten", "sitting", 3));
+        assertEquals(3, distance.bounded("kitten", "sitting", 2), "over the bound gives max + 1");
+        assertEquals(2, distance.bounded("", "ab", 5));
+        assertEquals(1, distance.bounded("mañana", "manana", 1));
+    }
+
+    @Test
+    void matchesTheNaiveDistance() {
+        SplittableRandom random = new SplittableRandom(2024);
+        EditDistance distance = new EditDistance(); // reused, as the graders do
+        for (int i = 0; i < 3000; i++) {
+            String a = randomText(random, random.nextInt(100));
+            String b = random.nextBoolean() ? randomText(random, random.nextInt(100)) : mutate(random, a);
+            int max = random.nextInt(12);
+            int expected = Math.min(naive(a, b), max + 1);
+            assertEquals(expected, distance.bounded(a, b, max), "\"" + a + "\" / \"" + b + "\" max " + max);
+        }
+    }
+
+    private static String randomText(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    /** A few random insertions, deletions and substitutions. */
+    private static String mutate(SplittableRandom random, String text) {
+        StringBuilder mutated = new StringBuilder(text);
+        for (int edits = random.nextInt(8); edits > 0; edits--) {
+            int at = random.nextInt(mutated.length() + 1);
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    mutated.insert(at, c);
+                    break;
+                case 1:
+                    if (at < mutated.length()) {
+                        mutated.deleteCharAt(at);
+                    }
+                    break;
+                default:
+                    if (at < mutated.length()) {
+                        mutated.setCharAt(at, c);
+                    }
+                    break;
+            }
+        }
+        return mutated.toString();
+    }
+
+    private static int naive(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = TextNormalizer.fold(a.charAt(i - 1)) == TextNormalizer.fold(b.charAt(j - 1)) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/** Level 3 grading on the real phrase deck, with and without strict accents. */
+class LevelThreeHandlerTest {
+
+    private final DefaultLanguageManager manager = new DefaultLanguageManager();
+
+    @Test
+    void accentsAreOptionalByDefault() {
+        Verdict verdict = handler(false).grade(goodMorning(), "Buenos dias.");
+        assertEquals(Verdict.Outcome.CORRECT, verdict.getOutcome());
+    }
+
+    @Test
+    void strictAccentsCountThem() {
+        LevelThreeHandler handler = handler(true);
+        Verdict wrong = handler.grade(goodMorning(), "Buenos dias.");
+        assertEquals(Verdict.Outcome.INCORRECT, wrong.getOutcome());
+        assertEquals(Set.of(Verdict.Issue.ACCENTS), wrong.getIssues());
+        assertEquals(Verdict.Outcome.CORRECT, handler.grade(goodMorning(), "Buenos días.").getOutcome());
+    }
+
+    @Test
+    void capitalAndEndPunctuationAreStillChecked() {
+        LevelThreeHandler handler = handler(false);
+        assertEquals(Set.of(Verdict.Issue.CAPITALIZATION), handler.grade(goodMorning(), "buenos días.").getIssues());
+        assertEquals(Set.of(Verdict.Issue.PUNCTUATION), handler.grade(goodMorning(), "Buenos días").getIssues());
+    }
+
+    private LevelThreeHandler handler(boolean strictAccents) {
+        LevelFactory factory = new LevelFactory(manager);
+        factory.setStrictAccents(strictAccents);
+        return (LevelThreeHandler) factory.createLevelHandler(3, spanish());
+    }
+
+    private Language spanish() {
+        for (Language language : manager.getAvailableLanguages()) {
+            if (language.getCode().equals("es")) {
+                return language;
+            }
+        }
+        throw new AssertionError("no Spanish column");
+    }
+
+    private int goodMorning() {
+        for (int row = 0; row < manager.getPhraseCount(); row++) {
+            if (manager.getEnglishPhrase(row).equals("Good morning")) {
+                return row;
+            }
+        }
+        throw new AssertionError("no \"Good morning\" phrase");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Recovery of the {@link ProgressLog}: a torn or corrupt tail after a crash is
+ * cut off, the records before it are kept, and the log stays writable.
+ */
+class ProgressLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void tornTailIsCutOff() throws Exception {
+        try (ProgressLog log = ProgressLog.open(dir)) {
+            record(log, 3);
+        }
+        // half of a record: its length and CRC, and a few bytes of the body
+        Files.write(lastSegment(), new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        try (ProgressLog log = ProgressLog.open(dir)) {
+            assertEquals(3, log.getRecoveredEvents());
+            assertEquals(3, log.getStats().get("ana", "es", 1).getAttempts());
+            record(log, 1);
+        }
+        try (ProgressLog log = ProgressLog.open(dir)) {
+            assertEquals(4, log.getStats().get("ana", "es", 1).getAttempts());
+            assertEquals(3, log.getStats().get("ana", "es", 1).getCorrect());
+        }
+    }
+
+    @Test
+    void corruptRecordEndsTheReplay() throws Exception {
+        try (ProgressLog log = ProgressLog.open(dir)) {
+            record(log, 3);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(lastSegment().toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        }
+        try (ProgressLog log = ProgressLog.open(dir)) {
+            assertEquals(2, log.getRecoveredEvents());
+            assertEquals(2, log.getStats().get("ana", "es", 1).getAttempts());
+        }
+    }
+
+    /** A name too long for its length field is cut between characters, not inside one. */
+    @Test
+    void longNamesAreCutAtACharacterBoundary() throws Exception {
+        String language = "é".repeat(200); // 400 bytes; the field holds 255
+        try (ProgressLog log = ProgressLog.open(dir)) {
+            log.onGrade(new GradeEvent(0, "ana", language, 1, 0, true, 100));
+            log.flush();
+        }
+        try (ProgressLog log = ProgressLog.open(dir)) {
+            List<ProgressStats.Entry> entries = log.getStats().forLearner("ana");
+            assertEquals(1, entries.size());
+            assertEquals("é".repeat(127), entries.get(0).getLanguageCode());
+        }
+    }
+
+    /** Grades {@code count} answers for ana, every other one correct, and waits until they are on disk. */
+    private static void record(ProgressLog log, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            log.onGrade(new GradeEvent(i, "ana", "es", 1, i, i % 2 == 0, 100));
+        }
+        log.flush();
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "segment-*.log")) {
+            files.forEach(segments::add);
+        }
+        Collections.sort(segments);
+        return segments.get(segments.size() - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** The line protocol over a real socket, on the real decks. */
+class QuizServerTest {
+
+    private QuizServer server;
+    private int port;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new QuizServer(new DefaultLanguageManager(), GradingMode.EXACT);
+        ProgressStats progress = new ProgressStats();
+        server.addGradeListener(progress::add);
+        server.setProgressStats(progress);
+        server.addGradeListener(event -> {
+            if (event.getLearner().equals("broken")) {
+                throw new IllegalStateException("listener failed");
+            }
+        });
+        port = server.bind(0);
+        Thread serving = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serving.setDaemon(true);
+        serving.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void playsASession() throws IOException {
+        try (Client client = new Client(port)) {
+            assertEquals("OK\tana", client.send("LOGIN ana"));
+            assertTrue(client.send("START es 2").startsWith("PROMPT\t1\t"));
+            String reply = client.send("ANSWER nope");
+            assertTrue(reply.startsWith("VERDICT\tINCORRECT\t"), reply);
+            assertTrue(client.next().startsWith("PROMPT\t2\t"));
+            assertTrue(client.send("ANSWER EXIT").startsWith("VERDICT"));
+            assertEquals("END\t0\t1", client.next());
+            assertEquals("BYE", client.send("QUIT"));
+        }
+    }
+
+    @Test
+    void reportsTheLearnersProgress() throws IOException {
+        try (Client client = new Client(port)) {
+            assertEquals("OK\tbo", client.send("LOGIN bo"));
+            assertEquals("PROGRESS", client.send("PROGRESS"));
+            client.send("START es 2");
+            client.send("ANSWER nope");
+            client.next();
+            client.send("ANSWER EXIT");
+            client.next();
+            assertEquals("PROGRESS\tes:2:0:1", client.send("PROGRESS"));
+        }
+    }
+
+    @Test
+    void runtimeErrorIsAnErrAndKeepsTheConnection() throws IOException {
+        try (Client client = new Client(port)) {
+            client.send("LOGIN broken");
+            assertTrue(client.send("START es 1").startsWith("PROMPT"));
+            assertEquals("ERR\tlistener failed", client.send("ANSWER nope"));
+            assertEquals("ERR\tNo session; use START first", client.send("ANSWER again"));
+            assertTrue(client.send("LANGUAGES").startsWith("LANGUAGES\t"));
+            assertEquals("BYE", client.send("QUIT"));
+        }
+    }
+
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        Client(int port) throws IOException {
+            socket = new Socket("localhost", port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        /** Sends one command and returns the first line of the reply. */
+        String send(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+            return next();
+        }
+
+        String next() throws IOException {
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
\ No newline at end of file
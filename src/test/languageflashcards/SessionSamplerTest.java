@@ -0,0 +1,70 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/** Every draw of a {@link SessionSampler} is distinct rows within the deck. */
+class SessionSamplerTest {
+
+    @Test
+    void uniformDrawsAreDistinctAndInRange() {
+        SessionSampler sampler = new SessionSampler(42);
+        int[][] sizes = {{0, 10}, {1, 1}, {5, 10}, {10, 10}, {100, 10}, {1_000_000_000, 100}};
+        for (int repeat = 0; repeat < 200; repeat++) { // the swap map is reused between draws
+            for (int[] size : sizes) {
+                int n = size[0];
+                int k = size[1];
+                int[] rows = sampler.sample(n, k);
+                assertEquals(Math.min(n, k), rows.length, n + " choose " + k);
+                assertDistinctBelow(n, rows, rows.length);
+            }
+        }
+    }
+
+    @Test
+    void drawingEveryRowIsAPermutation() {
+        int[] rows = new SessionSampler(7).sample(50, 50);
+        int[] seen = new int[50];
+        for (int row : rows) {
+            seen[row]++;
+        }
+        for (int row = 0; row < 50; row++) {
+            assertEquals(1, seen[row], "row " + row);
+        }
+    }
+
+    @Test
+    void weightedDrawsSkipZeroWeights() {
+        SessionSampler sampler = new SessionSampler(3);
+        double[] weights = {1, 0, 5, 0.001, 0, 2, -1, 3};
+        int[] out = new int[10];
+        for (int repeat = 0; repeat < 200; repeat++) {
+            int count = sampler.sampleWeighted(weights, 4, out);
+            assertEquals(4, count);
+            assertDistinctBelow(weights.length, out, count);
+            for (int i = 0; i < count; i++) {
+                assertTrue(weights[out[i]] > 0, "row " + out[i] + " has no weight");
+            }
+            assertEquals(5, sampler.sampleWeighted(weights, 10, out), "only five rows can be drawn");
+        }
+    }
+
+    @Test
+    void sameSeedSameDraws() {
+        assertArrayEquals(new SessionSampler(9).sample(1000, 20), new SessionSampler(9).sample(1000, 20));
+    }
+
+    private static void assertDistinctBelow(int n, int[] rows, int count) {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            assertTrue(rows[i] >= 0 && rows[i] < n, rows[i] + " outside [0, " + n + ")");
+            assertTrue(seen.add(rows[i]), rows[i] + " drawn twice");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package languageflashcards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.Normalizer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Correctness of {@link TextNormalizer} for each deck language: accents and ñ in
+ * Spanish, cedillas and decomposed accents in French, punctuation in Filipino,
+ * full- and half-width forms and voicing marks in Japanese, and Hangul spacing
+ * in Korean. Every pair that should match must also hash alike, and the hash
+ * must agree with the normalised text's String hash.
+ */
+class TextNormalizerTest {
+
+    private static final TextNormalizer.Mode CASE = TextNormalizer.Mode.CASE;
+    private static final TextNormalizer.Mode GRAMMAR = TextNormalizer.Mode.GRAMMAR;
+    private static final TextNormalizer.Mode ACCENTED = TextNormalizer.Mode.ACCENTED;
+
+    @Test
+    void spanish() {
+        same("Buenos días", "Buenos dias", GRAMMAR);
+        same("Buenos días", "BUENOS DÍAS!", GRAMMAR);
+        same("¿Cómo estás?", "como estas", GRAMMAR);
+        same("Mañana", "mañana", GRAMMAR);
+        same("Mañana", "manana", GRAMMAR);
+        different("Buenos días", "Buenas dias", GRAMMAR);
+        different("Buenos días", "Buenos dias", CASE);
+        same("  Buenos Días ", "buenos días", CASE);
+    }
+
+    @Test
+    void french() {
+        same("Ça va ?", "ca va", GRAMMAR);
+        same("À bientôt", "a bientot", GRAMMAR);
+        same("Où est la gare ?", "ou est la gare", GRAMMAR);
+        same("Café", "cafe\u0301", GRAMMAR);
+        same("Crème brûlée", "creme brulee", GRAMMAR);
+        different("Œuf", "oeuf", GRAMMAR);
+    }
+
+    @Test
+    void filipino() {
+        same("Magandang umaga", "magandang-umaga", GRAMMAR);
+        same("Salamat po!", "salamat po", GRAMMAR);
+        different("Kumusta ka?", "Kamusta ka", GRAMMAR);
+    }
+
+    @Test
+    void japanese() {
+        same("おはようございます", "おはよう ございます。", GRAMMAR);
+        same("ＡＢＣ１２３", "abc123", GRAMMAR);
+        same("ｶﾀｶﾅ", "カタカナ", GRAMMAR);
+        same("日本語", "日本語!", GRAMMAR);
+        different("が", "か", GRAMMAR);
+        different("パン", "ハン", GRAMMAR);
+        different("コーヒー", "コヒ", GRAMMAR);
+    }
+
+    @Test
+    void korean() {
+        same("안녕하세요", "안녕 하세요", GRAMMAR);
+        same("좋은 아침입니다", "좋은아침입니다.", GRAMMAR);
+        different("안녕하세요", "안녕하세오", GRAMMAR);
+    }
+
+    @Test
+    void outsideTheBmp() {
+        same("𝐀bc", "𝐀BC", GRAMMAR);
+        same("ok 😀", "ok", GRAMMAR);
+        different("𠀀", "", GRAMMAR);
+    }
+
+    @Test
+    void accentedKeepsAccents() {
+        different("Buenos días", "Buenos dias", ACCENTED);
+        different("Mañana", "manana", ACCENTED);
+        different("À bientôt", "a bientot", ACCENTED);
+        same("Buenos días", "BUENOS DÍAS!", ACCENTED);
+        same("Café", "cafe\u0301", ACCENTED);
+        same("¿Cómo estás?", "co\u0301mo esta\u0301s", ACCENTED);
+        same("ＡＢＣ１２３", "abc123", ACCENTED);
+        same("ｶﾞｯｺｳ", "ガッコウ", ACCENTED);
+        different("が", "か", ACCENTED);
+        same("안녕하세요", "안녕 하세요", ACCENTED);
+    }
+
+    @Test
+    void regions() {
+        assertTrue(TextNormalizer.regionEquals("Casa / Hogar", 7, 12, "hogar ", 0, 6, CASE));
+        assertTrue(TextNormalizer.regionEquals("x Cafe\u0301 x", 2, 7, "CAFÉ", 0, 4, ACCENTED));
+        assertFalse(TextNormalizer.regionEquals("x Café x", 2, 6, "cafe", 0, 4, ACCENTED));
+    }
+
+    /**
+     * Level 3 accepts every real phrase as typed, upper-cased and without its
+     * accents, and a long phrase missing its first letter is a near miss.
+     */
+    @Test
+    void deckPhrases() {
+        DefaultLanguageManager manager = new DefaultLanguageManager();
+        NearMissGrader nearMiss = new NearMissGrader();
+        for (Language language : manager.getAvailableLanguages()) {
+            int column = language.getColumn();
+            for (int row = 0; row < manager.getPhraseCount(); row++) {
+                String phrase = manager.getPhrase(column, row);
+                String label = language.getCode() + " row " + row;
+                assertTrue(manager.isCorrectSentence(column, row, phrase), label + " as typed");
+                assertTrue(manager.isCorrectSentence(column, row, phrase.toUpperCase()), label + " upper-cased");
+                String stripped = stripAccents(phrase);
+                assertTrue(manager.isCorrectSentence(column, row, stripped), label + " without accents");
+                if (stripped.length() > 12) {
+                    assertTrue(nearMiss.isNearMissNormalized(phrase, stripped.substring(1)), label + " near miss");
+                }
+                consistent(phrase, GRAMMAR);
+                consistent(phrase, ACCENTED);
+            }
+        }
+    }
+
+    private static void same(String a, String b, TextNormalizer.Mode mode) {
+        String label = mode + " \"" + a + "\" = \"" + b + "\"";
+        assertTrue(TextNormalizer.equals(a, b, mode), label);
+        assertEquals(TextNormalizer.hash(a, 0, a.length(), mode), TextNormalizer.hash(b, 0, b.length(), mode),
+                label + " (hash)");
+        consistent(a, mode);
+        consistent(b, mode);
+    }
+
+    private static void different(String a, String b, TextNormalizer.Mode mode) {
+        assertFalse(TextNormalizer.equals(a, b, mode), mode + " \"" + a + "\" != \"" + b + "\"");
+        consistent(a, mode);
+        consistent(b, mode);
+    }
+
+    /** The static hash and comparison must agree with the text the buffer holds. */
+    private static void consistent(String text, TextNormalizer.Mode mode) {
+        String normalized = TextNormalizer.normalized(text, mode);
+        assertEquals(normalized.hashCode(), TextNormalizer.hash(text, 0, text.length(), mode),
+                mode + " \"" + text + "\" hash of form");
+        assertEquals(normalized, TextNormalizer.normalized(normalized, mode), mode + " \"" + text + "\" form is stable");
+    }
+
+    private static String stripAccents(String text) {
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("[\\u0300-\\u036f]", "");
+        return Normalizer.normalize(stripped, Normalizer.Form.NFC);
+    }
+}
\ No newline at end of file